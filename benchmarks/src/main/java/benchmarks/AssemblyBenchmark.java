@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import storage.CDS;
+import storage.SparseMatrix;
+import utils.MatrixBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Coût de l'assemblage seul (matrice et second membre), séparé de la résolution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AssemblyBenchmark {
+
+    @Param({"100", "500", "1000"})
+    public int gridSize;
+
+    private double l;
+    private DoubleBinaryOperator f;
+    private DoubleBinaryOperator g;
+
+    @Setup
+    public void setup() {
+        l = 1.0 / (gridSize + 1);
+        f = (x, y) -> 2 * Math.PI * Math.PI * Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+        g = (x, y) -> Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+    }
+
+    @Benchmark
+    public CDS buildCdsA() {
+        return MatrixBuilder.buildCdsA(gridSize, gridSize, l, l);
+    }
+
+    @Benchmark
+    public SparseMatrix buildCsrA() {
+        return MatrixBuilder.buildCsrA(gridSize, gridSize, l, l);
+    }
+
+    @Benchmark
+    public double[] buildVectorB() {
+        return MatrixBuilder.buildVectorB(gridSize, gridSize, l, l, f, g);
+    }
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import solvers.BandedSolver;
+import solvers.ConjugateGradientSolver;
+import solvers.IncompleteCholeskyPreconditioner;
+import solvers.Solver;
+import solvers.SolverResult;
+import solvers.SorSolver;
+import solvers.StoppingCriterion;
+import storage.CDS;
+import utils.MatrixBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Balayage de paramètres : rhsCount seconds membres sur un même opérateur, résolus un par un (single*)
+ * ou d'un bloc avec BatchSolver.solveAll (batch*), jusqu'à la tolérance de Main (1e-9).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    private static final int MAX_ITER = 20000;
+    private static final double TOL = 1e-9;
+
+    @Param({"100", "300"})
+    public int gridSize;
+
+    @Param({"4", "16"})
+    public int rhsCount;
+
+    private CDS cds;
+    private double[][] B;
+    private double[][] x0;
+    private StoppingCriterion update;
+    private StoppingCriterion residual;
+
+    @Setup
+    public void setup() {
+        Quiet.silence();
+        double l = 1.0 / (gridSize + 1);
+        cds = MatrixBuilder.buildCdsA(gridSize, gridSize, l, l);
+        B = new double[rhsCount][];
+        for (int k = 0; k < rhsCount; k++) {
+            int p = 1 + k % 4;
+            int q = 1 + k / 4;
+            DoubleBinaryOperator f = (x, y) -> (p * p + q * q) * Math.PI * Math.PI
+                    * Math.sin(p * Math.PI * x) * Math.sin(q * Math.PI * y);
+            DoubleBinaryOperator g = (x, y) -> 0.0;
+            B[k] = MatrixBuilder.buildVectorB(gridSize, gridSize, l, l, f, g);
+        }
+        x0 = new double[rhsCount][gridSize * gridSize];
+        update = StoppingCriterion.maxUpdate(TOL).withMaxIterations(MAX_ITER);
+        residual = StoppingCriterion.relativeResidual(TOL).withMaxIterations(MAX_ITER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Quiet.restore();
+    }
+
+    @Benchmark
+    public SolverResult[] singleRedBlackSorCds() {
+        return solveOneByOne(new SorSolver(SorSolver.Ordering.RED_BLACK), update);
+    }
+
+    @Benchmark
+    public SolverResult[] batchRedBlackSorCds() {
+        return new SorSolver(SorSolver.Ordering.RED_BLACK).solveAll(cds, B, x0, update);
+    }
+
+    @Benchmark
+    public SolverResult[] singlePcgIncompleteCholeskyCds() {
+        return solveOneByOne(new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(cds)), residual);
+    }
+
+    @Benchmark
+    public SolverResult[] batchPcgIncompleteCholeskyCds() {
+        return new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(cds)).solveAll(cds, B, x0, residual);
+    }
+
+    @Benchmark
+    public SolverResult[] singleBandedCholeskyCds() {
+        return solveOneByOne(new BandedSolver(), update);
+    }
+
+    @Benchmark
+    public SolverResult[] batchBandedCholeskyCds() {
+        return new BandedSolver().solveAll(cds, B, x0, update);
+    }
+
+    private SolverResult[] solveOneByOne(Solver solver, StoppingCriterion criterion) {
+        SolverResult[] results = new SolverResult[B.length];
+        for (int k = 0; k < B.length; k++) {
+            results[k] = solver.solve(cds, B[k], x0[k], criterion);
+        }
+        return results;
+    }
+}
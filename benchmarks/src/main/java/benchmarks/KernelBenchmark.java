@@ -0,0 +1,141 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import storage.CDS;
+import storage.CdsKernels;
+import storage.SparseMatrix;
+import storage.StencilOperator;
+import utils.MatrixBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Noyaux élémentaires : produit matrice-vecteur (SpMV) et résidu, pour chaque stockage,
+ * puis les noyaux CDS des solveurs en version scalaire et SIMD (voir storage.CdsKernels).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KernelBenchmark {
+
+    @Param({"100", "500", "1000"})
+    public int gridSize;
+
+    private CDS cds;
+    private SparseMatrix csr;
+    private StencilOperator stencil;
+    private double[] x;
+    private double[] B;
+    private double[] y;
+
+    @Setup
+    public void setup() {
+        double l = 1.0 / (gridSize + 1);
+        cds = MatrixBuilder.buildCdsA(gridSize, gridSize, l, l);
+        csr = MatrixBuilder.buildCsrA(gridSize, gridSize, l, l);
+        stencil = MatrixBuilder.buildStencilA(gridSize, gridSize, l, l);
+        int size = gridSize * gridSize;
+        Random random = new Random(42);
+        x = new double[size];
+        B = new double[size];
+        y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextDouble();
+            B[i] = random.nextDouble();
+        }
+    }
+
+    /**
+     * Noyaux CDS : "scalar", ou "selected" pour ceux choisis par la JVM (SIMD si lancée avec
+     * --add-modules jdk.incubator.vector, option transmise aux JVM filles).
+     */
+    @State(Scope.Benchmark)
+    public static class Kernels {
+        @Param({"scalar", "selected"})
+        public String kernels;
+
+        CdsKernels impl;
+
+        @Setup
+        public void setup() {
+            impl = kernels.equals("scalar") ? CdsKernels.scalar() : CdsKernels.get();
+        }
+    }
+
+    @Benchmark
+    public double[] cdsMultiply() {
+        cds.multiply(x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double cdsResidual() {
+        return cds.residual(B, x, y);
+    }
+
+    @Benchmark
+    public double[] stencilMultiply() {
+        stencil.multiply(x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double stencilResidual() {
+        return stencil.residual(B, x, y);
+    }
+
+    @Benchmark
+    public double[] csrMultiplySerial() {
+        csr.multiply(x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double[] csrMultiplyParallel(Pool pool) {
+        csr.multiply(x, y, pool.pool);
+        return y;
+    }
+
+    @Benchmark
+    public double csrResidual() {
+        return csr.residual(B, x, y);
+    }
+
+    @Benchmark
+    public double[] kernelMultiply(Kernels kernels) {
+        kernels.impl.multiply(cds, x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double kernelResidualNorm(Kernels kernels) {
+        return kernels.impl.residualNorm(cds, B, x);
+    }
+
+    @Benchmark
+    public double kernelJacobiSweep(Kernels kernels) {
+        return kernels.impl.jacobiSweep(cds, B, x, y);
+    }
+
+    // Une itération Rouge-Noir complète (les deux couleurs) sur y, sans relaxation
+    @Benchmark
+    public double kernelRedBlackSweep(Kernels kernels) {
+        double red = kernels.impl.redBlackRows(cds, B, y, 0, 0, gridSize, 1.0);
+        double black = kernels.impl.redBlackRows(cds, B, y, 1, 0, gridSize, 1.0);
+        return Math.max(red, black);
+    }
+}
@@ -0,0 +1,31 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pool de threads des noyaux et solveurs parallèles, commun à tous les benchmarks : le paramètre threads
+ * ne s'applique qu'aux benchmarks qui prennent cet état en argument.
+ */
+@State(Scope.Benchmark)
+public class Pool {
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Les solveurs affichent un message à chaque résolution (convergence ou non) : pendant une mesure,
+ * ces écritures coûteraient plus que certains balayages. On redirige donc System.out et System.err
+ * vers un flux vide le temps d'un essai, puis on les rétablit.
+ */
+final class Quiet {
+    private static final PrintStream NULL = new PrintStream(OutputStream.nullOutputStream());
+    private static PrintStream out;
+    private static PrintStream err;
+
+    private Quiet() {
+    }
+
+    static void silence() {
+        out = System.out;
+        err = System.err;
+        System.setOut(NULL);
+        System.setErr(NULL);
+    }
+
+    static void restore() {
+        if (out != null) {
+            System.setOut(out);
+            System.setErr(err);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import solvers.GaussSeidelSolver;
+import solvers.JacobiSolver;
+import solvers.MixedPrecisionSolver;
+import solvers.ParallelGaussSeidelSolver;
+import solvers.SorSolver;
+import solvers.TiledJacobiSolver;
+import storage.CDS;
+import storage.StencilOperator;
+import utils.MatrixBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'un balayage de chaque méthode stationnaire. Les solveurs qui n'exposent pas leur balayage sont
+ * appelés avec SWEEPS itérations et une tolérance nulle (jamais atteinte) ; le temps est divisé par SWEEPS.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SweepBenchmark {
+
+    private static final int SWEEPS = 20;
+
+    @Param({"100", "500", "1000"})
+    public int gridSize;
+
+    private CDS cds;
+    private StencilOperator stencil;
+    private double[] B;
+    private double[] x0;
+    private double[] x;
+
+    @Setup
+    public void setup() {
+        Quiet.silence();
+        double l = 1.0 / (gridSize + 1);
+        cds = MatrixBuilder.buildCdsA(gridSize, gridSize, l, l);
+        stencil = MatrixBuilder.buildStencilA(gridSize, gridSize, l, l);
+        int size = gridSize * gridSize;
+        B = new double[size];
+        Arrays.fill(B, 1.0);
+        x0 = new double[size];
+        x = new double[size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        Quiet.restore();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] jacobiCds() {
+        return new JacobiSolver().solve(cds, B, x0, SWEEPS, 0.0);
+    }
+
+    // SWEEPS est un multiple des 4 balayages par tuile
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] jacobiTiledCds() {
+        return new TiledJacobiSolver().solve(cds, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] jacobiStencil() {
+        return new JacobiSolver().solve(stencil, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] gaussSeidelStencil() {
+        return new GaussSeidelSolver().solve(stencil, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] sorCds() {
+        return new SorSolver(SorSolver.Ordering.LEXICOGRAPHIC, 1.9).solve(cds, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] sorStencil() {
+        return new SorSolver(SorSolver.Ordering.LEXICOGRAPHIC, 1.9).solve(stencil, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWEEPS)
+    public double[] mixedPrecisionCds() {
+        // Un seul raffinement de SWEEPS balayages float (réduction interne impossible à atteindre)
+        return new MixedPrecisionSolver(SWEEPS, 0.0).solve(cds, B, x0, SWEEPS, 0.0);
+    }
+
+    @Benchmark
+    public double redBlackCds(Pool pool) {
+        return new ParallelGaussSeidelSolver(pool.pool).sweep(cds, B, x);
+    }
+
+    @Benchmark
+    public double redBlackStencil(Pool pool) {
+        return new ParallelGaussSeidelSolver(pool.pool).sweep(stencil, B, x);
+    }
+}
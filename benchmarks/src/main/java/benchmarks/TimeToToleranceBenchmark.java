@@ -0,0 +1,118 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import solvers.AdiSolver;
+import solvers.BandedSolver;
+import solvers.ConjugateGradientSolver;
+import solvers.FastPoissonSolver;
+import solvers.IncompleteCholeskyPreconditioner;
+import solvers.MixedPrecisionSolver;
+import solvers.MultigridSolver;
+import solvers.ParallelGaussSeidelSolver;
+import solvers.SorSolver;
+import storage.CDS;
+import storage.StencilOperator;
+import utils.MatrixBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Temps de résolution jusqu'à la tolérance de Main (1e-9), matrice et second membre déjà assemblés.
+ * La préparation propre à chaque solveur (factorisation, préconditionneur, hiérarchie de grilles) est incluse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeToToleranceBenchmark {
+
+    private static final int MAX_ITER = 20000;
+    private static final double TOL = 1e-9;
+
+    @Param({"100", "300"})
+    public int gridSize;
+
+    private CDS cds;
+    private StencilOperator stencil;
+    private double[] B;
+    private double[] x0;
+
+    @Setup
+    public void setup() {
+        Quiet.silence();
+        double l = 1.0 / (gridSize + 1);
+        DoubleBinaryOperator f = (x, y) -> 2 * Math.PI * Math.PI * Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+        DoubleBinaryOperator g = (x, y) -> 0.0;
+        cds = MatrixBuilder.buildCdsA(gridSize, gridSize, l, l);
+        stencil = MatrixBuilder.buildStencilA(gridSize, gridSize, l, l);
+        B = MatrixBuilder.buildVectorB(gridSize, gridSize, l, l, f, g);
+        x0 = new double[gridSize * gridSize];
+    }
+
+    @TearDown
+    public void tearDown() {
+        Quiet.restore();
+    }
+
+    @Benchmark
+    public double[] sorCds() {
+        return new SorSolver(SorSolver.Ordering.LEXICOGRAPHIC).solve(cds, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] redBlackSorStencil(Pool pool) {
+        double omega = SorSolver.optimalOmega(gridSize, gridSize, 1.0 / (gridSize + 1), 1.0 / (gridSize + 1));
+        return new ParallelGaussSeidelSolver(pool.pool, omega).solve(stencil, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] mixedPrecisionCds() {
+        return new MixedPrecisionSolver().solve(cds, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] pcgIncompleteCholeskyCds() {
+        return new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(cds)).solve(cds, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] adiStencil(Pool pool) {
+        return new AdiSolver(0, pool.pool).solve(stencil, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] multigridVStencil(Pool pool) {
+        MultigridSolver solver = new MultigridSolver(MultigridSolver.Cycle.V, 2, 2, new ParallelGaussSeidelSolver(pool.pool));
+        return solver.solve(stencil, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] multigridFmgStencil(Pool pool) {
+        MultigridSolver solver = new MultigridSolver(MultigridSolver.Cycle.FMG, 2, 2, new ParallelGaussSeidelSolver(pool.pool));
+        return solver.solve(stencil, B, x0, MAX_ITER, TOL);
+    }
+
+    @Benchmark
+    public double[] fastPoissonStencil() {
+        return new FastPoissonSolver().solve(stencil, B);
+    }
+
+    @Benchmark
+    public double[] bandedCholeskyCds() {
+        return new BandedSolver().solve(cds, B);
+    }
+}
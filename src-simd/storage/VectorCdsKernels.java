@@ -0,0 +1,307 @@
+package storage;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyaux SIMD avec l'API Vector (jdk.incubator.vector), sur la largeur de registre préférée du processeur
+ * (8 doubles en AVX-512, 4 en AVX2). Seules les lignes intérieures [n, size - n), où les 5 coefficients
+ * existent, sont vectorisées ; les n premières et dernières lignes et les restes de boucle passent par
+ * le code scalaire. Les opérations sont faites dans le même ordre que la version scalaire : les balayages
+ * donnent exactement les mêmes valeurs, seules les réductions (norme, max) sont regroupées par voie.
+ *
+ * Chargée par réflexion (voir {@link KernelSelector}). Seule classe à dépendre du module incubateur, elle est
+ * rangée à part dans src-simd : compiler src et src-simd avec --add-modules jdk.incubator.vector, et lancer avec
+ * la même option ; sans src-simd, le reste compile sans option ni avertissement.
+ */
+final class VectorCdsKernels implements CdsKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * @param force true pour utiliser les noyaux vectoriels même avec un seul double par registre.
+     */
+    VectorCdsKernels(boolean force) {
+        if (LANES < 2 && !force) {
+            throw new UnsupportedOperationException("Un seul double par registre vectoriel.");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + SPECIES.vectorBitSize() + " bits)";
+    }
+
+    @Override
+    public void multiply(CDS A, double[] x, double[] y) {
+        int n = A.getN();
+        int size = A.getSize();
+        double[] main = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        int interiorEnd = Math.max(n, size - n);
+
+        for (int i = 0; i < n && i < size; i++) {
+            y[i] = A.rowProduct(x, i);
+        }
+        int i = n;
+        for (int bound = n + SPECIES.loopBound(Math.max(0, size - 2 * n)); i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, main, i).mul(DoubleVector.fromArray(SPECIES, x, i))
+                    .add(DoubleVector.fromArray(SPECIES, low1, i - 1).mul(DoubleVector.fromArray(SPECIES, x, i - 1)))
+                    .add(DoubleVector.fromArray(SPECIES, up1, i).mul(DoubleVector.fromArray(SPECIES, x, i + 1)))
+                    .add(DoubleVector.fromArray(SPECIES, lowN, i - n).mul(DoubleVector.fromArray(SPECIES, x, i - n)))
+                    .add(DoubleVector.fromArray(SPECIES, upN, i).mul(DoubleVector.fromArray(SPECIES, x, i + n)))
+                    .intoArray(y, i);
+        }
+        for (; i < size - n; i++) {
+            y[i] = A.rowProduct(x, i);
+        }
+        for (i = interiorEnd; i < size; i++) {
+            y[i] = A.rowProduct(x, i);
+        }
+    }
+
+    @Override
+    public void multiply(CDS A, double[][] X, double[][] Y) {
+        int n = A.getN();
+        int size = A.getSize();
+        double[] main = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+
+        for (int start = 0; start < size; start += CDS.BATCH_ROWS) {
+            int end = Math.min(start + CDS.BATCH_ROWS, size);
+            int interiorStart = Math.min(Math.max(start, n), end);
+            int interiorEnd = Math.max(interiorStart, Math.min(end, size - n));
+            for (int v = 0; v < X.length; v++) {
+                double[] x = X[v];
+                double[] y = Y[v];
+                for (int i = start; i < interiorStart; i++) {
+                    y[i] = A.rowProduct(x, i);
+                }
+                int i = interiorStart;
+                for (int bound = interiorStart + SPECIES.loopBound(interiorEnd - interiorStart); i < bound; i += LANES) {
+                    DoubleVector.fromArray(SPECIES, main, i).mul(DoubleVector.fromArray(SPECIES, x, i))
+                            .add(DoubleVector.fromArray(SPECIES, low1, i - 1).mul(DoubleVector.fromArray(SPECIES, x, i - 1)))
+                            .add(DoubleVector.fromArray(SPECIES, up1, i).mul(DoubleVector.fromArray(SPECIES, x, i + 1)))
+                            .add(DoubleVector.fromArray(SPECIES, lowN, i - n).mul(DoubleVector.fromArray(SPECIES, x, i - n)))
+                            .add(DoubleVector.fromArray(SPECIES, upN, i).mul(DoubleVector.fromArray(SPECIES, x, i + n)))
+                            .intoArray(y, i);
+                }
+                // Fin du bloc intérieur et lignes du bord : mêmes opérations, une ligne à la fois
+                for (; i < end; i++) {
+                    y[i] = A.rowProduct(x, i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public double residualNorm(CDS A, double[] B, double[] x) {
+        int n = A.getN();
+        int size = A.getSize();
+        int interiorEnd = Math.max(n, size - n);
+        double norm = 0.0;
+
+        for (int i = 0; i < n && i < size; i++) {
+            double ri = B[i] - A.rowProduct(x, i);
+            norm += ri * ri;
+        }
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int i = n;
+        for (int bound = n + SPECIES.loopBound(Math.max(0, size - 2 * n)); i < bound; i += LANES) {
+            DoubleVector r = subtractNeighbours(DoubleVector.fromArray(SPECIES, B, i)
+                    .sub(DoubleVector.fromArray(SPECIES, A.getMainDiag(), i).mul(DoubleVector.fromArray(SPECIES, x, i))), A, x, i);
+            sum = r.fma(r, sum);
+        }
+        norm += sum.reduceLanes(VectorOperators.ADD);
+        for (; i < size - n; i++) {
+            double ri = B[i] - A.rowProduct(x, i);
+            norm += ri * ri;
+        }
+        for (i = interiorEnd; i < size; i++) {
+            double ri = B[i] - A.rowProduct(x, i);
+            norm += ri * ri;
+        }
+        return Math.sqrt(norm);
+    }
+
+    @Override
+    public double jacobiSweep(CDS A, double[] B, double[] x_old, double[] x) {
+        int n = A.getN();
+        int size = A.getSize();
+        double[] main = A.getMainDiag();
+        int interiorEnd = Math.max(n, size - n);
+        double maxDiff = 0.0;
+
+        for (int i = 0; i < n && i < size; i++) {
+            maxDiff = Math.max(maxDiff, jacobiPoint(A, B, x_old, x, i));
+        }
+        DoubleVector max = DoubleVector.zero(SPECIES);
+        int i = n;
+        for (int bound = n + SPECIES.loopBound(Math.max(0, size - 2 * n)); i < bound; i += LANES) {
+            DoubleVector xOld = DoubleVector.fromArray(SPECIES, x_old, i);
+            DoubleVector z = subtractNeighbours(DoubleVector.fromArray(SPECIES, B, i)
+                    .sub(DoubleVector.fromArray(SPECIES, main, i).mul(xOld)), A, x_old, i)
+                    .div(DoubleVector.fromArray(SPECIES, main, i));
+            z.add(xOld).intoArray(x, i);
+            max = max.max(z.abs());
+        }
+        maxDiff = Math.max(maxDiff, max.reduceLanes(VectorOperators.MAX));
+        for (; i < size - n; i++) {
+            double z = subtractNeighbours(B[i] - main[i] * x_old[i], A, x_old, i) / main[i];
+            x[i] = z + x_old[i];
+            maxDiff = Math.max(maxDiff, Math.abs(z));
+        }
+        for (i = interiorEnd; i < size; i++) {
+            maxDiff = Math.max(maxDiff, jacobiPoint(A, B, x_old, x, i));
+        }
+        return maxDiff;
+    }
+
+    @Override
+    public double jacobiRow(CDS A, double[] B, double[] src, int srcRow, int srcStride, double[] dst, int dstRow,
+                            int j, int iStart, int iEnd) {
+        int n = A.getN();
+        double[] main = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        int row = j * n;
+        DoubleVector max = DoubleVector.zero(SPECIES);
+        int i = iStart;
+        for (int bound = iStart + SPECIES.loopBound(iEnd - iStart); i < bound; i += LANES) {
+            int k = row + i;
+            int s = srcRow + i;
+            DoubleVector c = DoubleVector.fromArray(SPECIES, src, s);
+            DoubleVector z = DoubleVector.fromArray(SPECIES, B, k)
+                    .sub(DoubleVector.fromArray(SPECIES, main, k).mul(c))
+                    .sub(DoubleVector.fromArray(SPECIES, low1, k - 1).mul(DoubleVector.fromArray(SPECIES, src, s - 1)))
+                    .sub(DoubleVector.fromArray(SPECIES, up1, k).mul(DoubleVector.fromArray(SPECIES, src, s + 1)))
+                    .sub(DoubleVector.fromArray(SPECIES, lowN, k - n).mul(DoubleVector.fromArray(SPECIES, src, s - srcStride)))
+                    .sub(DoubleVector.fromArray(SPECIES, upN, k).mul(DoubleVector.fromArray(SPECIES, src, s + srcStride)))
+                    .div(DoubleVector.fromArray(SPECIES, main, k));
+            z.add(c).intoArray(dst, dstRow + i);
+            max = max.max(z.abs());
+        }
+        double maxDiff = max.reduceLanes(VectorOperators.MAX);
+        for (; i < iEnd; i++) {
+            int k = row + i;
+            int s = srcRow + i;
+            double c = src[s];
+            double z = (B[k] - main[k] * c
+                    - low1[k - 1] * src[s - 1] - up1[k] * src[s + 1]
+                    - lowN[k - n] * src[s - srcStride] - upN[k] * src[s + srcStride]) / main[k];
+            dst[dstRow + i] = z + c;
+            maxDiff = Math.max(maxDiff, Math.abs(z));
+        }
+        return maxDiff;
+    }
+
+    // Disposition masquée : les nœuds d'une couleur sont indépendants (leurs voisins sont de l'autre couleur),
+    // on calcule donc la mise à jour sur tout le registre avec un facteur de relaxation omega sur les voies de
+    // la couleur demandée et 0 sur les autres, qui gardent ainsi exactement leur valeur.
+    @Override
+    public double redBlackRows(CDS A, double[] B, double[] x, int colour, int jStart, int jEnd, double omega) {
+        int n = A.getN();
+        int m = A.getSize() / n;
+        double[] main = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        double maxDiff = 0;
+        // weights[k] = omega pour k pair, 0 pour k impair : un registre lu à partir de 0 ou de 1 couvre les deux parités
+        double[] weights = new double[LANES + 1];
+        for (int k = 0; k < weights.length; k += 2) {
+            weights[k] = omega;
+        }
+
+        for (int j = jStart; j < jEnd; j++) {
+            int row = j * n;
+            int first = (colour + j) & 1;
+            if (j == 0 || j == m - 1 || n < LANES + 2 || (LANES & 1) != 0) {
+                // Ligne de bord ou trop courte pour un registre : la ligne scalaire elle-même, pour que ses
+                // nœuds intérieurs suivent exactement la formule scalaire (relaxPoint somme les voisins avant
+                // de les soustraire de B, ce qui n'arrondit pas de la même façon)
+                maxDiff = Math.max(maxDiff, ScalarCdsKernels.INSTANCE.redBlackRows(A, B, x, colour, j, j + 1, omega));
+                continue;
+            }
+            if (first == 0) {
+                maxDiff = Math.max(maxDiff, ScalarCdsKernels.relaxPoint(A, B, x, n, m, 0, j, omega));
+            }
+            // Intérieur de la ligne, i dans [1, n - 1) : un registre commence en i = 1, 1 + LANES, ...
+            // et sa voie k est de la couleur demandée si (1 + k + j) % 2 == colour (LANES est pair).
+            DoubleVector w = DoubleVector.fromArray(SPECIES, weights, (colour + 1 + j) & 1);
+            // Les voisins de gauche x[idx - 1 ...] recouvrent le registre écrit à l'itération précédente : ils sont
+            // lus avant cette écriture (ils sont de l'autre couleur, donc inchangés), ce qui évite d'attendre la
+            // fin de l'écriture pour les relire (store forwarding impossible entre registres décalés).
+            int i = 1;
+            DoubleVector max = DoubleVector.zero(SPECIES);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, x, row);
+            for (int bound = 1 + SPECIES.loopBound(n - 2); i < bound; i += LANES) {
+                int idx = row + i;
+                DoubleVector old = DoubleVector.fromArray(SPECIES, x, idx);
+                DoubleVector gs = DoubleVector.fromArray(SPECIES, B, idx)
+                        .sub(DoubleVector.fromArray(SPECIES, low1, idx - 1).mul(left))
+                        .sub(DoubleVector.fromArray(SPECIES, up1, idx).mul(DoubleVector.fromArray(SPECIES, x, idx + 1)))
+                        .sub(DoubleVector.fromArray(SPECIES, lowN, idx - n).mul(DoubleVector.fromArray(SPECIES, x, idx - n)))
+                        .sub(DoubleVector.fromArray(SPECIES, upN, idx).mul(DoubleVector.fromArray(SPECIES, x, idx + n)))
+                        .div(DoubleVector.fromArray(SPECIES, main, idx));
+                DoubleVector updated = old.add(gs.sub(old).mul(w));
+                left = DoubleVector.fromArray(SPECIES, x, idx + LANES - 1);
+                updated.intoArray(x, idx);
+                max = max.max(updated.sub(old).abs());
+            }
+            // Réduit ligne par ligne : un registre vivant pendant les appels scalaires serait alloué sur le tas
+            maxDiff = Math.max(maxDiff, max.reduceLanes(VectorOperators.MAX));
+            // Reste de la ligne, puis le dernier point (avec tests)
+            if (((i + j) & 1) != colour) {
+                i++;
+            }
+            for (; i < n - 1; i += 2) {
+                maxDiff = Math.max(maxDiff, relaxInterior(A, B, x, row + i, omega));
+            }
+            if (i == n - 1) {
+                maxDiff = Math.max(maxDiff, ScalarCdsKernels.relaxPoint(A, B, x, n, m, i, j, omega));
+            }
+        }
+        return maxDiff;
+    }
+
+    // acc - (produits des 4 voisins), soustraits un à un dans l'ordre de la version scalaire (-1, +1, -n, +n).
+    private static DoubleVector subtractNeighbours(DoubleVector acc, CDS A, double[] x, int i) {
+        int n = A.getN();
+        return acc.sub(DoubleVector.fromArray(SPECIES, A.getLowerDiag1(), i - 1).mul(DoubleVector.fromArray(SPECIES, x, i - 1)))
+                .sub(DoubleVector.fromArray(SPECIES, A.getUpperDiag1(), i).mul(DoubleVector.fromArray(SPECIES, x, i + 1)))
+                .sub(DoubleVector.fromArray(SPECIES, A.getLowerDiagN(), i - n).mul(DoubleVector.fromArray(SPECIES, x, i - n)))
+                .sub(DoubleVector.fromArray(SPECIES, A.getUpperDiagN(), i).mul(DoubleVector.fromArray(SPECIES, x, i + n)));
+    }
+
+    // Version scalaire, pour les restes de boucle sur les lignes intérieures.
+    private static double subtractNeighbours(double acc, CDS A, double[] x, int i) {
+        int n = A.getN();
+        return acc - A.getLowerDiag1()[i - 1] * x[i - 1] - A.getUpperDiag1()[i] * x[i + 1]
+                - A.getLowerDiagN()[i - n] * x[i - n] - A.getUpperDiagN()[i] * x[i + n];
+    }
+
+    // Mise à jour SOR d'un nœud intérieur, mêmes opérations que la boucle scalaire.
+    private static double relaxInterior(CDS A, double[] B, double[] x, int idx, double omega) {
+        double old_xi = x[idx];
+        double gs = subtractNeighbours(B[idx], A, x, idx) / A.getMainDiag()[idx];
+        x[idx] = old_xi + omega * (gs - old_xi);
+        return Math.abs(x[idx] - old_xi);
+    }
+
+    private static double jacobiPoint(CDS A, double[] B, double[] x_old, double[] x, int i) {
+        double z = (B[i] - A.rowProduct(x_old, i)) / A.getMainDiag()[i];
+        x[i] = z + x_old[i];
+        return Math.abs(z);
+    }
+}
@@ -1,42 +1,95 @@
 // --- FILE: Main.java ---
+import mesh.AdaptivePoissonSolver;
 import solvers.*;
 import storage.CDS;
+import storage.MappedCDS;
+import storage.OffHeapVector;
+import storage.SparseMatrix;
+import storage.StencilOperator;
 import utils.ErrorAnalysis;
+import utils.InitialGuessProvider;
 import utils.MatrixBuilder;
 import utils.PerformanceAnalyser;
+import utils.ProblemKey;
 import utils.ResultsSaver;
+import utils.SnapshotWriter;
+import utils.SolutionCache;
+import utils.SolverMetrics;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
 public class Main {
 
     // Interface fonctionnelle pour encapsuler une tâche de résolution complète.
-    // Elle prend tout ce dont elle a besoin pour construire et résoudre le système.
+    // Le système est déjà assemblé : la tâche choisit le stockage de A dont son solveur a besoin.
     @FunctionalInterface
     interface SolveTask {
-        double[] run(int n, int m, double l, double h,
-                     BiFunction<Double, Double, Double> f,
-                     BiFunction<Double, Double, Double> g,
-                     double[] x0, int maxIter, double tol);
+        double[] run(GridProblem grid,
+                     double[] x0, int maxIter, double tol,
+                     IterationListener listener);
     }
 
+    // Système d'une taille de grille, assemblé une seule fois et partagé par tous les solveurs : A ne dépend
+    // que de (n, m, l, h). Aucun solveur ne modifie A ni B.
+    static final class GridProblem {
+        final int n;
+        final int m;
+        final double l;
+        final double h;
+        final DoubleBinaryOperator f;
+        final DoubleBinaryOperator g;
+        final CDS cds;
+        final StencilOperator stencil;
+        final SparseMatrix csr;
+        final double[] B;
+
+        GridProblem(int n, int m, DoubleBinaryOperator f, DoubleBinaryOperator g) {
+            this.n = n;
+            this.m = m;
+            this.l = 1.0 / (n + 1);
+            this.h = 1.0 / (m + 1);
+            this.f = f;
+            this.g = g;
+            this.cds = MatrixBuilder.buildCdsA(n, m, l, h);
+            this.stencil = MatrixBuilder.buildStencilA(n, m, l, h);
+            this.csr = MatrixBuilder.buildCsrA(n, m, l, h);
+            this.B = MatrixBuilder.buildVectorB(n, m, l, h, f, g);
+        }
+
+        // Matrice dense neuve à chaque appel : les solveurs denses la factorisent en place.
+        double[][] denseA() {
+            return MatrixBuilder.buildDenseA(n, m, l, h);
+        }
+    }
+
+    // Nom de la famille du cas test dans le cache de solutions (--warm-start)
+    private static final String TEST_CASE = "sin(πx) sin(πy)";
+
     public static void main(String[] args) {
+        // --warm-start : chaque solveur part de l'interpolation de sa solution sur la grille précédente
+        boolean warmStart = Arrays.asList(args).contains("--warm-start");
+
         // --- 1. Définition du Cas Test ---
         // On choisit une solution analytique pour laquelle on peut calculer f et g.
         // Solution exacte : u(x,y) = sin(πx) * sin(πy)
-        BiFunction<Double, Double, Double> exactSolution = (x, y) -> Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+        DoubleBinaryOperator exactSolution = (x, y) -> Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
 
         // La fonction source f(x,y) est -Δu
-        BiFunction<Double, Double, Double> f = (x, y) -> 2 * Math.pow(Math.PI, 2) * Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+        DoubleBinaryOperator f = (x, y) -> 2 * Math.pow(Math.PI, 2) * Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
 
         // La fonction g(x,y) donne les valeurs de u(x,y) sur les frontières du domaine [0,1]x[0,1]
-        BiFunction<Double, Double, Double> dirichletBoundaryCond = (x, y) -> exactSolution.apply(x,y); // g(x,y) est simplement u(x,y) sur le bord
+        DoubleBinaryOperator dirichletBoundaryCond = (x, y) -> exactSolution.applyAsDouble(x, y); // g(x,y) est simplement u(x,y) sur le bord
         // Dans ce cas, cela donne 0.
 
         // --- 2. Configuration du Banc d'Essai ---
@@ -54,32 +107,103 @@ public class Main {
         Map<String, SolveTask> solversToTest = new LinkedHashMap<>();
 
         // Itératifs sur Matrice Creuse (CDS) - Les plus efficaces
-        solversToTest.put("Jacobi (CDS)", (n, m, l, h, func_f, func_g, x0, maxIter, tol) -> {
-            CDS A = MatrixBuilder.buildCdsA(n, m, l, h);
-            double[] B = MatrixBuilder.buildVectorB(n, m, l, h, func_f, func_g);
-            return new JacobiSolver().solve(A, B, x0, maxIter, tol);
-        });
-        solversToTest.put("Gauss-Seidel (CDS)", (n, m, l, h, func_f, func_g, x0, maxIter, tol) -> {
-            CDS A = MatrixBuilder.buildCdsA(n, m, l, h);
-            double[] B = MatrixBuilder.buildVectorB(n, m, l, h, func_f, func_g);
-            return new GaussSeidelSolver().solve(A, B, x0, maxIter, tol);
-        });
-        solversToTest.put("Parallel GS (CDS)", (n, m, l, h, func_f, func_g, x0, maxIter, tol) -> {
-            CDS A = MatrixBuilder.buildCdsA(n, m, l, h);
-            double[] B = MatrixBuilder.buildVectorB(n, m, l, h, func_f, func_g);
-            return new ParallelGaussSeidelSolver().solve(A, B, n, x0, maxIter, tol);
+        solversToTest.put("Jacobi (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new JacobiSolver().addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+        solversToTest.put("Jacobi par tuiles (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new TiledJacobiSolver().addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+        solversToTest.put("Gauss-Seidel (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new GaussSeidelSolver().addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+        solversToTest.put("Parallel GS (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new ParallelGaussSeidelSolver().addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+
+        // SOR avec facteur de relaxation optimal calculé automatiquement
+        solversToTest.put("SOR (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new SorSolver(SorSolver.Ordering.LEXICOGRAPHIC).addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+        solversToTest.put("Red-Black SOR (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new SorSolver(SorSolver.Ordering.RED_BLACK).addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+
+        // SOR Rouge-Noir sur stockage hors tas : matrice, B et x projetés depuis des fichiers temporaires
+        solversToTest.put("Red-Black SOR (Mapped CDS)", (grid, x0, maxIter, tol, listener) -> {
+            try {
+                Path dir = Files.createTempDirectory("fv2d-mapped");
+                try {
+                    MappedCDS A = MatrixBuilder.buildMappedCdsA(grid.n, grid.m, grid.l, grid.h, dir.resolve("A.bin"));
+                    OffHeapVector B = MatrixBuilder.buildMappedVectorB(grid.n, grid.m, grid.l, grid.h, grid.f, grid.g, dir.resolve("B.bin"));
+                    OffHeapVector x = OffHeapVector.map(dir.resolve("x.bin"), (long) grid.n * grid.m);
+                    x.copyFrom(x0, 0);
+                    new SorSolver(SorSolver.Ordering.RED_BLACK).addListener(listener).solveInPlace(A, B, x, maxIter, tol);
+                    return x.toArray();
+                } finally {
+                    for (String name : new String[]{"A.bin", "B.bin", "x.bin"}) {
+                        Files.deleteIfExists(dir.resolve(name));
+                    }
+                    Files.deleteIfExists(dir);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         });
 
+        // Précision mixte : balayages SOR en float, raffinement itératif en double
+        solversToTest.put("Mixed Precision SOR (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new MixedPrecisionSolver().addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+
+        // Gradient conjugué préconditionné - A est symétrique définie positive
+        solversToTest.put("PCG IC(0) (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(grid.cds)).addListener(listener).solve(grid.cds, grid.B, x0, maxIter, tol));
+
+        // Itératifs matrix-free (stencil à 5 points) - Aucune diagonale stockée
+        solversToTest.put("Jacobi (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new JacobiSolver().addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+        solversToTest.put("Gauss-Seidel (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new GaussSeidelSolver().addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+        solversToTest.put("Parallel GS (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new ParallelGaussSeidelSolver().addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+
+        // Méthodes par lignes (Thomas par lot) - Robustes sur les grilles anisotropes
+        solversToTest.put("ADI (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new AdiSolver().addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+
+        // Décomposition de domaine : 4 processus Java, halos échangés par sockets TCP locales
+        solversToTest.put("Schwarz DD 4 processes (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new DomainDecompositionSolver(4).addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+
+        // Multigrille géométrique - Nombre de cycles indépendant de la taille de la grille
+        solversToTest.put("Multigrid V (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new MultigridSolver(MultigridSolver.Cycle.V, 2, 2).addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+        solversToTest.put("Multigrid FMG (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new MultigridSolver(MultigridSolver.Cycle.FMG, 2, 2).addListener(listener).solve(grid.stencil, grid.B, x0, maxIter, tol));
+
+        // Solveur direct rapide par transformée en sinus (coefficients constants, Dirichlet)
+        solversToTest.put("Fast Poisson DST (Stencil)", (grid, x0, maxIter, tol, listener) ->
+                new FastPoissonSolver().solve(grid.stencil, grid.B));
+
+        // Gradient conjugué sur une matrice creuse générale (CSR), produit matrice-vecteur parallèle
+        solversToTest.put("PCG Jacobi (CSR)", (grid, x0, maxIter, tol, listener) ->
+                new ConjugateGradientSolver(new JacobiPreconditioner(grid.csr)).addListener(listener).solve(grid.csr, grid.B, x0, maxIter, tol));
+
+        // Solveur direct par factorisation bande (Cholesky) construite depuis la CDS
+        solversToTest.put("Banded Cholesky (CDS)", (grid, x0, maxIter, tol, listener) ->
+                new BandedSolver().solve(grid.cds, grid.B));
+
         // Solveur Direct sur Matrice Dense - Pour la comparaison de performance
-        solversToTest.put("Gauss (Dense)", (n, m, l, h, func_f, func_g, x0, maxIter, tol) -> {
-            double[][] A = MatrixBuilder.buildDenseA(n, m, l, h);
-            double[] B = MatrixBuilder.buildVectorB(n, m, l, h, func_f, func_g);
-            return new SimpleGaussSolver().solve(A, B);
-        });
+        solversToTest.put("Gauss (Dense)", (grid, x0, maxIter, tol, listener) ->
+                new SimpleGaussSolver().solve(grid.denseA(), grid.B));
+
+        // LU par blocs avec pivotage partiel, factorisée en place (pas de copie de la matrice dense)
+        solversToTest.put("Blocked LU (Dense)", (grid, x0, maxIter, tol, listener) ->
+                new BlockedLUSolver().solveInPlace(grid.denseA(), grid.B));
 
         // --- 4. Exécution du Banc d'Essai ---
         System.out.println("\nDébut du banc d'essai comparatif des solveurs.");
         System.out.println("=============================================");
+        System.out.println("(Temps indicatifs : un appel à froid, systèmes assemblés au préalable. Mesures fiables : module benchmarks/ (JMH).)");
+        if (warmStart) {
+            System.out.println("(--warm-start : solution initiale interpolée depuis la grille précédente du même solveur.)");
+        }
+
+        // Un seul assemblage par taille de grille, réutilisé par tous les solveurs
+        Map<Integer, GridProblem> grids = new HashMap<>();
 
         for (Map.Entry<String, SolveTask> entry : solversToTest.entrySet()) {
             String solverName = entry.getKey();
@@ -90,10 +214,28 @@ public class Main {
 
             System.out.printf("\n---> Test du solveur : %s\n", solverName);
 
+            // Un cache par solveur : ses solutions ne servent qu'à ses propres grilles suivantes
+            InitialGuessProvider guesses = warmStart ? new SolutionCache(4) : InitialGuessProvider.zero();
             for (int N : gridSizes) {
-                runSingleTest(solverName, task, N, N, f, dirichletBoundaryCond, exactSolution, benchmarkFile, (N == largestGridSize));
+                GridProblem grid = grids.computeIfAbsent(N, size -> new GridProblem(size, size, f, dirichletBoundaryCond));
+                runSingleTest(solverName, task, grid, guesses, exactSolution, benchmarkFile, (N == largestGridSize));
             }
         }
+
+        // --- 5. Balayage de paramètres : un opérateur, plusieurs seconds membres ---
+        runBatchSweep(gridSizesForSparse[gridSizesForSparse.length - 1], 16);
+
+        // --- 6. Solutions initiales : résolutions à froid contre cache de solutions ---
+        if (warmStart) {
+            runWarmStartSweep(gridSizesForSparse[gridSizesForSparse.length - 1], exactSolution, f);
+        }
+
+        // --- 7. Source localisée : maillage adaptatif contre grilles uniformes ---
+        runAdaptiveTest(0.005);
+
+        // --- 8. Équation de la chaleur : un opérateur et sa préparation pour tous les pas de temps ---
+        runHeatTest(gridSizesForSparse[gridSizesForSparse.length - 1], 200, 1e-3);
+
         System.out.println("\n=============================================");
         System.out.println("Banc d'essai terminé. Résultats dans '" + benchmarkFile + "'.");
         System.out.println("Lancez le script 'analyse_benchmark.py' pour visualiser les résultats.");
@@ -102,28 +244,32 @@ public class Main {
     /**
      * Exécute un seul test pour une configuration donnée et sauvegarde les résultats.
      */
-    private static void runSingleTest(String solverName, SolveTask task, int n, int m,
-                                      BiFunction<Double, Double, Double> f,
-                                      BiFunction<Double, Double, Double> g,
-                                      BiFunction<Double, Double, Double> exactSolution,
+    private static void runSingleTest(String solverName, SolveTask task, GridProblem grid,
+                                      InitialGuessProvider guesses, DoubleBinaryOperator exactSolution,
                                       String filename, boolean saveGrid) {
 
-        System.out.printf("  - Grille %dx%d... ", n, m);
-
-        double l = 1.0 / (n + 1);
-        double h = 1.0 / (m + 1);
+        int n = grid.n;
+        int m = grid.m;
+        double l = grid.l;
+        double h = grid.h;
         int size = n * m;
+        System.out.printf("  - Grille %dx%d... ", n, m);
 
-        // Paramètres de résolution
-        double[] initialGuess = new double[size];
+        // Paramètres de résolution (solution initiale hors chronométrage)
+        ProblemKey problem = new ProblemKey(TEST_CASE, 0, n, m, l, h, grid.g);
+        double[] initialGuess = guesses.initialGuess(problem);
         int maxIterations = 20000;
         double tolerance = 1e-9;
 
+        // Mesures par itération (solveurs itératifs) : résidu calculé toutes les 50 itérations
+        SolverMetrics metrics = new SolverMetrics(50);
+
         // Mesure du temps
         PerformanceAnalyser timer = new PerformanceAnalyser();
         timer.start();
-        double[] solution = task.run(n, m, l, h, f, g, initialGuess, maxIterations, tolerance);
+        double[] solution = task.run(grid, initialGuess, maxIterations, tolerance, metrics);
         timer.stop();
+        guesses.record(problem, solution);
 
         double timeMs = timer.getDurationMillis();
 
@@ -131,35 +277,256 @@ public class Main {
         double error = ErrorAnalysis.calculateLInfinityError(solution, n, m, l, h, exactSolution);
 
         // Estimation de la mémoire
-        double memoryMb = solverName.contains("(Dense)") ?
-                PerformanceAnalyser.estimateDenseMatrixMemoryMb(n, m) :
-                PerformanceAnalyser.estimateCdsMatrixMemoryMb(n, m);
+        double memoryMb;
+        if (solverName.contains("(Dense)")) {
+            memoryMb = PerformanceAnalyser.estimateDenseMatrixMemoryMb(n, m);
+        } else if (solverName.startsWith("Banded")) {
+            memoryMb = PerformanceAnalyser.estimateBandedFactorMemoryMb(n, m);
+        } else if (solverName.startsWith("Mixed Precision")) {
+            // Matrice CDS double + sa copie float
+            memoryMb = 1.5 * PerformanceAnalyser.estimateCdsMatrixMemoryMb(n, m);
+        } else if (solverName.contains("(CSR)")) {
+            memoryMb = PerformanceAnalyser.estimateCsrMatrixMemoryMb(n, m);
+        } else if (solverName.contains("(Stencil)")) {
+            memoryMb = PerformanceAnalyser.estimateStencilOperatorMemoryMb();
+        } else {
+            memoryMb = PerformanceAnalyser.estimateCdsMatrixMemoryMb(n, m);
+        }
 
         // Sauvegarde des données de benchmark
-        saveBenchmarkData(filename, solverName, n, m, size, h, error, timeMs, memoryMb);
+        saveBenchmarkData(filename, solverName, n, m, size, h, error, timeMs, memoryMb, metrics);
 
-        // Sauvegarde de la grille de solution si demandé (pour la plus grande grille)
+        // Sauvegarde de la grille de solution et de l'historique de convergence si demandé (pour la plus grande grille)
         if (saveGrid) {
-            String gridFile = String.format("src/plot/solution_grid_%s_%dx%d.csv", solverName.replaceAll("[^a-zA-Z0-9]", "_"), n, m);
-            ResultsSaver.saveGridToFile(gridFile, solution, n, m);
+            String gridFile = String.format("src/plot/solution_grid_%s_%dx%d.bin", solverName.replaceAll("[^a-zA-Z0-9]", "_"), n, m);
+            ResultsSaver.saveGridToBinaryFile(gridFile, solution, n, m);
+            if (metrics.getIterations() > 0) {
+                metrics.saveHistory(String.format("src/plot/convergence_%s_%dx%d.csv", solverName.replaceAll("[^a-zA-Z0-9]", "_"), n, m));
+            }
+        }
+
+        // Convergence qui stagne : la mise à jour ne diminue presque plus sur les 100 dernières itérations
+        if (metrics.getIterations() > 0 && !metrics.isConverged()) {
+            System.out.printf("(stagnation : taux de convergence %.6f par itération) ", metrics.getConvergenceRate(100));
         }
 
         System.out.printf("terminé en %.2f ms, erreur = %.2e\n", timeMs, error);
     }
 
+    /**
+     * Balayage de paramètres sur la source, sur une même grille n x n : count solutions exactes
+     * u_pq = sin(pπx) sin(qπy), soit f_pq = (p² + q²) π² u_pq et g = 0. A est assemblée une seule fois ; chaque
+     * solveur résout les count systèmes un par un, puis d'un bloc avec solveAll (voir BatchSolver).
+     */
+    private static void runBatchSweep(int n, int count) {
+        System.out.printf("\n---> Balayage de %d seconds membres, grille %dx%d (un seul assemblage de A)\n", count, n, n);
+        double l = 1.0 / (n + 1);
+        CDS A = MatrixBuilder.buildCdsA(n, n, l, l);
+        double[][] B = new double[count][];
+        double[][] x0 = new double[count][n * n];
+        DoubleBinaryOperator[] exact = new DoubleBinaryOperator[count];
+        for (int k = 0; k < count; k++) {
+            int p = 1 + k % 4;
+            int q = 1 + k / 4;
+            DoubleBinaryOperator u = (x, y) -> Math.sin(p * Math.PI * x) * Math.sin(q * Math.PI * y);
+            exact[k] = u;
+            DoubleBinaryOperator source = (x, y) -> (p * p + q * q) * Math.PI * Math.PI * u.applyAsDouble(x, y);
+            DoubleBinaryOperator boundary = (x, y) -> 0.0;
+            B[k] = MatrixBuilder.buildVectorB(n, n, l, l, source, boundary);
+        }
+
+        StoppingCriterion update = StoppingCriterion.maxUpdate(1e-9).withMaxIterations(20000);
+        StoppingCriterion residual = StoppingCriterion.relativeResidual(1e-9).withMaxIterations(20000);
+        runBatchTest("Red-Black SOR (CDS)", new SorSolver(SorSolver.Ordering.RED_BLACK), A, B, x0, update, exact);
+        runBatchTest("PCG IC(0) (CDS)", new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(A)), A, B, x0, residual, exact);
+        runBatchTest("Banded Cholesky (CDS)", new BandedSolver(), A, B, x0, update, exact);
+        runBatchTest("Fast Poisson DST (Stencil)", new FastPoissonSolver(), A, B, x0, update, exact);
+    }
+
+    private static <S extends Solver & BatchSolver> void runBatchTest(String solverName, S solver, CDS A, double[][] B,
+                                                                      double[][] x0, StoppingCriterion criterion,
+                                                                      DoubleBinaryOperator[] exact) {
+        int n = A.getN();
+        double l = 1.0 / (n + 1);
+
+        PerformanceAnalyser timer = new PerformanceAnalyser();
+        timer.start();
+        for (int k = 0; k < B.length; k++) {
+            solver.solve(A, B[k], x0[k], criterion);
+        }
+        timer.stop();
+        double singleMs = timer.getDurationMillis();
+
+        timer = new PerformanceAnalyser();
+        timer.start();
+        SolverResult[] results = solver.solveAll(A, B, x0, criterion);
+        timer.stop();
+        double batchMs = timer.getDurationMillis();
+
+        double error = 0;
+        for (int k = 0; k < B.length; k++) {
+            error = Math.max(error, ErrorAnalysis.calculateLInfinityError(results[k].getSolution(), n, n, l, l, exact[k]));
+        }
+        System.out.printf("  - %s : un par un %.2f ms, par lot %.2f ms (x%.1f), erreur max = %.2e\n",
+                solverName, singleMs, batchMs, singleMs / batchMs, error);
+    }
+
+    /**
+     * Suite de sources voisines sur une grille n x n : f_s = f + s * gaussienne centrée, s = 0, 0.1, ..., 1, avec
+     * la condition aux limites du cas test. Chaque solveur résout la suite à froid (x0 = 0) puis avec un
+     * SolutionCache : la solution de s - 0.1 sert de départ, puis l'interpolation linéaire des deux dernières
+     * (la solution dépend linéairement de s). Affiche les itérations des deux façons.
+     */
+    private static void runWarmStartSweep(int n, DoubleBinaryOperator g, DoubleBinaryOperator f) {
+        System.out.printf("\n---> Solutions initiales, grille %dx%d : f + s * gaussienne, s = 0 à 1\n", n, n);
+        double l = 1.0 / (n + 1);
+        CDS A = MatrixBuilder.buildCdsA(n, n, l, l);
+        DoubleBinaryOperator gaussian = (x, y) -> 50 * Math.exp(-((x - 0.5) * (x - 0.5) + (y - 0.5) * (y - 0.5)) / 0.02);
+        double[] parameters = new double[11];
+        double[][] B = new double[parameters.length][];
+        for (int k = 0; k < parameters.length; k++) {
+            double s = k / 10.0;
+            parameters[k] = s;
+            DoubleBinaryOperator source = (x, y) -> f.applyAsDouble(x, y) + s * gaussian.applyAsDouble(x, y);
+            B[k] = MatrixBuilder.buildVectorB(n, n, l, l, source, g);
+        }
+
+        StoppingCriterion update = StoppingCriterion.maxUpdate(1e-9).withMaxIterations(20000);
+        StoppingCriterion residual = StoppingCriterion.relativeResidual(1e-9).withMaxIterations(20000);
+        runWarmStartTest("Red-Black SOR (CDS)", new SorSolver(SorSolver.Ordering.RED_BLACK), A, B, parameters, g, update);
+        runWarmStartTest("PCG IC(0) (CDS)", new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(A)), A, B, parameters, g, residual);
+    }
+
+    private static void runWarmStartTest(String solverName, Solver solver, CDS A, double[][] B, double[] parameters,
+                                         DoubleBinaryOperator g, StoppingCriterion criterion) {
+        int n = A.getN();
+        double l = 1.0 / (n + 1);
+        SolutionCache cache = new SolutionCache(4);
+        int coldIterations = 0;
+        int warmIterations = 0;
+        double coldMs = 0;
+        double warmMs = 0;
+        for (int k = 0; k < B.length; k++) {
+            PerformanceAnalyser timer = new PerformanceAnalyser();
+            timer.start();
+            coldIterations += solver.solve(A, B[k], new double[n * n], criterion).getIterations();
+            timer.stop();
+            coldMs += timer.getDurationMillis();
+
+            ProblemKey problem = new ProblemKey("f + s * gaussienne", parameters[k], n, n, l, l, g);
+            timer = new PerformanceAnalyser();
+            timer.start();
+            SolverResult result = solver.solve(A, B[k], cache.initialGuess(problem), criterion);
+            cache.record(problem, result.getSolution());
+            timer.stop();
+            warmMs += timer.getDurationMillis();
+            warmIterations += result.getIterations();
+        }
+        System.out.printf("  - %s : %d itérations à froid (%.2f ms), %d avec le cache (%.2f ms) ; %s\n",
+                solverName, coldIterations, coldMs, warmIterations, warmMs, cache);
+    }
+
+    /**
+     * Source très localisée : u = exp(-r² / 2σ²) centrée en (0.5, 0.5), f = -Δu = (2 / σ² - r² / σ⁴) u, g = u.
+     * Compare le maillage adaptatif (quadtree, AdaptivePoissonSolver) à des grilles uniformes de plus en plus fines
+     * résolues par le solveur direct DST : nombre d'inconnues et erreur maximale.
+     */
+    private static void runAdaptiveTest(double sigma) {
+        System.out.printf("\n---> Source localisée (gaussienne, σ = %.3f) : maillage adaptatif contre grilles uniformes\n", sigma);
+        DoubleBinaryOperator u = (x, y) -> Math.exp(-((x - 0.5) * (x - 0.5) + (y - 0.5) * (y - 0.5)) / (2 * sigma * sigma));
+        DoubleBinaryOperator f = (x, y) -> {
+            double r2 = (x - 0.5) * (x - 0.5) + (y - 0.5) * (y - 0.5);
+            return (2 / (sigma * sigma) - r2 / (sigma * sigma * sigma * sigma)) * u.applyAsDouble(x, y);
+        };
+
+        for (int n : new int[]{127, 255, 511, 1023}) {
+            double l = 1.0 / (n + 1);
+            PerformanceAnalyser timer = new PerformanceAnalyser();
+            timer.start();
+            double[] solution = new FastPoissonSolver().solve(MatrixBuilder.buildStencilA(n, n, l, l),
+                    MatrixBuilder.buildVectorB(n, n, l, l, f, u));
+            timer.stop();
+            System.out.printf("  - Grille uniforme %dx%d (DST) : %d inconnues, erreur = %.2e, %.2f ms\n",
+                    n, n, n * n, ErrorAnalysis.calculateLInfinityError(solution, n, n, l, l, u), timer.getDurationMillis());
+        }
+
+        for (double tolerance : new double[]{1e-2, 3e-3}) {
+            PerformanceAnalyser timer = new PerformanceAnalyser();
+            timer.start();
+            AdaptivePoissonSolver.Result result = new AdaptivePoissonSolver(3, 14, tolerance).solve(f, u);
+            timer.stop();
+            System.out.printf("  - Maillage adaptatif (tolérance %.0e) : %d inconnues, erreur = %.2e, %.2f ms\n",
+                    tolerance, result.getMesh().getSize(), result.maxError(u), timer.getDurationMillis());
+        }
+    }
+
+    /**
+     * Équation de la chaleur u_t = Δu, u = 0 sur le bord, u0 = sin(πx) sin(πy) : la solution exacte est
+     * e^{-2π² t} u0. Euler implicite et Crank-Nicolson, factorisation bande ou PCG IC(0) préparés une seule fois,
+     * comparés à une reconstruction de l'opérateur à chaque pas. Instantanés tous les 50 pas dans src/plot/heat.
+     */
+    private static void runHeatTest(int n, int steps, double dt) {
+        System.out.printf("\n---> Équation de la chaleur, grille %dx%d : %d pas de Δt = %.0e\n", n, n, steps, dt);
+        double l = 1.0 / (n + 1);
+        DoubleBinaryOperator u0Function = (x, y) -> Math.sin(Math.PI * x) * Math.sin(Math.PI * y);
+        DoubleBinaryOperator zero = (x, y) -> 0.0;
+        CDS A = MatrixBuilder.buildCdsA(n, n, l, l);
+        double[] B = MatrixBuilder.buildVectorB(n, n, l, l, zero, zero);
+        double[] u0 = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                u0[j * n + i] = u0Function.applyAsDouble((i + 1) * l, (j + 1) * l);
+            }
+        }
+        double decay = Math.exp(-2 * Math.PI * Math.PI * steps * dt);
+        DoubleBinaryOperator exact = (x, y) -> decay * u0Function.applyAsDouble(x, y);
+
+        for (double theta : new double[]{1.0, 0.5}) {
+            for (HeatEquationSolver.Method method : HeatEquationSolver.Method.values()) {
+                HeatEquationSolver heat = new HeatEquationSolver(A, B, dt, theta, method);
+                SnapshotWriter snapshots = null;
+                if (theta == 0.5 && method == HeatEquationSolver.Method.BANDED) {
+                    snapshots = new SnapshotWriter(Path.of("src/plot/heat"), "heat", n, n, 50);
+                    heat.addListener(snapshots);
+                }
+                double[] u = heat.run(u0, steps);
+                System.out.println(heat.summary());
+                System.out.printf("  - erreur à t = %.2f : %.2e%s\n", heat.getTime(),
+                        ErrorAnalysis.calculateLInfinityError(u, n, n, l, l, exact),
+                        snapshots != null ? ", " + snapshots.getWritten() + " instantanés dans src/plot/heat" : "");
+            }
+        }
+
+        // Sans réutilisation : M = I + Δt A assemblée et préparée à chaque pas, gradient conjugué parti de u^k
+        int rebuiltSteps = Math.min(steps, 20);
+        for (HeatEquationSolver.Method method : HeatEquationSolver.Method.values()) {
+            PerformanceAnalyser timer = new PerformanceAnalyser();
+            timer.start();
+            double[] u = u0;
+            for (int k = 0; k < rebuiltSteps; k++) {
+                u = new HeatEquationSolver(A, B, dt, 1.0, method).run(u, 1);
+            }
+            timer.stop();
+            System.out.printf("  - Euler implicite, %s reconstruit à chaque pas : %.3f ms par pas\n",
+                    method == HeatEquationSolver.Method.BANDED ? "Cholesky bande" : "PCG IC(0)",
+                    timer.getDurationMillis() / rebuiltSteps);
+        }
+    }
+
     private static void initCsvFile(String filename) {
         try (PrintWriter pw = new PrintWriter(new FileWriter(filename))) {
-            pw.println("solver_name,n,m,size,h,error_L_inf,time_ms,memory_mb");
+            pw.println("solver_name,n,m,size,h,error_L_inf,time_ms,memory_mb," + SolverMetrics.csvHeader());
         } catch (IOException e) {
             System.err.println("Erreur lors de l'initialisation du fichier CSV : " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private static void saveBenchmarkData(String filename, String solverName, int n, int m, int size, double h, double error, double time, double memory) {
+    private static void saveBenchmarkData(String filename, String solverName, int n, int m, int size, double h, double error, double time, double memory,
+                                          SolverMetrics metrics) {
         try (FileWriter fw = new FileWriter(filename, true);
              PrintWriter pw = new PrintWriter(fw)) {
-            pw.printf("%s,%d,%d,%d,%.6f,%.10e,%.4f,%.4f\n", solverName, n, m, size, h, error, time, memory);
+            pw.printf("%s,%d,%d,%d,%.6f,%.10e,%.4f,%.4f,%s\n", solverName, n, m, size, h, error, time, memory, metrics.toCsvFields());
         } catch (IOException e) {
             System.err.println("Erreur lors de l'écriture des données de benchmark : " + e.getMessage());
         }
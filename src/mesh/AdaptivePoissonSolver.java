@@ -0,0 +1,163 @@
+package mesh;
+
+import solvers.BiCgStabSolver;
+import solvers.JacobiPreconditioner;
+import solvers.SolverResult;
+import solvers.StoppingCriterion;
+import storage.SparseMatrix;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Résout -Δu = f sur le carré unité, u = g sur le bord, sur un maillage quadtree adapté à la solution :
+ * on part d'un maillage uniforme grossier, puis on répète résolution, estimation de l'erreur par maille
+ * (QuadtreeMesh.errorIndicator), raffinement des mailles au-dessus de la tolérance et fusion de celles très
+ * en dessous, jusqu'à ce que plus aucune maille ne change. Pour une source localisée, les mailles fines se
+ * concentrent autour de la source et le reste du domaine garde de grandes mailles.
+ * Chaque système (CSR, non symétrique à cause des flux entre niveaux) est résolu par BiCGSTAB préconditionné
+ * par Jacobi, en partant de la solution du maillage précédent reportée sur le nouveau.
+ */
+public class AdaptivePoissonSolver {
+    // Une maille n'est fusionnée que si son indicateur est sous tolerance / COARSEN_RATIO : l'indicateur de la
+    // maille fusionnée (côté double) est environ 4 fois plus grand, la marge évite de la raffiner aussitôt.
+    private static final double COARSEN_RATIO = 16.0;
+
+    private final int initialLevel;
+    private final int maxLevel;
+    private final double tolerance;
+    private int maxCycles = 30;
+    private double solverTolerance = 1e-10;
+
+    /**
+     * @param initialLevel Niveau du maillage uniforme de départ (2^initialLevel mailles par côté).
+     * @param maxLevel     Niveau le plus fin autorisé.
+     * @param tolerance    Seuil de l'indicateur d'erreur au-delà duquel une maille est raffinée.
+     */
+    public AdaptivePoissonSolver(int initialLevel, int maxLevel, double tolerance) {
+        if (initialLevel < 0 || maxLevel < initialLevel || maxLevel > QuadtreeMesh.MAX_LEVEL) {
+            throw new IllegalArgumentException("Niveaux de raffinement invalides : " + initialLevel + " à " + maxLevel + ".");
+        }
+        this.initialLevel = initialLevel;
+        this.maxLevel = maxLevel;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Nombre maximum de cycles résolution / adaptation (30 par défaut).
+     */
+    public AdaptivePoissonSolver withMaxCycles(int maxCycles) {
+        this.maxCycles = maxCycles;
+        return this;
+    }
+
+    /**
+     * Tolérance relative sur le résidu de BiCGSTAB à chaque cycle (1e-10 par défaut).
+     */
+    public AdaptivePoissonSolver withSolverTolerance(double solverTolerance) {
+        this.solverTolerance = solverTolerance;
+        return this;
+    }
+
+    public Result solve(DoubleBinaryOperator f, DoubleBinaryOperator g) {
+        QuadtreeMesh mesh = QuadtreeMesh.uniform(initialLevel);
+        double[] u = new double[mesh.getSize()];
+        int cycles = 0;
+        int iterations = 0;
+        while (true) {
+            SparseMatrix A = mesh.buildCsrA();
+            double[] B = mesh.buildVectorB(f, g);
+            SolverResult result = new BiCgStabSolver(new JacobiPreconditioner(A))
+                    .solve(A, B, u, StoppingCriterion.relativeResidual(solverTolerance).withMaxIterations(10 * A.getRows()));
+            u = result.getSolution();
+            iterations += result.getIterations();
+            cycles++;
+            if (cycles >= maxCycles) {
+                break;
+            }
+
+            double[] eta = mesh.errorIndicator(u, f, g);
+            boolean[] refine = new boolean[eta.length];
+            boolean[] coarsen = new boolean[eta.length];
+            boolean changed = false;
+            for (int p = 0; p < eta.length; p++) {
+                refine[p] = eta[p] > tolerance && mesh.level(p) < maxLevel;
+                coarsen[p] = eta[p] < tolerance / COARSEN_RATIO && mesh.level(p) > initialLevel;
+                changed |= refine[p] || coarsen[p];
+            }
+            if (!changed) {
+                break;
+            }
+            QuadtreeMesh next = mesh.adapt(refine, coarsen);
+            if (next.getSize() == mesh.getSize() && !refinedAny(refine, mesh)) {
+                break; // fusions refusées (équilibre 2:1) et rien à raffiner : le maillage est stable
+            }
+            u = mesh.transfer(u, next);
+            mesh = next;
+        }
+        System.out.printf("Maillage adaptatif : %d mailles (niveaux %d à %d) après %d cycles, %d itérations de BiCGSTAB.%n",
+                mesh.getSize(), lowestLevel(mesh), mesh.maxLevel(), cycles, iterations);
+        return new Result(mesh, u, cycles, iterations);
+    }
+
+    private static boolean refinedAny(boolean[] refine, QuadtreeMesh mesh) {
+        for (int p = 0; p < refine.length; p++) {
+            if (refine[p] && mesh.level(p) < QuadtreeMesh.MAX_LEVEL) return true;
+        }
+        return false;
+    }
+
+    private static int lowestLevel(QuadtreeMesh mesh) {
+        int[] histogram = mesh.levelHistogram();
+        for (int level = 0; level < histogram.length; level++) {
+            if (histogram[level] > 0) return level;
+        }
+        return 0;
+    }
+
+    /**
+     * Le maillage final, la solution sur ses mailles et le coût de l'adaptation.
+     */
+    public static final class Result {
+        private final QuadtreeMesh mesh;
+        private final double[] solution;
+        private final int cycles;
+        private final int iterations;
+
+        Result(QuadtreeMesh mesh, double[] solution, int cycles, int iterations) {
+            this.mesh = mesh;
+            this.solution = solution;
+            this.cycles = cycles;
+            this.iterations = iterations;
+        }
+
+        public QuadtreeMesh getMesh() {
+            return mesh;
+        }
+
+        public double[] getSolution() {
+            return solution;
+        }
+
+        public int getCycles() {
+            return cycles;
+        }
+
+        /**
+         * Le total des itérations de BiCGSTAB sur tous les cycles.
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * Erreur maximale aux centres des mailles par rapport à une solution exacte.
+         */
+        public double maxError(DoubleBinaryOperator exact) {
+            double error = 0.0;
+            for (int p = 0; p < solution.length; p++) {
+                error = Math.max(error, Math.abs(solution[p] - exact.applyAsDouble(mesh.centreX(p), mesh.centreY(p))));
+            }
+            return error;
+        }
+    }
+}
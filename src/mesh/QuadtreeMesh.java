@@ -0,0 +1,520 @@
+package mesh;
+
+import storage.SparseMatrix;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Maillage adaptatif par quadtree du carré unité, pour les volumes finis centrés sur les mailles.
+ * La maille (level, i, j) est le carré [i, i + 1] x [j, j + 1] / 2^level ; seules les feuilles portent une
+ * inconnue (la valeur moyenne de u sur la maille, approchée par sa valeur au centre).
+ * Le maillage est équilibré 2:1 : deux feuilles voisines par une arête diffèrent d'au plus un niveau, si bien
+ * qu'une arête sépare une maille de une ou deux voisines.
+ * Les feuilles sont numérotées dans l'ordre de Morton (courbe en Z) : des mailles proches dans le plan ont des
+ * numéros proches, ce qui garde les coefficients d'une ligne de A et les valeurs de x voisins en mémoire.
+ * Un maillage est immuable : adapt construit un nouveau maillage, et transfer y reporte une solution.
+ */
+public final class QuadtreeMesh {
+    public static final int MAX_LEVEL = 20;
+
+    // Directions des arêtes : est, ouest, nord, sud
+    private static final int[] DI = {1, -1, 0, 0};
+    private static final int[] DJ = {0, 0, 1, -1};
+
+    private final long[] cells;                 // clés des feuilles, dans l'ordre de Morton
+    private final Map<Long, Integer> index;     // clé -> numéro de l'inconnue
+    private final int maxLevel;
+
+    private QuadtreeMesh(Set<Long> leaves) {
+        this.cells = leaves.stream().mapToLong(Long::longValue).toArray();
+        sortByMorton(cells);
+        this.index = new HashMap<>(2 * cells.length);
+        int max = 0;
+        for (int p = 0; p < cells.length; p++) {
+            index.put(cells[p], p);
+            max = Math.max(max, level(cells[p]));
+        }
+        this.maxLevel = max;
+    }
+
+    /**
+     * Maillage uniforme de 2^level x 2^level mailles.
+     */
+    public static QuadtreeMesh uniform(int level) {
+        checkLevel(level);
+        int count = 1 << level;
+        Set<Long> leaves = new HashSet<>();
+        for (int j = 0; j < count; j++) {
+            for (int i = 0; i < count; i++) {
+                leaves.add(key(level, i, j));
+            }
+        }
+        return new QuadtreeMesh(leaves);
+    }
+
+    public int getSize() {
+        return cells.length;
+    }
+
+    public int level(int p) {
+        return level(cells[p]);
+    }
+
+    /**
+     * Côté de la maille p.
+     */
+    public double width(int p) {
+        return 1.0 / (1 << level(cells[p]));
+    }
+
+    public double centreX(int p) {
+        return (column(cells[p]) + 0.5) * width(p);
+    }
+
+    public double centreY(int p) {
+        return (row(cells[p]) + 0.5) * width(p);
+    }
+
+    /**
+     * Le niveau le plus fin du maillage.
+     */
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Assemble l'opérateur de -Δu (stockage CSR), intégré sur chaque maille : la ligne p est le bilan des flux
+     * sortants, somme sur les arêtes de T (u_p - v), où v est la valeur de u au point voisin aligné avec le centre
+     * de p sur la normale à l'arête et T = longueur de l'arête / distance à ce point (voir neighbourValue).
+     * Vers une maille de même niveau, plus fine (moyenne des deux) ou le bord (g), v est une valeur de maille ;
+     * vers une maille plus grossière, dont le centre est décalé d'une demi-maille, v est interpolée avec le gradient
+     * tangentiel de la grossière. Sans cette correction (flux à deux points), le flux entre niveaux n'est pas
+     * consistant et l'erreur ne diminue plus quand on raffine. Le flux de la grossière est la somme de ceux de ses
+     * deux voisines fines (les corrections s'annulent) : le schéma est conservatif, mais A n'est plus symétrique.
+     */
+    public SparseMatrix buildCsrA() {
+        int size = cells.length;
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(size, size, 8 * size);
+        Combination v = new Combination();
+        for (int p = 0; p < size; p++) {
+            double w = width(p);
+            double diagonal = 0.0;
+            for (int d = 0; d < 4; d++) {
+                double T = w / neighbourValue(p, d, null, v);
+                diagonal += T;
+                for (int k = 0; k < v.count; k++) {
+                    if (v.index[k] == p) {
+                        diagonal -= T * v.weight[k];
+                    } else {
+                        builder.add(p, v.index[k], -T * v.weight[k]);
+                    }
+                }
+            }
+            builder.add(p, p, diagonal);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Second membre associé à buildCsrA : f au centre fois l'aire de la maille, plus les termes de g des flux
+     * (arêtes du bord, et gradient tangentiel d'une voisine grossière qui touche le bord).
+     */
+    public double[] buildVectorB(DoubleBinaryOperator f, DoubleBinaryOperator g) {
+        double[] B = new double[cells.length];
+        IntStream.range(0, cells.length).parallel().forEach(p -> {
+            Combination v = new Combination();
+            double w = width(p);
+            double value = f.applyAsDouble(centreX(p), centreY(p)) * w * w;
+            for (int d = 0; d < 4; d++) {
+                double T = w / neighbourValue(p, d, g, v);
+                value += T * v.constant;
+            }
+            B[p] = value;
+        });
+        return B;
+    }
+
+    /**
+     * Indicateur d'erreur de chaque maille : w² (|∂²u/∂x²| + |∂²u/∂y²|), l'ordre de grandeur de l'erreur locale
+     * d'un schéma d'ordre 2, grand là où la solution courbe fortement sur la maille. Sur chaque axe, la dérivée
+     * seconde est la différence des gradients vers les deux points voisins alignés (ceux des flux de buildCsrA).
+     * Comme -Δu = f, |f| minore la courbure : f est aussi évaluée au centre et aux quatre coins de la maille, pour
+     * qu'une source étroite entre les centres du maillage grossier (que la solution ne voit pas encore) déclenche
+     * le raffinement. Une source plus étroite que l'écart entre ces points peut échapper au maillage initial.
+     *
+     * @param u La solution sur ce maillage.
+     */
+    public double[] errorIndicator(double[] u, DoubleBinaryOperator f, DoubleBinaryOperator g) {
+        double[] eta = new double[cells.length];
+        IntStream.range(0, cells.length).parallel().forEach(p -> {
+            Combination v = new Combination();
+            double curvature = 0.0;
+            for (int axis = 0; axis < 2; axis++) {
+                double slopes = 0.0;
+                double span = 0.0;
+                for (int d = 2 * axis; d < 2 * axis + 2; d++) {
+                    double distance = neighbourValue(p, d, g, v);
+                    slopes += (v.evaluate(u) - u[p]) / distance;
+                    span += distance;
+                }
+                curvature += Math.abs(slopes) / (0.5 * span);
+            }
+            double w = width(p);
+            double x = centreX(p);
+            double y = centreY(p);
+            double source = Math.abs(f.applyAsDouble(x, y));
+            for (int corner = 0; corner < 4; corner++) {
+                double cx = x + ((corner & 1) == 0 ? -0.5 : 0.5) * w;
+                double cy = y + ((corner & 2) == 0 ? -0.5 : 0.5) * w;
+                source = Math.max(source, Math.abs(f.applyAsDouble(cx, cy)));
+            }
+            eta[p] = w * w * Math.max(curvature, source);
+        });
+        return eta;
+    }
+
+    /**
+     * Nouveau maillage : les mailles marquées refine sont divisées en 4 (jusqu'à MAX_LEVEL) ; quatre sœurs toutes
+     * marquées coarsen (et non refine) sont fusionnées si le maillage reste équilibré. L'équilibre 2:1 est ensuite
+     * rétabli en raffinant les voisines trop grossières.
+     */
+    public QuadtreeMesh adapt(boolean[] refine, boolean[] coarsen) {
+        Set<Long> leaves = new HashSet<>(cells.length * 2);
+        Set<Long> merged = new HashSet<>();
+        for (int p = 0; p < cells.length; p++) {
+            long cell = cells[p];
+            int level = level(cell);
+            if (refine[p] && level < MAX_LEVEL) {
+                for (long child : children(cell)) {
+                    leaves.add(child);
+                }
+            } else if (coarsen[p] && level > 0 && canCoarsen(parent(cell), refine, coarsen)) {
+                merged.add(parent(cell));
+            } else {
+                leaves.add(cell);
+            }
+        }
+        leaves.addAll(merged);
+        balance(leaves);
+        return new QuadtreeMesh(leaves);
+    }
+
+    /**
+     * Reporte une solution de ce maillage sur target : une maille nouvelle prend la valeur de la feuille qui la
+     * contient, une maille issue d'une fusion la moyenne (pondérée par les aires) des feuilles qu'elle recouvre.
+     */
+    public double[] transfer(double[] u, QuadtreeMesh target) {
+        double[] v = new double[target.cells.length];
+        IntStream.range(0, v.length).parallel().forEach(q -> v[q] = average(u, target.cells[q]));
+        return v;
+    }
+
+    /**
+     * Évalue la solution u (constante par maille) au point (x, y) du carré unité.
+     */
+    public double evaluate(double[] u, double x, double y) {
+        for (int level = maxLevel; level >= 0; level--) {
+            int count = 1 << level;
+            int i = Math.min((int) (x * count), count - 1);
+            int j = Math.min((int) (y * count), count - 1);
+            Integer p = index.get(key(level, i, j));
+            if (p != null) {
+                return u[p];
+            }
+        }
+        throw new IllegalStateException("Point hors du maillage : (" + x + ", " + y + ").");
+    }
+
+    /**
+     * Nombre de feuilles par niveau, pour les bilans.
+     */
+    public int[] levelHistogram() {
+        int[] histogram = new int[maxLevel + 1];
+        for (long cell : cells) {
+            histogram[level(cell)]++;
+        }
+        return histogram;
+    }
+
+    // --- Voisinage ---
+
+    /**
+     * Valeur de u au point voisin de la maille p à travers l'arête d, aligné avec le centre de p sur la normale,
+     * comme combinaison linéaire des inconnues (plus une constante issue de g, 0 si g est null) :
+     * - bord : g au milieu de l'arête, à w / 2 ;
+     * - même niveau : la voisine, à w ;
+     * - deux voisines plus fines : leur moyenne, à 3w / 4 ;
+     * - voisine plus grossière c : u_c + o G, à 3w / 2, où o est le décalage tangentiel du centre de p par
+     *   rapport à celui de c et G le gradient tangentiel de c, par différence entre ses deux côtés.
+     *
+     * @return La distance du centre de p à ce point.
+     */
+    private double neighbourValue(int p, int d, DoubleBinaryOperator g, Combination out) {
+        out.clear();
+        int[] neighbours = new int[2];
+        int count = neighbours(p, d, neighbours);
+        double w = width(p);
+        if (count == 0) {
+            out.constant = g == null ? 0.0 : g.applyAsDouble(centreX(p) + 0.5 * w * DI[d], centreY(p) + 0.5 * w * DJ[d]);
+            return 0.5 * w;
+        }
+        if (count == 2) {
+            out.add(neighbours[0], 0.5);
+            out.add(neighbours[1], 0.5);
+            return 0.75 * w;
+        }
+        int c = neighbours[0];
+        out.add(c, 1.0);
+        if (level(cells[c]) == level(cells[p])) {
+            return w;
+        }
+        // Gradient tangentiel de c entre ses côtés + et - (nord/sud pour une arête est/ouest, est/ouest sinon)
+        int plus = d < 2 ? 2 : 0;
+        double offset = d < 2 ? centreY(p) - centreY(c) : centreX(p) - centreX(c);
+        double span = sideValue(c, plus, g, offset, out) + sideValue(c, plus + 1, g, -offset, out);
+        out.scaleFrom(1, 1.0 / span);
+        out.constant /= span;
+        return 1.5 * w;
+    }
+
+    // Ajoute scale * (valeur du côté d de c) à out, sans correction d'alignement ; renvoie la distance au centre de c.
+    private double sideValue(int c, int d, DoubleBinaryOperator g, double scale, Combination out) {
+        int[] neighbours = new int[2];
+        int count = neighbours(c, d, neighbours);
+        double w = width(c);
+        if (count == 0) {
+            if (g != null) {
+                out.constant += scale * g.applyAsDouble(centreX(c) + 0.5 * w * DI[d], centreY(c) + 0.5 * w * DJ[d]);
+            }
+            return 0.5 * w;
+        }
+        for (int k = 0; k < count; k++) {
+            out.add(neighbours[k], scale / count);
+        }
+        return 0.5 * (w + width(neighbours[0]));
+    }
+
+    // Combinaison linéaire d'inconnues et d'une constante (au plus 1 + 2 x 2 termes).
+    private static final class Combination {
+        final int[] index = new int[5];
+        final double[] weight = new double[5];
+        int count;
+        double constant;
+
+        void clear() {
+            count = 0;
+            constant = 0.0;
+        }
+
+        void add(int i, double w) {
+            index[count] = i;
+            weight[count] = w;
+            count++;
+        }
+
+        // Multiplie par factor les poids ajoutés depuis la position from.
+        void scaleFrom(int from, double factor) {
+            for (int k = from; k < count; k++) {
+                weight[k] *= factor;
+            }
+        }
+
+        double evaluate(double[] u) {
+            double value = constant;
+            for (int k = 0; k < count; k++) {
+                value += weight[k] * u[index[k]];
+            }
+            return value;
+        }
+    }
+
+    // Voisines de la feuille p à travers l'arête d : 0 (bord), 1 (même niveau ou plus grossière) ou 2 (plus fines).
+    private int neighbours(int p, int d, int[] out) {
+        long cell = cells[p];
+        int level = level(cell);
+        int i = column(cell) + DI[d];
+        int j = row(cell) + DJ[d];
+        int count = 1 << level;
+        if (i < 0 || i >= count || j < 0 || j >= count) {
+            return 0;
+        }
+        Integer q = index.get(key(level, i, j));
+        if (q != null) {
+            out[0] = q;
+            return 1;
+        }
+        if (level > 0) {
+            q = index.get(key(level - 1, i >> 1, j >> 1));
+            if (q != null) {
+                out[0] = q;
+                return 1;
+            }
+        }
+        // Plus fines : les deux enfants de (level, i, j) qui touchent l'arête
+        int ci = 2 * i + (DI[d] < 0 ? 1 : 0);
+        int cj = 2 * j + (DJ[d] < 0 ? 1 : 0);
+        Integer first = index.get(key(level + 1, ci, cj));
+        Integer second = index.get(key(level + 1, ci + Math.abs(DJ[d]), cj + Math.abs(DI[d])));
+        if (first == null || second == null) {
+            throw new IllegalStateException("Maillage non équilibré autour de la maille " + describe(cell) + ".");
+        }
+        out[0] = first;
+        out[1] = second;
+        return 2;
+    }
+
+    // Fusion de parent possible : ses 4 enfants sont des feuilles marquées coarsen (et non refine), et aucune maille
+    // voisine du parent n'est subdivisée au-delà du niveau des enfants (l'équilibre 2:1 serait rompu).
+    private boolean canCoarsen(long parent, boolean[] refine, boolean[] coarsen) {
+        for (long child : children(parent)) {
+            Integer p = index.get(child);
+            if (p == null || refine[p] || !coarsen[p]) {
+                return false;
+            }
+        }
+        int level = level(parent) + 1;
+        int count = 1 << level;
+        int i0 = 2 * column(parent);
+        int j0 = 2 * row(parent);
+        // Les 8 mailles du niveau des enfants qui bordent le parent
+        for (int k = 0; k < 2; k++) {
+            int[][] around = {{i0 - 1, j0 + k}, {i0 + 2, j0 + k}, {i0 + k, j0 - 1}, {i0 + k, j0 + 2}};
+            for (int[] c : around) {
+                if (c[0] < 0 || c[0] >= count || c[1] < 0 || c[1] >= count) continue;
+                if (isSubdivided(key(level, c[0], c[1]))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // La maille n'est pas une feuille et aucune de ses ancêtres n'en est une : elle est découpée.
+    private boolean isSubdivided(long cell) {
+        for (long c = cell; ; c = parent(c)) {
+            if (index.containsKey(c)) {
+                return false;
+            }
+            if (level(c) == 0) {
+                return true;
+            }
+        }
+    }
+
+    // Équilibre 2:1 : une feuille plus grossière de deux niveaux qu'une voisine est divisée, jusqu'à stabilité.
+    private static void balance(Set<Long> leaves) {
+        Deque<Long> pending = new ArrayDeque<>(leaves);
+        while (!pending.isEmpty()) {
+            long cell = pending.poll();
+            if (!leaves.contains(cell)) continue;
+            int level = level(cell);
+            if (level < 2) continue;
+            int count = 1 << level;
+            for (int d = 0; d < 4; d++) {
+                int i = column(cell) + DI[d];
+                int j = row(cell) + DJ[d];
+                if (i < 0 || i >= count || j < 0 || j >= count) continue;
+                // Une feuille de niveau level - 2 ou moins contient-elle la voisine ?
+                long coarse = key(level - 2, i >> 2, j >> 2);
+                for (long c = coarse; ; c = parent(c)) {
+                    if (leaves.contains(c)) {
+                        leaves.remove(c);
+                        for (long child : children(c)) {
+                            leaves.add(child);
+                            pending.add(child);
+                        }
+                        pending.add(cell);
+                        break;
+                    }
+                    if (level(c) == 0) break;
+                }
+            }
+        }
+    }
+
+    // Moyenne de u (solution de ce maillage) sur la maille cell d'un autre maillage.
+    private double average(double[] u, long cell) {
+        for (long c = cell; ; c = parent(c)) {
+            Integer p = index.get(c);
+            if (p != null) {
+                return u[p];
+            }
+            if (level(c) == 0) break;
+        }
+        double sum = 0.0;
+        for (long child : children(cell)) {
+            sum += average(u, child);
+        }
+        return 0.25 * sum;
+    }
+
+    // --- Clés des mailles : niveau sur 6 bits, colonne et ligne sur 29 bits chacune ---
+
+    private static long key(int level, int i, int j) {
+        return ((long) level << 58) | ((long) i << 29) | j;
+    }
+
+    private static int level(long key) {
+        return (int) (key >>> 58);
+    }
+
+    private static int column(long key) {
+        return (int) ((key >>> 29) & ((1 << 29) - 1));
+    }
+
+    private static int row(long key) {
+        return (int) (key & ((1 << 29) - 1));
+    }
+
+    private static long parent(long key) {
+        return key(level(key) - 1, column(key) >> 1, row(key) >> 1);
+    }
+
+    private static long[] children(long key) {
+        int level = level(key) + 1;
+        int i = 2 * column(key);
+        int j = 2 * row(key);
+        return new long[]{key(level, i, j), key(level, i + 1, j), key(level, i, j + 1), key(level, i + 1, j + 1)};
+    }
+
+    private static String describe(long key) {
+        return "(" + level(key) + ", " + column(key) + ", " + row(key) + ")";
+    }
+
+    private static void checkLevel(int level) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Niveau de raffinement hors de [0, " + MAX_LEVEL + "].");
+        }
+    }
+
+    // Tri des feuilles par code de Morton de leur coin inférieur gauche au niveau MAX_LEVEL ; à coin égal (impossible
+    // entre feuilles distinctes d'un même maillage), le niveau départage.
+    private static void sortByMorton(long[] keys) {
+        long[][] order = new long[keys.length][];
+        for (int k = 0; k < keys.length; k++) {
+            int shift = MAX_LEVEL - level(keys[k]);
+            order[k] = new long[]{interleave(column(keys[k]) << shift, row(keys[k]) << shift), keys[k]};
+        }
+        Arrays.sort(order, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = order[k][1];
+        }
+    }
+
+    // Entrelace les bits de i (positions paires) et j (positions impaires).
+    private static long interleave(int i, int j) {
+        long code = 0;
+        for (int b = 0; b < MAX_LEVEL; b++) {
+            code |= ((long) (i >> b & 1) << (2 * b)) | ((long) (j >> b & 1) << (2 * b + 1));
+        }
+        return code;
+    }
+}
@@ -93,7 +93,7 @@ def plot_memory_usage(df):
 
 # --- GRAPHIQUE 4 : Grilles de solution (Heatmaps) ---
 def plot_solution_grids(solvers):
-    grid_files = glob.glob('solution_grid_*.csv')
+    grid_files = glob.glob('solution_grid_*.bin') + glob.glob('solution_grid_*.csv')
     if not grid_files:
         print("Aucun fichier de grille de solution trouvé. Les heatmaps ne seront pas générées.")
         return
@@ -108,14 +108,15 @@ def plot_solution_grids(solvers):
 
     for i, solver in enumerate(solvers):
         # Find the corresponding file for the solver
-        solver_file_pattern = f"solution_grid_{re.sub('[^a-zA-Z0-9]', '_', solver)}*.csv"
-        matching_files = glob.glob(solver_file_pattern)
+        # Grilles binaires (GridFile) de préférence, sinon les anciens fichiers CSV
+        solver_file_pattern = f"solution_grid_{re.sub('[^a-zA-Z0-9]', '_', solver)}_*"
+        matching_files = glob.glob(solver_file_pattern + ".bin") + glob.glob(solver_file_pattern + ".csv")
 
         if not matching_files:
             continue
 
         file_to_plot = matching_files[0]
-        solution_grid = np.loadtxt(file_to_plot, delimiter=',')
+        solution_grid = load_grid(file_to_plot)
 
         im = axes[i].imshow(solution_grid, cmap='viridis', extent=[0, 1, 1, 0])
         axes[i].set_title(solver)
@@ -131,6 +132,16 @@ def plot_solution_grids(solvers):
     plt.savefig('benchmark_plot_solutions.png')
     print("Heatmaps des solutions sauvegardées.")
 
+# Lit une grille de solution : format binaire GridFile (en-tête de 4 int32 "FV2D", n, m, itération,
+# puis n * m float64 little-endian) ou ancien format CSV.
+def load_grid(path):
+    if path.endswith('.bin'):
+        magic, n, m, _ = np.fromfile(path, dtype='<i4', count=4)
+        if magic != 0x44325646:
+            raise ValueError(f"{path} n'est pas un fichier de grille FV2D")
+        return np.fromfile(path, dtype='<f8', offset=16).reshape(m, n)
+    return np.loadtxt(path, delimiter=',')
+
 # --- POINT D'ENTRÉE DU SCRIPT ---
 if __name__ == '__main__':
     analyze_results()
\ No newline at end of file
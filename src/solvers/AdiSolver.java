@@ -0,0 +1,184 @@
+package solvers;
+
+import storage.CDS;
+import storage.StencilOperator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class AdiSolver implements Solver {
+
+    private final int parameterCount; // 0 : choisi automatiquement
+    private final ForkJoinPool pool;
+    private final ThomasSolver thomas = new ThomasSolver();
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public AdiSolver() {
+        this(0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param parameterCount Nombre de paramètres d'accélération utilisés cycliquement (0 : automatique).
+     * @param pool           Le pool de threads sur lequel les lignes et les colonnes sont résolues.
+     */
+    public AdiSolver(int parameterCount, ForkJoinPool pool) {
+        this.parameterCount = parameterCount;
+        this.pool = pool;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public AdiSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout Ax = B par la méthode des directions alternées de Peaceman-Rachford.
+     * A est découpé en H (couplages en x, diagonale 2/l²) et V (couplages en y, diagonale 2/h²) :
+     * (H + ρI) x* = B - (V - ρI) x   : une résolution tridiagonale par ligne de la grille,
+     * (V + ρI) x' = B - (H - ρI) x*  : une résolution tridiagonale par colonne.
+     * Les paramètres ρ parcourent cycliquement une suite géométrique entre la plus petite et la plus
+     * grande valeur propre de H et V (paramètres de Wachspress).
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations (une itération = les deux demi-pas).
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable (le critère est testé à la fin de chaque cycle de paramètres).
+     * Sur une grille d'une seule ligne ou d'une seule colonne, A est tridiagonale : elle est résolue directement
+     * (StopReason.DIRECT, x0 et le critère ignorés).
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getM();
+        if (n == 1 || m == 1) {
+            // Pas de couplage dans une direction : H ou V serait nul hors diagonale, de plus petite valeur propre
+            // nulle, et les paramètres ρ ne seraient pas définis. Un seul système tridiagonal suffit.
+            double[] off = LineRelaxationSolver.constant(n * m - 1, n > 1 ? A.getOffX() : A.getOffY());
+            double[] x = thomas.solve(off, LineRelaxationSolver.constant(n * m, A.getDiag()), off, B);
+            System.out.println("ADI Peaceman-Rachford (Stencil) : grille " + n + "x" + m
+                    + " à une dimension, résolution tridiagonale directe.");
+            return new SolverResult(x, 0, A.residualNorm(B, x), SolverResult.StopReason.DIRECT);
+        }
+        double diagH = -2 * A.getOffX();
+        double diagV = -2 * A.getOffY();
+        double[] x = x0.clone();
+        double[] half = new double[x.length];
+        double[] work = new double[x.length];
+
+        // Spectres de H et V : diagH (1 - cos(kπ/(n+1))), k = 1..n (idem pour V)
+        double minEig = Math.min(diagH * (1 - Math.cos(Math.PI / (n + 1))), diagV * (1 - Math.cos(Math.PI / (m + 1))));
+        double maxEig = Math.max(diagH * (1 - Math.cos(Math.PI * n / (n + 1))), diagV * (1 - Math.cos(Math.PI * m / (m + 1))));
+        int count = parameterCount > 0 ? parameterCount
+                : Math.max(1, (int) Math.ceil(Math.log(maxEig / minEig) / Math.log(4)));
+        double[] rho = new double[count];
+        for (int p = 0; p < count; p++) {
+            rho[p] = minEig * Math.pow(maxEig / minEig, (p + 0.5) / count);
+        }
+
+        // Une factorisation de Thomas par paramètre et par direction, calculée une seule fois
+        double[] aX = LineRelaxationSolver.constant(n - 1, A.getOffX());
+        double[] aY = LineRelaxationSolver.constant(m - 1, A.getOffY());
+        double[][] factorX = new double[count][2 * n];
+        double[][] factorY = new double[count][2 * m];
+        for (int p = 0; p < count; p++) {
+            thomas.factor(aX, LineRelaxationSolver.constant(n, diagH + rho[p]), aX, factorX[p]);
+            thomas.factor(aY, LineRelaxationSolver.constant(m, diagV + rho[p]), aY, factorY[p]);
+        }
+
+        // La convergence n'est testée qu'à la fin d'un cycle complet de paramètres : avec un seul ρ,
+        // une itération peut très peu corriger certains modes et donner un faux arrêt.
+        // Deux demi-pas : B et x (ou half) lus, second membre écrit puis relu, résultat écrit
+        ConvergenceMonitor monitor = new ConvergenceMonitor("ADI Peaceman-Rachford (" + count + " paramètres, Stencil)",
+                criterion, B, listeners, x.length, 10L * x.length * Double.BYTES);
+        int maxIter = criterion.getMaxIterations();
+        int iterations = 0;
+        while (true) {
+            double cycleDiff = 0;
+            for (int p = 0; p < count && iterations < maxIter; p++, iterations++) {
+                rowStep(A, B, x, half, rho[p], aX, factorX[p]);
+                cycleDiff = Math.max(cycleDiff, columnStep(A, B, half, x, work, rho[p], aY, factorY[p]));
+            }
+            if (monitor.check(iterations, cycleDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    /**
+     * A doit provenir d'une grille uniforme à coefficients constants (voir StencilOperator.fromCds).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        return solve(StencilOperator.fromCds(A), B, x0, criterion);
+    }
+
+    // Premier demi-pas : (H + ρI) half = B - (V - ρI) x, blocs de lignes résolus en parallèle.
+    private void rowStep(StencilOperator A, double[] B, double[] x, double[] half,
+                         double rho, double[] aX, double[] factorX) {
+        int n = A.getN();
+        int m = A.getM();
+        double offY = A.getOffY();
+        double centre = -2 * offY - rho;
+        int blocks = (m + ThomasSolver.LINE_BLOCK - 1) / ThomasSolver.LINE_BLOCK;
+
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            int jStart = b * ThomasSolver.LINE_BLOCK;
+            int jEnd = Math.min(m, jStart + ThomasSolver.LINE_BLOCK);
+            for (int j = jStart; j < jEnd; j++) {
+                int row = j * n;
+                for (int idx = row; idx < row + n; idx++) {
+                    double neighbours = (j > 0 ? x[idx - n] : 0.0) + (j < m - 1 ? x[idx + n] : 0.0);
+                    half[idx] = B[idx] - centre * x[idx] - offY * neighbours;
+                }
+            }
+            thomas.solveBatch(aX, factorX, half, half, jStart * n, jEnd - jStart, n, 1);
+        })).join();
+    }
+
+    // Second demi-pas : (V + ρI) x = B - (H - ρI) half, blocs de colonnes voisines résolus en parallèle
+    // (ThomasSolver.solveBatch les balaie de front, rangée par rangée). Retourne max |x_nouveau - x_ancien|.
+    private double columnStep(StencilOperator A, double[] B, double[] half, double[] x, double[] work,
+                              double rho, double[] aY, double[] factorY) {
+        int n = A.getN();
+        int m = A.getM();
+        double offX = A.getOffX();
+        double centre = -2 * offX - rho;
+        int blocks = (n + ThomasSolver.LINE_BLOCK - 1) / ThomasSolver.LINE_BLOCK;
+
+        return pool.submit(() -> IntStream.range(0, blocks).parallel().mapToDouble(b -> {
+            int iStart = b * ThomasSolver.LINE_BLOCK;
+            int iEnd = Math.min(n, iStart + ThomasSolver.LINE_BLOCK);
+            for (int row = 0; row < m * n; row += n) {
+                for (int i = iStart; i < iEnd; i++) {
+                    int idx = row + i;
+                    double neighbours = (i > 0 ? half[idx - 1] : 0.0) + (i < n - 1 ? half[idx + 1] : 0.0);
+                    work[idx] = B[idx] - centre * half[idx] - offX * neighbours;
+                }
+            }
+            thomas.solveBatch(aY, factorY, work, work, iStart, iEnd - iStart, 1, n);
+            double maxDiff = 0;
+            for (int row = 0; row < m * n; row += n) {
+                for (int idx = row + iStart; idx < row + iEnd; idx++) {
+                    maxDiff = Math.max(maxDiff, Math.abs(work[idx] - x[idx]));
+                    x[idx] = work[idx];
+                }
+            }
+            return maxDiff;
+        }).max().orElse(0.0)).join();
+    }
+}
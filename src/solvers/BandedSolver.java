@@ -0,0 +1,296 @@
+package solvers;
+
+import storage.CDS;
+
+import java.util.Arrays;
+
+public class BandedSolver implements Solver, BatchSolver {
+
+    /**
+     * Résout le système Ax = B par factorisation bande (Cholesky si A est symétrique définie positive,
+     * LU sans pivotage sinon).
+     *
+     * @param A La matrice du système (stockage CDS).
+     * @param B Le vecteur second membre.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(CDS A, double[] B) {
+        Factorization factorization = factor(A);
+        double[] x = factorization.solve(B);
+        System.out.println("Résolution par factorisation bande (" + (factorization.isCholesky() ? "Cholesky" : "LU")
+                + ", demi-largeur " + factorization.getBandwidth() + ") terminée.");
+        return x;
+    }
+
+    /**
+     * Résolution directe : x0 et le critère d'arrêt sont ignorés.
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = solve(A, B);
+        return new SolverResult(x, 0, A.residualNorm(B, x), SolverResult.StopReason.DIRECT);
+    }
+
+    /**
+     * Résolution directe d'un lot : A est factorisée une seule fois, puis tous les seconds membres sont résolus
+     * ensemble (Factorization.solve par lot). x0 et le critère d'arrêt sont ignorés.
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        Factorization factorization = factor(A);
+        double[][] x = new double[B.length][A.getSize()];
+        factorization.solve(B, x);
+        System.out.println("Résolution par factorisation bande (" + (factorization.isCholesky() ? "Cholesky" : "LU")
+                + ", demi-largeur " + factorization.getBandwidth() + ") de " + B.length + " seconds membres terminée.");
+        SolverResult[] results = new SolverResult[B.length];
+        for (int k = 0; k < B.length; k++) {
+            results[k] = new SolverResult(x[k], 0, A.residualNorm(B[k], x[k]), SolverResult.StopReason.DIRECT);
+        }
+        return results;
+    }
+
+    /**
+     * Factorise A directement depuis la CDS dans un stockage bande de demi-largeur n (la distance des
+     * diagonales lointaines) : O(N n²) opérations et O(N n) mémoire au lieu de O(N³) et O(N²) en dense.
+     * Cholesky est utilisé si A est symétrique et que tous les pivots sont positifs ; sinon on se
+     * rabat sur LU sans pivotage (valable pour une matrice à diagonale dominante).
+     *
+     * @param A La matrice du système (stockage CDS).
+     * @return La factorisation, réutilisable pour plusieurs seconds membres.
+     */
+    public Factorization factor(CDS A) {
+        boolean symmetric = Arrays.equals(A.getLowerDiag1(), A.getUpperDiag1())
+                && Arrays.equals(A.getLowerDiagN(), A.getUpperDiagN());
+        if (symmetric) {
+            double[] band = choleskyFactor(A);
+            if (band != null) {
+                return new Factorization(A.getSize(), A.getN(), band, true);
+            }
+        }
+        return new Factorization(A.getSize(), A.getN(), luFactor(A), false);
+    }
+
+    /**
+     * Factorisation bande A = L L^T (Cholesky) ou A = L U (LU), stockée ligne par ligne.
+     * - Cholesky : ligne i = colonnes [i-p, i] de L, soit p+1 valeurs ;
+     * - LU : ligne i = colonnes [i-p, i+p], L unitaire (sous la diagonale) et U (diagonale et au-dessus).
+     */
+    public static final class Factorization {
+        private final int size;
+        private final int bandwidth; // p
+        private final double[] band;
+        private final boolean cholesky;
+
+        private Factorization(int size, int bandwidth, double[] band, boolean cholesky) {
+            this.size = size;
+            this.bandwidth = bandwidth;
+            this.band = band;
+            this.cholesky = cholesky;
+        }
+
+        public boolean isCholesky() {
+            return cholesky;
+        }
+
+        public int getBandwidth() {
+            return bandwidth;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double[] solve(double[] B) {
+            double[] x = new double[size];
+            solve(B, x);
+            return x;
+        }
+
+        /**
+         * Résout Ax = B par descente puis remontée, en O(N p), sans allocation.
+         * x peut être le même tableau que B.
+         */
+        public void solve(double[] B, double[] x) {
+            int p = bandwidth;
+            if (cholesky) {
+                int width = p + 1;
+                // L y = B
+                for (int i = 0; i < size; i++) {
+                    int row = i * width - i + p; // band[row + k] = L[i][k]
+                    double s = B[i];
+                    for (int k = Math.max(0, i - p); k < i; k++) {
+                        s -= band[row + k] * x[k];
+                    }
+                    x[i] = s / band[row + i];
+                }
+                // L^T x = y : on parcourt les lignes de L à l'envers en soustrayant la colonne i
+                for (int i = size - 1; i >= 0; i--) {
+                    int row = i * width - i + p;
+                    x[i] /= band[row + i];
+                    double xi = x[i];
+                    for (int k = Math.max(0, i - p); k < i; k++) {
+                        x[k] -= band[row + k] * xi;
+                    }
+                }
+            } else {
+                int width = 2 * p + 1;
+                // L y = B (L unitaire)
+                for (int i = 0; i < size; i++) {
+                    int row = i * width - i + p;
+                    double s = B[i];
+                    for (int k = Math.max(0, i - p); k < i; k++) {
+                        s -= band[row + k] * x[k];
+                    }
+                    x[i] = s;
+                }
+                // U x = y
+                for (int i = size - 1; i >= 0; i--) {
+                    int row = i * width - i + p;
+                    double s = x[i];
+                    for (int k = i + 1; k <= Math.min(size - 1, i + p); k++) {
+                        s -= band[row + k] * x[k];
+                    }
+                    x[i] = s / band[row + i];
+                }
+            }
+        }
+
+        /**
+         * Résout A X[k] = B[k] pour tous les seconds membres, avec les mêmes opérations que solve(B[k], X[k]).
+         * Chaque ligne du facteur (p + 1 ou 2p + 1 valeurs) est lue une fois puis sert à tous les seconds membres
+         * depuis le cache : le facteur, O(N p) doubles, n'est parcouru que deux fois pour tout le lot.
+         * X[k] peut être le même tableau que B[k].
+         */
+        public void solve(double[][] B, double[][] X) {
+            int p = bandwidth;
+            int count = B.length;
+            if (cholesky) {
+                int width = p + 1;
+                for (int i = 0; i < size; i++) {
+                    int row = i * width - i + p;
+                    for (int v = 0; v < count; v++) {
+                        double[] x = X[v];
+                        double s = B[v][i];
+                        for (int k = Math.max(0, i - p); k < i; k++) {
+                            s -= band[row + k] * x[k];
+                        }
+                        x[i] = s / band[row + i];
+                    }
+                }
+                for (int i = size - 1; i >= 0; i--) {
+                    int row = i * width - i + p;
+                    for (int v = 0; v < count; v++) {
+                        double[] x = X[v];
+                        x[i] /= band[row + i];
+                        double xi = x[i];
+                        for (int k = Math.max(0, i - p); k < i; k++) {
+                            x[k] -= band[row + k] * xi;
+                        }
+                    }
+                }
+            } else {
+                int width = 2 * p + 1;
+                for (int i = 0; i < size; i++) {
+                    int row = i * width - i + p;
+                    for (int v = 0; v < count; v++) {
+                        double[] x = X[v];
+                        double s = B[v][i];
+                        for (int k = Math.max(0, i - p); k < i; k++) {
+                            s -= band[row + k] * x[k];
+                        }
+                        x[i] = s;
+                    }
+                }
+                for (int i = size - 1; i >= 0; i--) {
+                    int row = i * width - i + p;
+                    for (int v = 0; v < count; v++) {
+                        double[] x = X[v];
+                        double s = x[i];
+                        for (int k = i + 1; k <= Math.min(size - 1, i + p); k++) {
+                            s -= band[row + k] * x[k];
+                        }
+                        x[i] = s / band[row + i];
+                    }
+                }
+            }
+        }
+    }
+
+    // Cholesky bande ligne par ligne ; retourne null si un pivot n'est pas strictement positif.
+    private static double[] choleskyFactor(CDS A) {
+        int size = A.getSize();
+        int p = A.getN();
+        int width = p + 1;
+        double[] band = new double[size * width];
+        fillLowerBand(A, band, width, p);
+
+        for (int i = 0; i < size; i++) {
+            int rowI = i * width - i + p; // band[rowI + k] = L[i][k]
+            for (int j = Math.max(0, i - p); j <= i; j++) {
+                int rowJ = j * width - j + p;
+                double s = band[rowI + j];
+                // Produit scalaire des lignes i et j de L sur leurs colonnes communes (contiguës en mémoire)
+                for (int k = Math.max(0, i - p); k < j; k++) {
+                    s -= band[rowI + k] * band[rowJ + k];
+                }
+                if (j < i) {
+                    band[rowI + j] = s / band[rowJ + j];
+                } else if (s > 0) {
+                    band[rowI + i] = Math.sqrt(s);
+                } else {
+                    return null;
+                }
+            }
+        }
+        return band;
+    }
+
+    // LU bande sans pivotage (élimination de Gauss restreinte à la bande).
+    private static double[] luFactor(CDS A) {
+        int size = A.getSize();
+        int p = A.getN();
+        int width = 2 * p + 1;
+        double[] band = new double[size * width];
+        fillLowerBand(A, band, width, p);
+        double[] upper1 = A.getUpperDiag1();
+        double[] upperN = A.getUpperDiagN();
+        for (int i = 0; i < size; i++) {
+            int row = i * width - i + p;
+            if (i < size - 1) band[row + i + 1] += upper1[i];
+            if (i < size - p) band[row + i + p] += upperN[i];
+        }
+
+        for (int k = 0; k < size; k++) {
+            int rowK = k * width - k + p;
+            double pivot = band[rowK + k];
+            if (Math.abs(pivot) < 1e-300) {
+                throw new ArithmeticException("Pivot nul détecté, la matrice est peut-être singulière.");
+            }
+            int last = Math.min(size - 1, k + p);
+            for (int i = k + 1; i <= last; i++) {
+                int rowI = i * width - i + p;
+                double factor = band[rowI + k] / pivot;
+                if (factor == 0.0) continue;
+                band[rowI + k] = factor;
+                for (int j = k + 1; j <= last; j++) {
+                    band[rowI + j] -= factor * band[rowK + j];
+                }
+            }
+        }
+        return band;
+    }
+
+    // Recopie la diagonale et les deux diagonales inférieures de A ; band[i*width - i + p + j] = A[i][j].
+    private static void fillLowerBand(CDS A, double[] band, int width, int p) {
+        int size = A.getSize();
+        double[] diag = A.getMainDiag();
+        double[] lower1 = A.getLowerDiag1();
+        double[] lowerN = A.getLowerDiagN();
+        for (int i = 0; i < size; i++) {
+            int row = i * width - i + p;
+            band[row + i] = diag[i];
+            if (i > 0) band[row + i - 1] += lower1[i - 1];
+            if (i >= p) band[row + i - p] += lowerN[i - p];
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package solvers;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Suivi d'une résolution par lot (BatchSolver) : un ConvergenceMonitor silencieux par second membre, la liste
+ * des seconds membres encore actifs, et une notification des écouteurs du solveur par itération du lot
+ * (avec la plus grande mise à jour des seconds membres actifs).
+ * Usage :
+ *     BatchMonitor monitor = new BatchMonitor("SOR (CDS)", criterion, B, listeners, size, bytes);
+ *     while (true) {
+ *         int[] active = monitor.active();
+ *         if (active.length == 0) return monitor.results();
+ *         ... balayage des seconds membres actifs ...
+ *         for (int k : active) monitor.check(k, maxDiff[k], () -> A.residualNorm(B[k], x[k]), x[k]);
+ *         monitor.endIteration();
+ *     }
+ */
+final class BatchMonitor {
+    private final String name;
+    private final IterationListeners listeners;
+    private final ConvergenceMonitor[] monitors;
+    private final SolverResult[] results;
+    private final int[] active;
+    private int activeCount;
+    private int iterations;
+    private double maxUpdate;
+
+    /**
+     * @param bytesPerIteration Estimation des octets lus et écrits par une itération du lot complet.
+     */
+    BatchMonitor(String name, StoppingCriterion criterion, double[][] B, IterationListeners listeners,
+                 int size, long bytesPerIteration) {
+        this.name = name;
+        this.listeners = listeners;
+        int count = B.length;
+        this.monitors = new ConvergenceMonitor[count];
+        this.results = new SolverResult[count];
+        this.active = new int[count];
+        for (int k = 0; k < count; k++) {
+            monitors[k] = new ConvergenceMonitor(name, criterion, B[k], new IterationListeners(), size, 0).quietly();
+            active[k] = k;
+        }
+        this.activeCount = count;
+        listeners.start(name + ", lot de " + count, size, bytesPerIteration);
+    }
+
+    /**
+     * Les indices des seconds membres encore en cours, dans l'ordre du lot.
+     */
+    int[] active() {
+        int kept = 0;
+        for (int a = 0; a < activeCount; a++) {
+            if (results[active[a]] == null) {
+                active[kept++] = active[a];
+            }
+        }
+        activeCount = kept;
+        return Arrays.copyOf(active, activeCount);
+    }
+
+    /**
+     * Test avant la première itération (voir ConvergenceMonitor.isConverged) : si x0 convient déjà,
+     * le second membre k sort du lot.
+     */
+    boolean isConverged(int k, double residualNorm, double[] x) {
+        if (monitors[k].isConverged(residualNorm)) {
+            results[k] = monitors[k].result(x, () -> residualNorm);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fin d'une itération pour le second membre k (voir ConvergenceMonitor.check). S'il s'arrête, son résultat
+     * est construit avec x et il sort du lot à l'appel suivant de active().
+     *
+     * @return true si le second membre k s'arrête.
+     */
+    boolean check(int k, double updateNorm, DoubleSupplier residual, double[] x) {
+        maxUpdate = Math.max(maxUpdate, updateNorm);
+        if (monitors[k].check(updateNorm, residual)) {
+            results[k] = monitors[k].result(x, residual);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Arrêt du second membre k sur un résidu nul (voir ConvergenceMonitor.converged) : il sort du lot
+     * à l'appel suivant de active().
+     */
+    void converged(int k, double[] x, double residualNorm) {
+        results[k] = monitors[k].converged(x, () -> residualNorm);
+    }
+
+    /**
+     * Fin d'une itération du lot : notifie les écouteurs du solveur.
+     */
+    void endIteration() {
+        iterations++;
+        listeners.iteration(iterations, maxUpdate, (DoubleSupplier) null);
+        maxUpdate = 0;
+    }
+
+    /**
+     * Fin de la résolution : affiche un bilan commun et prévient les écouteurs.
+     */
+    SolverResult[] results() {
+        int converged = 0;
+        int minIterations = Integer.MAX_VALUE;
+        int maxIterations = 0;
+        for (SolverResult result : results) {
+            if (result.isConverged()) converged++;
+            minIterations = Math.min(minIterations, result.getIterations());
+            maxIterations = Math.max(maxIterations, result.getIterations());
+        }
+        String summary = String.format("%s, %d seconds membres : %d convergés, %d à %d itérations.",
+                name, results.length, converged, results.length == 0 ? 0 : minIterations, maxIterations);
+        if (converged == results.length) {
+            System.out.println(summary);
+        } else {
+            System.err.println(summary);
+        }
+        listeners.finish(iterations, converged == results.length);
+        return results;
+    }
+}
@@ -0,0 +1,22 @@
+package solvers;
+
+import storage.CDS;
+
+/**
+ * Résolution par lot de A x_k = B_k pour plusieurs seconds membres et un même opérateur (balayage de
+ * paramètres sur la source f, par exemple). L'opérateur n'est assemblé, factorisé ou préparé qu'une fois,
+ * et chaque passage sur ses coefficients sert à tous les seconds membres encore actifs : le trafic mémoire
+ * de la matrice est amorti sur le lot au lieu d'être payé par chaque résolution.
+ * Chaque second membre a son propre critère d'arrêt : un second membre convergé sort du lot.
+ */
+public interface BatchSolver {
+
+    /**
+     * @param A         La matrice du système (stockage CDS), commune à tout le lot.
+     * @param B         Les seconds membres, B[k] de taille A.getSize().
+     * @param x0        Les solutions initiales (non modifiées), x0[k] associée à B[k].
+     * @param criterion Le critère d'arrêt, appliqué à chaque second membre.
+     * @return Les résultats, dans l'ordre de B.
+     */
+    SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion);
+}
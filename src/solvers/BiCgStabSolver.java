@@ -0,0 +1,159 @@
+package solvers;
+
+import storage.CDS;
+import storage.CdsKernels;
+import storage.SparseMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+/**
+ * BiCGSTAB (gradient bi-conjugué stabilisé, van der Vorst), préconditionné à droite : la méthode de Krylov
+ * pour les matrices non symétriques, où le gradient conjugué ne s'applique pas (flux des maillages adaptatifs
+ * entre niveaux de raffinement, termes de convection...). Deux produits matrice-vecteur par itération,
+ * pas de stockage de la base de Krylov.
+ */
+public class BiCgStabSolver implements Solver {
+
+    private final Preconditioner preconditioner;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    /**
+     * BiCGSTAB sans préconditionnement.
+     */
+    public BiCgStabSolver() {
+        this(null);
+    }
+
+    /**
+     * @param preconditioner Le préconditionneur (Jacobi...), ou null pour aucun. Il n'a pas besoin d'être symétrique.
+     */
+    public BiCgStabSolver(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public BiCgStabSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        CdsKernels kernels = CdsKernels.get();
+        return solve("CDS", A.getSize(), 6L * A.getSize() * Double.BYTES, (x, y) -> kernels.multiply(A, x, y), B, x0, criterion);
+    }
+
+    /**
+     * Résout le système Ax = B pour une matrice creuse générale (CSR), symétrique ou non.
+     * Le résidu est mis à jour par la récurrence : les critères sur le résidu ne coûtent aucun produit de plus.
+     */
+    public SolverResult solve(SparseMatrix A, double[] B, double[] x0, StoppingCriterion criterion) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long multiplyBytes = (long) A.getNonZeros() * (Double.BYTES + Integer.BYTES) + 2L * A.getRows() * Double.BYTES;
+        return solve("CSR", A.getRows(), multiplyBytes, (x, y) -> A.multiply(x, y, pool), B, x0, criterion);
+    }
+
+    // multiplyBytes : octets lus et écrits par un produit matrice-vecteur, pour le débit mesuré par les écouteurs.
+    private SolverResult solve(String storage, int size, long multiplyBytes, BiConsumer<double[], double[]> multiply,
+                               double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = x0.clone();
+        double[] r = new double[size];
+        double[] shadow = new double[size];   // r̂ : résidu initial, fixe sauf redémarrage
+        double[] p = new double[size];
+        double[] v = new double[size];
+        double[] s = new double[size];
+        double[] t = new double[size];
+        double[] pHat = new double[size];
+        double[] sHat = new double[size];
+
+        multiply.accept(x, r);
+        for (int i = 0; i < size; i++) {
+            r[i] = B[i] - r[i];
+        }
+        System.arraycopy(r, 0, shadow, 0, size);
+        // Hors préconditionneur : deux produits, quatre produits scalaires et six mises à jour de vecteurs
+        ConvergenceMonitor monitor = new ConvergenceMonitor("BiCGSTAB (" + storage + ")", criterion, B,
+                listeners, size, 2 * multiplyBytes + 26L * size * Double.BYTES);
+        double[] residualNorm = {Math.sqrt(dot(r, r))}; // résidu de la récurrence, lu par le moniteur
+        if (monitor.isConverged(residualNorm[0])) {
+            return monitor.result(x, () -> residualNorm[0]);
+        }
+
+        double rho = 1.0;
+        double alpha = 1.0;
+        double omega = 1.0;
+        while (true) {
+            double rhoNew = dot(shadow, r);
+            if (Math.abs(rhoNew) < 1e-30 * dot(r, r) || omega == 0.0) {
+                // r est devenu orthogonal à r̂ : on redémarre avec r̂ = r (p repart de r)
+                System.arraycopy(r, 0, shadow, 0, size);
+                rhoNew = dot(r, r);
+                System.arraycopy(r, 0, p, 0, size);
+            } else {
+                double beta = (rhoNew / rho) * (alpha / omega);
+                for (int i = 0; i < size; i++) {
+                    p[i] = r[i] + beta * (p[i] - omega * v[i]);
+                }
+            }
+            rho = rhoNew;
+
+            precondition(p, pHat);
+            multiply.accept(pHat, v);
+            double shadowV = dot(shadow, v);
+            if (!(Math.abs(shadowV) > 1e-30 * Math.sqrt(dot(shadow, shadow) * dot(v, v)))) {
+                if (residualNorm[0] == 0.0) {
+                    // r = 0, donc p = 0 et v = 0 : x est la solution exacte (un critère sur la mise à jour
+                    // ne s'arrête pas de lui-même)
+                    return monitor.converged(x, () -> residualNorm[0]);
+                }
+                // r̂ orthogonal à A p : alpha serait infini ou NaN et contaminerait x. On s'arrête sur le dernier
+                // itéré, non convergé
+                return monitor.breakdown(x, () -> residualNorm[0]);
+            }
+            alpha = rho / shadowV;
+            for (int i = 0; i < size; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+
+            precondition(s, sHat);
+            multiply.accept(sHat, t);
+            double tt = dot(t, t);
+            omega = tt > 0 ? dot(t, s) / tt : 0.0;
+
+            double norm = 0.0;
+            double maxUpdate = 0.0;
+            for (int i = 0; i < size; i++) {
+                double step = alpha * pHat[i] + omega * sHat[i];
+                x[i] += step;
+                r[i] = s[i] - omega * t[i];
+                norm += r[i] * r[i];
+                maxUpdate = Math.max(maxUpdate, Math.abs(step));
+            }
+            residualNorm[0] = Math.sqrt(norm);
+
+            if (monitor.check(maxUpdate, () -> residualNorm[0], x)) {
+                return monitor.result(x, () -> residualNorm[0]);
+            }
+        }
+    }
+
+    private void precondition(double[] r, double[] z) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,284 @@
+package solvers;
+
+import storage.CDS;
+import storage.StorageConverter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class BlockedLUSolver implements Solver, BatchSolver {
+
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+    // Largeur des tuiles de colonnes de la mise à jour : nb lignes de U12 x COLUMN_TILE doubles restent en cache L2
+    private static final int COLUMN_TILE = 256;
+    // Nombre de lignes traitées par une tâche de la mise à jour du bloc restant
+    private static final int ROWS_PER_TASK = 32;
+
+    private final ForkJoinPool pool;
+    private final int blockSize;
+
+    public BlockedLUSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BlockedLUSolver(ForkJoinPool pool) {
+        this(pool, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param pool      Le pool de threads utilisé pour la mise à jour du bloc restant.
+     * @param blockSize La largeur des panneaux de colonnes factorisés à chaque étape.
+     */
+    public BlockedLUSolver(ForkJoinPool pool, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("La taille de bloc doit être positive.");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Résout le système Ax = B par factorisation LU par blocs avec pivotage partiel.
+     * A n'est pas modifiée (elle est copiée avant la factorisation).
+     *
+     * @param A La matrice du système (dense).
+     * @param B Le vecteur second membre.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(double[][] A, double[] B) {
+        double[] x = factor(A, false).solve(B);
+        System.out.println("Résolution par factorisation LU par blocs (Dense) terminée.");
+        return x;
+    }
+
+    /**
+     * Même résolution que {@link #solve}, mais A est factorisée en place : ses lignes sont permutées et
+     * leurs valeurs remplacées par L et U. Évite la copie de la matrice (800 Mo pour une grille 100x100).
+     */
+    public double[] solveInPlace(double[][] A, double[] B) {
+        double[] x = factor(A, true).solve(B);
+        System.out.println("Résolution par factorisation LU par blocs en place (Dense) terminée.");
+        return x;
+    }
+
+    /**
+     * Résolution directe sur la copie dense de A, factorisée en place : x0 et le critère d'arrêt sont ignorés.
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = solveInPlace(StorageConverter.cdsToDense(A), B);
+        return new SolverResult(x, 0, A.residualNorm(B, x), SolverResult.StopReason.DIRECT);
+    }
+
+    /**
+     * Résolution directe d'un lot : la copie dense de A est factorisée une seule fois, en place, puis tous les
+     * seconds membres sont résolus ensemble (Factorization.solve par lot). x0 et le critère d'arrêt sont ignorés.
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        double[][] x = new double[B.length][A.getSize()];
+        factor(StorageConverter.cdsToDense(A), true).solve(B, x);
+        System.out.println("Résolution par factorisation LU par blocs (Dense) de " + B.length + " seconds membres terminée.");
+        SolverResult[] results = new SolverResult[B.length];
+        for (int k = 0; k < B.length; k++) {
+            results[k] = new SolverResult(x[k], 0, A.residualNorm(B[k], x[k]), SolverResult.StopReason.DIRECT);
+        }
+        return results;
+    }
+
+    /**
+     * Factorisation PA = LU, right-looking par panneaux de blockSize colonnes :
+     * 1. le panneau [k, k+nb) est factorisé avec pivotage partiel (échange de références de lignes, O(1)) ;
+     * 2. le bloc U12 (lignes du panneau, colonnes à droite) est obtenu par descente avec L11 ;
+     * 3. le bloc restant A22 -= L21 U12 est mis à jour en parallèle, par paquets de lignes et tuiles de colonnes.
+     * L'étape 3 concentre presque toutes les opérations et n'accède qu'à des lignes contiguës.
+     *
+     * @param A       La matrice du système (dense, carrée).
+     * @param inPlace true pour factoriser directement dans A, false pour travailler sur une copie.
+     * @return La factorisation, réutilisable pour plusieurs seconds membres.
+     * @throws ArithmeticException si une colonne n'a aucun pivot non nul (matrice singulière).
+     */
+    public Factorization factor(double[][] A, boolean inPlace) {
+        int n = A.length;
+        double[][] a = new double[n][];
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = inPlace ? A[i] : A[i].clone();
+            perm[i] = i;
+        }
+
+        for (int kb = 0; kb < n; kb += blockSize) {
+            int kend = Math.min(kb + blockSize, n);
+            factorPanel(a, perm, kb, kend);
+            if (kend < n) {
+                solveUpperPanel(a, kb, kend);
+                updateTrailing(a, kb, kend);
+            }
+        }
+
+        if (inPlace) {
+            // Les lignes de A sont maintenant dans l'ordre pivoté
+            System.arraycopy(a, 0, A, 0, n);
+        }
+        return new Factorization(a, perm);
+    }
+
+    /**
+     * Factorisation PA = LU : a[i] contient la ligne i de L (sous la diagonale, L unitaire) et de U,
+     * perm[i] l'indice de la ligne d'origine placée en position i.
+     */
+    public static final class Factorization {
+        private final double[][] lu;
+        private final int[] perm;
+
+        private Factorization(double[][] lu, int[] perm) {
+            this.lu = lu;
+            this.perm = perm;
+        }
+
+        public int getSize() {
+            return lu.length;
+        }
+
+        public double[] solve(double[] B) {
+            double[] x = new double[lu.length];
+            solve(B, x);
+            return x;
+        }
+
+        /**
+         * Résout Ax = B par descente (L y = PB) puis remontée (U x = y), en O(N²), sans allocation.
+         * x doit être différent de B.
+         */
+        public void solve(double[] B, double[] x) {
+            int n = lu.length;
+            for (int i = 0; i < n; i++) {
+                double[] row = lu[i];
+                double s = B[perm[i]];
+                for (int k = 0; k < i; k++) {
+                    s -= row[k] * x[k];
+                }
+                x[i] = s;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double[] row = lu[i];
+                double s = x[i];
+                for (int k = i + 1; k < n; k++) {
+                    s -= row[k] * x[k];
+                }
+                x[i] = s / row[i];
+            }
+        }
+
+        /**
+         * Résout A X[k] = B[k] pour tous les seconds membres, avec les mêmes opérations que solve(B[k], X[k]).
+         * Chaque ligne de LU est lue une fois par passe pour tout le lot au lieu d'une fois par second membre :
+         * les N² coefficients ne sont parcourus que deux fois. X[k] doit être différent de B[k].
+         */
+        public void solve(double[][] B, double[][] X) {
+            int n = lu.length;
+            for (int i = 0; i < n; i++) {
+                double[] row = lu[i];
+                for (int v = 0; v < B.length; v++) {
+                    double[] x = X[v];
+                    double s = B[v][perm[i]];
+                    for (int k = 0; k < i; k++) {
+                        s -= row[k] * x[k];
+                    }
+                    x[i] = s;
+                }
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double[] row = lu[i];
+                for (int v = 0; v < B.length; v++) {
+                    double[] x = X[v];
+                    double s = x[i];
+                    for (int k = i + 1; k < n; k++) {
+                        s -= row[k] * x[k];
+                    }
+                    x[i] = s / row[i];
+                }
+            }
+        }
+    }
+
+    // Élimination avec pivotage partiel limitée aux colonnes [kb, kend) ; les lignes entières sont échangées.
+    private static void factorPanel(double[][] a, int[] perm, int kb, int kend) {
+        int n = a.length;
+        for (int k = kb; k < kend; k++) {
+            int pivotRow = k;
+            double max = Math.abs(a[k][k]);
+            for (int i = k + 1; i < n; i++) {
+                double v = Math.abs(a[i][k]);
+                if (v > max) {
+                    max = v;
+                    pivotRow = i;
+                }
+            }
+            if (max == 0.0) {
+                throw new ArithmeticException("Pivot nul détecté, la matrice est singulière.");
+            }
+            if (pivotRow != k) {
+                double[] t = a[k]; a[k] = a[pivotRow]; a[pivotRow] = t;
+                int p = perm[k]; perm[k] = perm[pivotRow]; perm[pivotRow] = p;
+            }
+
+            double[] rowK = a[k];
+            double invPivot = 1.0 / rowK[k];
+            for (int i = k + 1; i < n; i++) {
+                double[] rowI = a[i];
+                double factor = rowI[k] * invPivot;
+                rowI[k] = factor;
+                if (factor == 0.0) continue;
+                for (int j = k + 1; j < kend; j++) {
+                    rowI[j] -= factor * rowK[j];
+                }
+            }
+        }
+    }
+
+    // U12 = L11^-1 A12 : descente avec L11 unitaire sur les colonnes [kend, n), par tuiles de colonnes en parallèle.
+    private void solveUpperPanel(double[][] a, int kb, int kend) {
+        int n = a.length;
+        int tiles = (n - kend + COLUMN_TILE - 1) / COLUMN_TILE;
+        pool.submit(() -> IntStream.range(0, tiles).parallel().forEach(t -> {
+            int j0 = kend + t * COLUMN_TILE;
+            int j1 = Math.min(j0 + COLUMN_TILE, n);
+            for (int i = kb + 1; i < kend; i++) {
+                double[] rowI = a[i];
+                for (int k = kb; k < i; k++) {
+                    double lik = rowI[k];
+                    if (lik == 0.0) continue;
+                    double[] rowK = a[k];
+                    for (int j = j0; j < j1; j++) {
+                        rowI[j] -= lik * rowK[j];
+                    }
+                }
+            }
+        })).join();
+    }
+
+    // A22 -= L21 U12 : chaque tâche traite ROWS_PER_TASK lignes, tuile par tuile de colonnes.
+    private void updateTrailing(double[][] a, int kb, int kend) {
+        int n = a.length;
+        int tasks = (n - kend + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(t -> {
+            int i0 = kend + t * ROWS_PER_TASK;
+            int i1 = Math.min(i0 + ROWS_PER_TASK, n);
+            for (int j0 = kend; j0 < n; j0 += COLUMN_TILE) {
+                int j1 = Math.min(j0 + COLUMN_TILE, n);
+                for (int i = i0; i < i1; i++) {
+                    double[] rowI = a[i];
+                    for (int k = kb; k < kend; k++) {
+                        double lik = rowI[k];
+                        if (lik == 0.0) continue;
+                        double[] rowK = a[k];
+                        for (int j = j0; j < j1; j++) {
+                            rowI[j] -= lik * rowK[j];
+                        }
+                    }
+                }
+            }
+        })).join();
+    }
+}
@@ -0,0 +1,295 @@
+package solvers;
+
+import storage.CDS;
+import storage.CdsKernels;
+import storage.SparseMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+public class ConjugateGradientSolver implements Solver, BatchSolver {
+
+    private final Preconditioner preconditioner;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    private boolean quiet;
+
+    /**
+     * Gradient conjugué sans préconditionnement.
+     */
+    public ConjugateGradientSolver() {
+        this(null);
+    }
+
+    /**
+     * @param preconditioner Le préconditionneur (Jacobi, SSOR, IC(0)...), ou null pour aucun.
+     */
+    public ConjugateGradientSolver(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public ConjugateGradientSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Pas de bilan affiché à chaque résolution : HeatEquationSolver donne un bilan commun à tous les pas (summary).
+     */
+    ConjugateGradientSolver quietly() {
+        this.quiet = true;
+        return this;
+    }
+
+    /**
+     * Résout le système Ax = B par le gradient conjugué préconditionné (PCG).
+     * A doit être symétrique définie positive, ce qui est le cas de la matrice de MatrixBuilder.buildCdsA.
+     *
+     * @param A       La matrice du système (stockage CDS).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance relative sur le résidu : arrêt quand ||B - Ax|| <= tol * ||B||.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.relativeResidual(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode avec un critère d'arrêt configurable. Le résidu est mis à jour par la récurrence du gradient
+     * conjugué : les critères sur le résidu ne coûtent donc aucun produit matrice-vecteur supplémentaire.
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        CdsKernels kernels = CdsKernels.get();
+        return solve("CDS", A.getSize(), 6L * A.getSize() * Double.BYTES, (x, y) -> kernels.multiply(A, x, y), B, x0, criterion);
+    }
+
+    /**
+     * Gradient conjugué préconditionné mené de front sur un lot de seconds membres : à chaque itération, un seul
+     * passage sur les diagonales (CdsKernels.multiply par lot) calcule les produits A p de tous les seconds membres
+     * actifs, et le préconditionneur est appliqué au lot (Preconditioner.apply par lot). Chaque second membre garde
+     * son propre espace de Krylov et ses coefficients alpha, beta, et sort du lot dès qu'il a convergé : ses
+     * itérations sont celles de solve. Le gradient conjugué par blocs (O'Leary), qui partage les espaces de Krylov,
+     * n'est pas utilisé : il devient singulier quand les seconds membres convergent à des vitesses différentes
+     * et demande alors une déflation.
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        CdsKernels kernels = CdsKernels.get();
+        int size = A.getSize();
+        int count = B.length;
+        double[][] x = new double[count][];
+        double[][] r = new double[count][];
+        double[][] z = new double[count][];
+        double[][] p = new double[count][];
+        double[][] q = new double[count][];
+        double[] rz = new double[count];
+        double[] residualNorm = new double[count]; // résidus de la récurrence, lus par le moniteur
+
+        for (int k = 0; k < count; k++) {
+            x[k] = x0[k].clone();
+            r[k] = new double[size];
+        }
+        kernels.multiply(A, x, r);
+        // Les diagonales une fois par itération, puis le travail vectoriel de chaque second membre
+        BatchMonitor monitor = new BatchMonitor("Gradient Conjugué (CDS)", criterion, B, listeners, size,
+                (5L + 13L * count) * size * Double.BYTES);
+        for (int k = 0; k < count; k++) {
+            double norm0 = 0.0;
+            for (int i = 0; i < size; i++) {
+                r[k][i] = B[k][i] - r[k][i];
+                norm0 += r[k][i] * r[k][i];
+            }
+            if (!monitor.isConverged(k, Math.sqrt(norm0), x[k])) {
+                z[k] = new double[size];
+                p[k] = new double[size];
+                q[k] = new double[size];
+            }
+        }
+        int[] active = monitor.active();
+        precondition(select(r, active), select(z, active));
+        for (int k : active) {
+            System.arraycopy(z[k], 0, p[k], 0, size);
+            rz[k] = dot(r[k], z[k]);
+        }
+
+        while (true) {
+            if (active.length == 0) {
+                return monitor.results();
+            }
+            kernels.multiply(A, select(p, active), select(q, active));
+
+            for (int k : active) {
+                double[] xk = x[k];
+                double[] rk = r[k];
+                double[] pk = p[k];
+                double[] qk = q[k];
+                double alpha = rz[k] / dot(pk, qk);
+
+                double norm = 0.0;
+                double maxUpdate = 0.0;
+                for (int i = 0; i < size; i++) {
+                    double step = alpha * pk[i];
+                    xk[i] += step;
+                    rk[i] -= alpha * qk[i];
+                    norm += rk[i] * rk[i];
+                    maxUpdate = Math.max(maxUpdate, Math.abs(step));
+                }
+                residualNorm[k] = Math.sqrt(norm);
+                if (!monitor.check(k, maxUpdate, () -> residualNorm[k], xk) && residualNorm[k] == 0.0) {
+                    // Solution exacte : le pas suivant calculerait alpha = 0 / 0
+                    monitor.converged(k, xk, residualNorm[k]);
+                }
+            }
+            monitor.endIteration();
+
+            // Directions suivantes des seconds membres qui continuent, préconditionnés ensemble
+            active = monitor.active();
+            precondition(select(r, active), select(z, active));
+            for (int k : active) {
+                double rzNew = dot(r[k], z[k]);
+                double beta = rzNew / rz[k];
+                rz[k] = rzNew;
+                double[] pk = p[k];
+                double[] zk = z[k];
+                for (int i = 0; i < size; i++) {
+                    pk[i] = zk[i] + beta * pk[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Résout le système Ax = B par PCG pour une matrice creuse générale (CSR), par exemple un opérateur
+     * à coefficients variables. Le produit matrice-vecteur est parallélisé par blocs de lignes.
+     *
+     * @param A       La matrice du système (stockage CSR), symétrique définie positive.
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance relative sur le résidu : arrêt quand ||B - Ax|| <= tol * ||B||.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(SparseMatrix A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.relativeResidual(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(SparseMatrix A, double[] B, double[] x0, StoppingCriterion criterion) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long multiplyBytes = (long) A.getNonZeros() * (Double.BYTES + Integer.BYTES) + 2L * A.getRows() * Double.BYTES;
+        return solve("CSR", A.getRows(), multiplyBytes, (x, y) -> A.multiply(x, y, pool), B, x0, criterion);
+    }
+
+    // multiplyBytes : octets lus et écrits par un produit matrice-vecteur, pour le débit mesuré par les écouteurs.
+    private SolverResult solve(String storage, int size, long multiplyBytes, BiConsumer<double[], double[]> multiply,
+                               double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = x0.clone();
+        double[] r = new double[size];
+        double[] z = new double[size];
+        double[] p = new double[size];
+        double[] q = new double[size];
+
+        multiply.accept(x, r);
+        double norm0 = 0.0;
+        for (int i = 0; i < size; i++) {
+            r[i] = B[i] - r[i];
+            norm0 += r[i] * r[i];
+        }
+        // Hors préconditionneur : produit, deux produits scalaires et trois mises à jour de vecteurs
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Gradient Conjugué (" + storage + ")", criterion, B,
+                listeners, size, multiplyBytes + 11L * size * Double.BYTES);
+        if (quiet) {
+            monitor.quietly();
+        }
+        double[] residualNorm = {Math.sqrt(norm0)}; // résidu de la récurrence, lu par le moniteur
+        if (monitor.isConverged(residualNorm[0])) {
+            return monitor.result(x, () -> residualNorm[0]);
+        }
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, size);
+        double rz = dot(r, z);
+
+        while (true) {
+            multiply.accept(p, q);
+            double alpha = rz / dot(p, q);
+
+            double norm = 0.0;
+            double maxUpdate = 0.0;
+            for (int i = 0; i < size; i++) {
+                double step = alpha * p[i];
+                x[i] += step;
+                r[i] -= alpha * q[i];
+                norm += r[i] * r[i];
+                maxUpdate = Math.max(maxUpdate, Math.abs(step));
+            }
+            residualNorm[0] = Math.sqrt(norm);
+
+            if (monitor.check(maxUpdate, () -> residualNorm[0], x)) {
+                return monitor.result(x, () -> residualNorm[0]);
+            }
+            if (residualNorm[0] == 0.0) {
+                // Solution exacte : le pas suivant calculerait alpha = 0 / 0 (un critère sur la mise à jour
+                // ne s'arrête pas de lui-même)
+                return monitor.converged(x, () -> residualNorm[0]);
+            }
+
+            precondition(r, z);
+            double rzNew = dot(r, z);
+            double beta = rzNew / rz;
+            rz = rzNew;
+            for (int i = 0; i < size; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+    }
+
+    private void precondition(double[] r, double[] z) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+
+    private void precondition(double[][] r, double[][] z) {
+        if (preconditioner == null) {
+            for (int k = 0; k < r.length; k++) {
+                System.arraycopy(r[k], 0, z[k], 0, r[k].length);
+            }
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+
+    // Les vecteurs des seconds membres d'indices active.
+    private static double[][] select(double[][] vectors, int[] active) {
+        double[][] selected = new double[active.length][];
+        for (int a = 0; a < active.length; a++) {
+            selected[a] = vectors[active[a]];
+        }
+        return selected;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
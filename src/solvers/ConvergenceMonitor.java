@@ -0,0 +1,229 @@
+package solvers;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Applique un StoppingCriterion à la boucle d'un solveur : appelé une fois par itération, il décide de l'arrêt,
+ * ne calcule le résidu qu'aux itérations de test, notifie les écouteurs et construit le SolverResult.
+ * Usage :
+ *     ConvergenceMonitor monitor = new ConvergenceMonitor("Jacobi (CDS)", criterion, B, listeners, size, bytes);
+ *     do { ... maxDiff = balayage ... } while (!monitor.check(maxDiff, () -> A.residualNorm(B, x), x));
+ *     return monitor.result(x, () -> A.residualNorm(B, x));
+ */
+final class ConvergenceMonitor {
+    private final String name;
+    private final StoppingCriterion criterion;
+    private final IterationListeners listeners;
+    private final double threshold;
+    private final long startNanos;
+    private String unit = "itérations";
+    private boolean quiet;
+
+    private int iterations;
+    private int lastCheck;
+    private double lastResidual = Double.NaN;
+    private int lastResidualIteration = -1;
+    private SolverResult.StopReason reason = SolverResult.StopReason.MAX_ITERATIONS;
+
+    /**
+     * @param name              Le nom du solveur, pour les messages et les écouteurs.
+     * @param B                 Le second membre (sa norme sert au critère relatif).
+     * @param bytesPerIteration Estimation des octets lus et écrits par itération (voir IterationListener).
+     */
+    ConvergenceMonitor(String name, StoppingCriterion criterion, double[] B, IterationListeners listeners,
+                       int size, long bytesPerIteration) {
+        this(name, criterion, criterion.getMeasure() == StoppingCriterion.Measure.RELATIVE_RESIDUAL ? norm(B) : 0.0,
+                listeners, size, bytesPerIteration);
+    }
+
+    /**
+     * Même moniteur, avec la norme L2 du second membre déjà calculée (second membre hors tas) ; elle n'est lue
+     * que pour un critère relatif.
+     */
+    ConvergenceMonitor(String name, StoppingCriterion criterion, double normB, IterationListeners listeners,
+                       int size, long bytesPerIteration) {
+        this.name = name;
+        this.criterion = criterion;
+        this.listeners = listeners;
+        if (criterion.getMeasure() == StoppingCriterion.Measure.RELATIVE_RESIDUAL) {
+            this.threshold = criterion.getTolerance() * (normB > 0 ? normB : 1.0);
+        } else {
+            this.threshold = criterion.getTolerance();
+        }
+        listeners.start(name, size, bytesPerIteration);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Unité des messages (par défaut "itérations", par exemple "cycles" pour la multigrille).
+     */
+    ConvergenceMonitor countingIn(String unit) {
+        this.unit = unit;
+        return this;
+    }
+
+    /**
+     * Pas de bilan affiché par result : les résolutions par lot (BatchSolver) affichent un bilan commun.
+     */
+    ConvergenceMonitor quietly() {
+        this.quiet = true;
+        return this;
+    }
+
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Test avant la première itération, pour les méthodes qui connaissent déjà le résidu initial (gradient conjugué) :
+     * true si x0 satisfait déjà un critère sur le résidu (ou si le résidu est nul).
+     */
+    boolean isConverged(double residualNorm) {
+        lastResidual = residualNorm;
+        lastResidualIteration = 0;
+        if (residualNorm == 0.0 || (criterion.usesResidual() && residualNorm <= threshold)) {
+            reason = SolverResult.StopReason.CONVERGED;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fin d'une itération de plus.
+     *
+     * @param updateNorm La norme de la mise à jour, max |x_nouveau - x_ancien|.
+     * @param residual   Calcule ||B - Ax|| ; appelé seulement aux itérations de test d'un critère sur le résidu,
+     *                   ou si un écouteur le demande.
+     * @return true si la résolution doit s'arrêter.
+     */
+    boolean check(double updateNorm, DoubleSupplier residual) {
+        return check(iterations + 1, updateNorm, residual);
+    }
+
+    /**
+     * Même test, en passant l'itéré courant x aux écouteurs qui prennent des points de reprise
+     * (voir IterationListener.onCheckpoint).
+     */
+    boolean check(double updateNorm, DoubleSupplier residual, double[] x) {
+        return check(iterations + 1, updateNorm, residual, x);
+    }
+
+    boolean check(int iteration, double updateNorm, DoubleSupplier residual, double[] x) {
+        boolean stop = check(iteration, updateNorm, residual);
+        if (!stop) {
+            listeners.checkpoint(iteration, x);
+        }
+        return stop;
+    }
+
+    /**
+     * Variante pour les solveurs dont un pas compte plusieurs itérations (balayages d'un raffinement,
+     * cycle de paramètres ADI) : iteration est le nombre total d'itérations effectuées.
+     */
+    boolean check(int iteration, double updateNorm, DoubleSupplier residual) {
+        iterations = iteration;
+        boolean test = iteration - lastCheck >= criterion.getCheckInterval() || iteration >= criterion.getMaxIterations();
+        double residualNorm = Double.NaN;
+        if (test) {
+            lastCheck = iteration;
+            if (criterion.usesResidual()) {
+                residualNorm = residual.getAsDouble();
+                lastResidual = residualNorm;
+                lastResidualIteration = iteration;
+            }
+        }
+        if (Double.isNaN(residualNorm)) {
+            listeners.iteration(iteration, updateNorm, residual);
+        } else {
+            listeners.iteration(iteration, updateNorm, residualNorm);
+        }
+
+        if (test && (criterion.usesResidual() ? residualNorm <= threshold : updateNorm < threshold)) {
+            reason = SolverResult.StopReason.CONVERGED;
+            return true;
+        }
+        if (criterion.isCancelled()) {
+            reason = SolverResult.StopReason.CANCELLED;
+            return true;
+        }
+        long budget = criterion.getTimeBudgetNanos();
+        if (budget > 0 && System.nanoTime() - startNanos > budget) {
+            reason = SolverResult.StopReason.TIME_BUDGET;
+            return true;
+        }
+        if (iteration >= criterion.getMaxIterations()) {
+            reason = SolverResult.StopReason.MAX_ITERATIONS;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fin sur un résidu de récurrence nul : x est la solution exacte, convergée quel que soit le critère
+     * (un critère sur la mise à jour ne s'arrêterait pas, et le pas suivant diviserait 0 par 0).
+     */
+    SolverResult converged(double[] x, DoubleSupplier residual) {
+        reason = SolverResult.StopReason.CONVERGED;
+        return result(x, residual);
+    }
+
+    /**
+     * Fin prématurée : la méthode ne peut pas continuer (rupture). x est le dernier itéré valide.
+     */
+    SolverResult breakdown(double[] x, DoubleSupplier residual) {
+        reason = SolverResult.StopReason.BREAKDOWN;
+        return result(x, residual);
+    }
+
+    /**
+     * Fin de la résolution : affiche le bilan, prévient les écouteurs et calcule le résidu final
+     * (sauf s'il vient d'être calculé pour le test).
+     */
+    SolverResult result(double[] x, DoubleSupplier residual) {
+        double residualNorm = lastResidualIteration == iterations ? lastResidual : residual.getAsDouble();
+        if (!quiet) {
+            switch (reason) {
+                case CONVERGED:
+                    System.out.println(name + " a convergé en " + iterations + " " + unit + ".");
+                    break;
+                case TIME_BUDGET:
+                    System.err.println(name + " arrêté : budget de temps épuisé après " + iterations + " " + unit + ".");
+                    break;
+                case CANCELLED:
+                    System.err.println(name + " annulé après " + iterations + " " + unit + ".");
+                    break;
+                case BREAKDOWN:
+                    System.err.println(name + " interrompu : rupture de la méthode après "
+                            + iterations + " " + unit + ".");
+                    break;
+                default:
+                    System.err.println(name + " n'a pas convergé après " + iterations + " " + unit + ".");
+            }
+        }
+        listeners.finish(iterations, reason == SolverResult.StopReason.CONVERGED);
+        return new SolverResult(x, iterations, residualNorm, reason);
+    }
+
+    private static double norm(double[] B) {
+        double normB = 0.0;
+        for (double b : B) {
+            normB += b * b;
+        }
+        return Math.sqrt(normB);
+    }
+
+    /**
+     * Norme L2 de B - Ax pour une matrice dense.
+     */
+    static double residualNorm(double[][] A, double[] B, double[] x) {
+        double norm = 0.0;
+        for (int i = 0; i < A.length; i++) {
+            double ri = B[i];
+            for (int j = 0; j < x.length; j++) {
+                ri -= A[i][j] * x[j];
+            }
+            norm += ri * ri;
+        }
+        return Math.sqrt(norm);
+    }
+}
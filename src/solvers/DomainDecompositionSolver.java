@@ -0,0 +1,281 @@
+package solvers;
+
+import storage.CDS;
+import storage.StencilOperator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+public class DomainDecompositionSolver implements Solver {
+
+    private static final int DEFAULT_OVERLAP = 2;
+    private static final int ACCEPT_TIMEOUT_MS = 60_000;
+
+    private final int subdomains;
+    private final int overlap;
+    private final int port;
+    private final boolean spawnWorkers;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public DomainDecompositionSolver(int subdomains) {
+        this(subdomains, DEFAULT_OVERLAP);
+    }
+
+    /**
+     * Les sous-domaines sont des processus Java lancés sur la machine locale (port choisi par le système).
+     */
+    public DomainDecompositionSolver(int subdomains, int overlap) {
+        this(subdomains, overlap, 0, true);
+    }
+
+    /**
+     * @param subdomains   Le nombre de sous-domaines (bandes de lignes de la grille), un processus chacun.
+     * @param overlap      Le nombre de lignes de recouvrement ajoutées de chaque côté d'une bande (0 : bloc-Jacobi).
+     * @param port         Le port d'écoute du coordinateur (0 : choisi par le système).
+     * @param spawnWorkers true pour lancer les processus localement ; false pour attendre des processus
+     *                     SubdomainWorker lancés à la main (par exemple sur d'autres nœuds).
+     */
+    public DomainDecompositionSolver(int subdomains, int overlap, int port, boolean spawnWorkers) {
+        if (subdomains < 1 || overlap < 0) {
+            throw new IllegalArgumentException("Il faut au moins un sous-domaine et un recouvrement positif ou nul.");
+        }
+        this.subdomains = subdomains;
+        this.overlap = overlap;
+        this.port = port;
+        this.spawnWorkers = spawnWorkers;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public DomainDecompositionSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout le système Ax = B par décomposition de domaine (Schwarz additif restreint) sur plusieurs processus.
+     * La grille n x m est découpée en bandes de lignes ; chaque processus possède une bande, l'étend de
+     * overlap lignes de chaque côté et la résout exactement (factorisation bande) avec, comme conditions de
+     * Dirichlet, la ligne voisine (halo d'une cellule) de l'itération précédente. Seules les lignes possédées
+     * sont conservées. Le coordinateur est au centre d'une topologie en étoile : il relaie les halos et teste
+     * la convergence sur max |x_nouveau - x_ancien| des lignes possédées.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode avec un critère d'arrêt configurable. Un critère sur le résidu oblige à rassembler
+     * la solution à chaque test : l'espacer avec withCheckInterval.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getM();
+        // Chaque bande doit contenir au moins overlap + 1 lignes pour fournir les halos de ses voisines
+        int count = Math.max(1, Math.min(subdomains, m / (overlap + 1)));
+        Strip[] strips = new Strip[count];
+        for (int k = 0; k < count; k++) {
+            strips[k] = new Strip(n, m, (int) ((long) m * k / count), (int) ((long) m * (k + 1) / count), overlap);
+        }
+
+        List<Process> processes = new ArrayList<>();
+        InetAddress address = spawnWorkers ? InetAddress.getLoopbackAddress() : null;
+        try (ServerSocket server = new ServerSocket(port, count, address)) {
+            server.setSoTimeout(ACCEPT_TIMEOUT_MS);
+            if (spawnWorkers) {
+                for (int k = 0; k < count; k++) {
+                    processes.add(spawnWorker(server.getLocalPort()));
+                }
+            } else {
+                System.out.println("En attente de " + count + " sous-domaines : java -cp <classes> "
+                        + SubdomainWorker.class.getName() + " <hôte> " + server.getLocalPort());
+            }
+
+            for (Strip strip : strips) {
+                strip.connect(server.accept());
+                strip.sendInit(A, B, x0);
+            }
+            try {
+                SolverResult result = iterate(A, B, strips, criterion);
+                for (Strip strip : strips) {
+                    strip.out.writeInt(SubdomainWorker.STOP);
+                    strip.out.flush();
+                }
+                return result;
+            } finally {
+                for (Strip strip : strips) {
+                    strip.socket.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la communication avec les sous-domaines.", e);
+        } finally {
+            for (Process process : processes) {
+                try {
+                    if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    process.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * A doit provenir d'une grille uniforme à coefficients constants (voir StencilOperator.fromCds).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        return solve(StencilOperator.fromCds(A), B, x0, criterion);
+    }
+
+    private SolverResult iterate(StencilOperator A, double[] B, Strip[] strips, StoppingCriterion criterion) throws IOException {
+        int n = A.getN();
+        int count = strips.length;
+        // Le débit mesuré est celui du réseau : 2 lignes renvoyées par sous-domaine, 2 halos par frontière interne
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Décomposition de domaine (Schwarz additif, " + count
+                + " processus, recouvrement " + overlap + ")", criterion, B, listeners, A.getSize(),
+                (2L * count + 2L * (count - 1)) * n * Double.BYTES);
+        // Le résidu global n'est disponible qu'après rassemblement de la solution
+        DoubleSupplier residual = () -> {
+            try {
+                return A.residualNorm(B, gather(strips, n));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Échec de la communication avec les sous-domaines.", e);
+            }
+        };
+        while (true) {
+            // Tous les sous-domaines reçoivent leurs halos avant la première lecture : ils calculent en parallèle
+            for (int s = 0; s < count; s++) {
+                DataOutputStream out = strips[s].out;
+                out.writeInt(SubdomainWorker.ITERATE);
+                if (s > 0) writeArray(out, strips[s - 1].bottom);
+                if (s < count - 1) writeArray(out, strips[s + 1].top);
+                out.flush();
+            }
+            double maxDiff = 0;
+            for (Strip strip : strips) {
+                maxDiff = Math.max(maxDiff, strip.in.readDouble());
+                SubdomainWorker.readInto(strip.in, strip.top);
+                SubdomainWorker.readInto(strip.in, strip.bottom);
+            }
+
+            if (monitor.check(maxDiff, residual)) {
+                double[] x = gather(strips, n);
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    private static double[] gather(Strip[] strips, int n) throws IOException {
+        for (Strip strip : strips) {
+            strip.out.writeInt(SubdomainWorker.GATHER);
+            strip.out.flush();
+        }
+        double[] x = new double[strips[strips.length - 1].ownedEnd * n];
+        for (Strip strip : strips) {
+            for (int idx = strip.ownedStart * n; idx < strip.ownedEnd * n; idx++) {
+                x[idx] = strip.in.readDouble();
+            }
+        }
+        return x;
+    }
+
+    private static Process spawnWorker(int port) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                SubdomainWorker.class.getName(), InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(port))
+                .inheritIO()
+                .start();
+    }
+
+    private static void writeArray(DataOutputStream out, double[] values) throws IOException {
+        for (double v : values) {
+            out.writeDouble(v);
+        }
+    }
+
+    // Bande de lignes [ownedStart, ownedEnd) d'un sous-domaine, étendue à [extStart, extEnd), et sa connexion.
+    private static final class Strip {
+        final int n;
+        final int m;
+        final int ownedStart;
+        final int ownedEnd;
+        final int extStart;
+        final int extEnd;
+        final int topRow;     // ligne envoyée au voisin du dessous (son halo supérieur)
+        final int bottomRow;  // ligne envoyée au voisin du dessus (son halo inférieur)
+        final double[] top;
+        final double[] bottom;
+        Socket socket;
+        DataInputStream in;
+        DataOutputStream out;
+
+        Strip(int n, int m, int ownedStart, int ownedEnd, int overlap) {
+            this.n = n;
+            this.m = m;
+            this.ownedStart = ownedStart;
+            this.ownedEnd = ownedEnd;
+            this.extStart = Math.max(0, ownedStart - overlap);
+            this.extEnd = Math.min(m, ownedEnd + overlap);
+            // Le voisin du dessous s'étend jusqu'à ownedStart + overlap - 1 : son halo est la ligne suivante
+            this.topRow = Math.min(ownedStart + overlap, ownedEnd - 1);
+            // Le voisin du dessus commence à ownedEnd - overlap : son halo est la ligne précédente
+            this.bottomRow = Math.max(ownedEnd - overlap - 1, ownedStart);
+            this.top = new double[n];
+            this.bottom = new double[n];
+        }
+
+        void connect(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void sendInit(StencilOperator A, double[] B, double[] x0) throws IOException {
+            out.writeInt(n);
+            out.writeInt(extEnd - extStart);
+            out.writeDouble(A.getDiag());
+            out.writeDouble(A.getOffX());
+            out.writeDouble(A.getOffY());
+            out.writeInt(ownedStart - extStart);
+            out.writeInt(ownedEnd - ownedStart);
+            out.writeBoolean(extStart > 0);
+            out.writeBoolean(extEnd < m);
+            out.writeInt(topRow - extStart);
+            out.writeInt(bottomRow - extStart);
+            for (int idx = extStart * n; idx < extEnd * n; idx++) out.writeDouble(B[idx]);
+            for (int idx = extStart * n; idx < extEnd * n; idx++) out.writeDouble(x0[idx]);
+            out.flush();
+            System.arraycopy(x0, topRow * n, top, 0, n);
+            System.arraycopy(x0, bottomRow * n, bottom, 0, n);
+        }
+    }
+}
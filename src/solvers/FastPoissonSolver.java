@@ -0,0 +1,119 @@
+package solvers;
+
+import storage.CDS;
+import storage.StencilOperator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public class FastPoissonSolver implements Solver, BatchSolver {
+
+    // Transformées (et leurs tables de twiddles) partagées entre les résolutions, par longueur
+    private static final Map<Integer, SineTransform> TRANSFORMS = new ConcurrentHashMap<>();
+
+    /**
+     * Résout directement Ax = B pour le stencil à 5 points à coefficients constants avec conditions
+     * de Dirichlet, par diagonalisation dans la base des sinus discrets, en O(N log N) :
+     * 1. DST-I de B le long de x (chaque ligne) puis le long de y (chaque colonne) ;
+     * 2. division par les valeurs propres diag + 2 offX cos(πk/(n+1)) + 2 offY cos(πq/(m+1)) ;
+     * 3. DST-I inverse dans les deux directions.
+     * Les lignes puis les colonnes sont transformées en parallèle.
+     *
+     * @param A L'opérateur du système (stencil à 5 points).
+     * @param B Le vecteur second membre.
+     * @return Le vecteur solution x (exact aux arrondis près).
+     */
+    public double[] solve(StencilOperator A, double[] B) {
+        double[] x = solve(A, B, eigenvalues(A.getN(), A.getOffX()), eigenvalues(A.getM(), A.getOffY()));
+        System.out.println("Résolution directe par DST (Stencil) terminée.");
+        return x;
+    }
+
+    /**
+     * Même résolution pour un lot de seconds membres : les valeurs propres et les transformées sont préparées
+     * une fois pour tout le lot.
+     *
+     * @param A L'opérateur du système (stencil à 5 points).
+     * @param B Les seconds membres.
+     * @return Les vecteurs solutions, dans l'ordre de B.
+     */
+    public double[][] solveAll(StencilOperator A, double[][] B) {
+        double[] eigX = eigenvalues(A.getN(), A.getOffX());
+        double[] eigY = eigenvalues(A.getM(), A.getOffY());
+        double[][] x = new double[B.length][];
+        for (int k = 0; k < B.length; k++) {
+            x[k] = solve(A, B[k], eigX, eigY);
+        }
+        System.out.println("Résolution directe par DST (Stencil) de " + B.length + " seconds membres terminée.");
+        return x;
+    }
+
+    /**
+     * Résolution directe : x0 et le critère d'arrêt sont ignorés. A doit provenir d'une grille uniforme
+     * à coefficients constants (voir StencilOperator.fromCds).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = solve(StencilOperator.fromCds(A), B);
+        return new SolverResult(x, 0, A.residualNorm(B, x), SolverResult.StopReason.DIRECT);
+    }
+
+    /**
+     * Résolution directe d'un lot : x0 et le critère d'arrêt sont ignorés (voir solveAll(StencilOperator, double[][])).
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        double[][] x = solveAll(StencilOperator.fromCds(A), B);
+        SolverResult[] results = new SolverResult[B.length];
+        for (int k = 0; k < B.length; k++) {
+            results[k] = new SolverResult(x[k], 0, A.residualNorm(B[k], x[k]), SolverResult.StopReason.DIRECT);
+        }
+        return results;
+    }
+
+    // Transformée, division par les valeurs propres, transformée inverse (étapes 1 à 3 de solve).
+    private static double[] solve(StencilOperator A, double[] B, double[] eigX, double[] eigY) {
+        int n = A.getN();
+        int m = A.getM();
+        double[] x = B.clone();
+        SineTransform dstX = transform(n);
+        SineTransform dstY = transform(m);
+
+        transformRows(x, n, m, dstX);
+        transformColumns(x, n, m, dstY);
+
+        // Facteur de normalisation des deux DST inverses : 2/(n+1) * 2/(m+1)
+        double scale = 4.0 / ((n + 1) * (double) (m + 1));
+        IntStream.range(0, m).parallel().forEach(q -> {
+            int row = q * n;
+            double base = A.getDiag() + eigY[q];
+            for (int k = 0; k < n; k++) {
+                x[row + k] *= scale / (base + eigX[k]);
+            }
+        });
+
+        transformColumns(x, n, m, dstY);
+        transformRows(x, n, m, dstX);
+        return x;
+    }
+
+    // Parts 2 off cos(πk/(length+1)) des valeurs propres, le long d'une direction de la grille.
+    private static double[] eigenvalues(int length, double off) {
+        double[] eig = new double[length];
+        for (int k = 0; k < length; k++) eig[k] = 2 * off * Math.cos(Math.PI * (k + 1) / (length + 1));
+        return eig;
+    }
+
+    private static SineTransform transform(int length) {
+        return TRANSFORMS.computeIfAbsent(length, SineTransform::new);
+    }
+
+    private static void transformRows(double[] x, int n, int m, SineTransform dst) {
+        IntStream.range(0, m).parallel().forEach(j -> dst.transform(x, j * n, 1));
+    }
+
+    private static void transformColumns(double[] x, int n, int m, SineTransform dst) {
+        IntStream.range(0, n).parallel().forEach(i -> dst.transform(x, i, n));
+    }
+}
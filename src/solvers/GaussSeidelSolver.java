@@ -2,8 +2,19 @@
 package solvers;
 
 import storage.CDS;
+import storage.StencilOperator;
 
-public class GaussSeidelSolver {
+public class GaussSeidelSolver implements Solver {
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public GaussSeidelSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
 
     /**
      * Résout le système Ax = B en utilisant la méthode de Gauss-Seidel pour une matrice dense.
@@ -16,10 +27,22 @@ public class GaussSeidelSolver {
      * @return Le vecteur solution x.
      */
     public double[] solve(double[][] A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode (stockage dense), avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(double[][] A, double[] B, double[] x0, StoppingCriterion criterion) {
         int n = A.length;
         double[] x = x0.clone(); // Utiliser une copie pour ne pas modifier l'original
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Gauss-Seidel (Dense)", criterion, B, listeners,
+                n, (long) n * n * Double.BYTES);
 
-        for (int k = 0; k < maxIter; k++) {
+        while (true) {
             double maxDiff = 0;
 
             for (int i = 0; i < n; i++) {
@@ -38,13 +61,10 @@ public class GaussSeidelSolver {
                 }
             }
 
-            if (maxDiff < tol) {
-                System.out.println("Gauss-Seidel (Dense) a convergé en " + (k + 1) + " itérations.");
-                return x;
+            if (monitor.check(maxDiff, () -> ConvergenceMonitor.residualNorm(A, B, x), x)) {
+                return monitor.result(x, () -> ConvergenceMonitor.residualNorm(A, B, x));
             }
         }
-        System.err.println("Gauss-Seidel (Dense) n'a pas convergé après " + maxIter + " itérations.");
-        return x;
     }
 
     /**
@@ -58,10 +78,21 @@ public class GaussSeidelSolver {
      * @return Le vecteur solution x.
      */
     public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
         int size = A.getSize();
+        int n = A.getN(); // largeur de la grille : décalage des voisins du bas et du haut
         double[] x = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Gauss-Seidel (CDS)", criterion, B, listeners,
+                size, 7L * size * Double.BYTES);
 
-        for (int k = 0; k < maxIter; k++) {
+        while (true) {
             double maxDiff = 0;
 
             for (int i = 0; i < size; i++) {
@@ -73,9 +104,9 @@ public class GaussSeidelSolver {
                 // Voisin de droite (i+1)
                 if (i < size - 1 && A.get(i, i + 1) != 0) sum += A.get(i, i + 1) * x[i + 1];
                 // Voisin du bas (i-n)
-                if (i >= size/B.length && A.get(i, i - size/B.length) != 0) sum += A.get(i, i - size/B.length) * x[i - size/B.length]; // size/B.length = n
+                if (i >= n && A.get(i, i - n) != 0) sum += A.get(i, i - n) * x[i - n];
                 // Voisin du haut (i+n)
-                if (i < size - size/B.length && A.get(i, i + size/B.length) != 0) sum += A.get(i, i + size/B.length) * x[i + size/B.length];
+                if (i < size - n && A.get(i, i + n) != 0) sum += A.get(i, i + n) * x[i + n];
 
                 double old_xi = x[i];
                 x[i] = (B[i] - sum) / A.get(i, i); // A.get(i,i) est l'élément diagonal
@@ -86,12 +117,80 @@ public class GaussSeidelSolver {
                 }
             }
 
-            if (maxDiff < tol) {
-                System.out.println("Gauss-Seidel (CDS) a convergé en " + (k + 1) + " itérations.");
-                return x;
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
             }
         }
-        System.err.println("Gauss-Seidel (CDS) n'a pas convergé après " + maxIter + " itérations.");
-        return x;
+    }
+
+    /**
+     * Résout le système Ax = B par Gauss-Seidel avec l'opérateur matrix-free à 5 points.
+     * Le balayage se fait en (i, j) explicites : pas de test de bord à l'intérieur de la grille.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getM();
+        double invDiag = 1.0 / A.getDiag();
+        double offX = A.getOffX();
+        double offY = A.getOffY();
+        double[] x = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Gauss-Seidel (Stencil)", criterion, B, listeners,
+                n * m, 3L * n * m * Double.BYTES);
+
+        while (true) {
+            double maxDiff = 0;
+
+            for (int j = 0; j < m; j++) {
+                int row = j * n;
+                if (j == 0 || j == m - 1 || n < 3) {
+                    // Lignes du bord : on garde les tests sur les voisins
+                    for (int i = 0; i < n; i++) {
+                        maxDiff = Math.max(maxDiff, relaxWithChecks(A, B, x, i, j, invDiag));
+                    }
+                    continue;
+                }
+
+                maxDiff = Math.max(maxDiff, relaxWithChecks(A, B, x, 0, j, invDiag));
+
+                // Intérieur : les 4 voisins existent, aucun branchement
+                for (int idx = row + 1; idx < row + n - 1; idx++) {
+                    double old_xi = x[idx];
+                    x[idx] = (B[idx] - offX * (x[idx - 1] + x[idx + 1])
+                            - offY * (x[idx - n] + x[idx + n])) * invDiag;
+                    maxDiff = Math.max(maxDiff, Math.abs(x[idx] - old_xi));
+                }
+
+                maxDiff = Math.max(maxDiff, relaxWithChecks(A, B, x, n - 1, j, invDiag));
+            }
+
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    // Mise à jour d'un point du bord de la grille intérieure. Retourne |x_nouveau - x_ancien|.
+    private double relaxWithChecks(StencilOperator A, double[] B, double[] x, int i, int j, double invDiag) {
+        int idx = j * A.getN() + i;
+        double old_xi = x[idx];
+        x[idx] = (B[idx] - A.neighbourSum(x, i, j)) * invDiag;
+        return Math.abs(x[idx] - old_xi);
     }
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package solvers;
+
+import storage.CDS;
+import storage.CdsKernels;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Équation de la chaleur u_t - Δu = f sur le domaine de MatrixBuilder, u = g sur le bord, u = u0 à t = 0.
+ * La discrétisation en espace est celle du problème stationnaire, u' + A u = B (A de MatrixBuilder.buildCdsA,
+ * B de buildVectorB, f et g indépendants du temps), intégrée par le θ-schéma :
+ *     (I + θ Δt A) u^{k+1} = (I - (1 - θ) Δt A) u^k + Δt B
+ * θ = 1 : Euler implicite (ordre 1, amortit toutes les fréquences) ; θ = 1/2 : Crank-Nicolson (ordre 2).
+ * Le pas Δt est fixe : l'opérateur M = I + θ Δt A est assemblé une seule fois à la construction, avec sa
+ * factorisation de Cholesky bande (Method.BANDED) ou son préconditionneur IC(0) (Method.PCG_IC0), et sert
+ * ensuite à tous les pas. Un pas ne coûte alors qu'un produit par A (si θ < 1) et une résolution :
+ * descente-remontée dans la bande, ou quelques itérations de gradient conjugué parties de l'extrapolation
+ * linéaire des deux pas précédents, 2 u^k - u^{k-1}, plus proche de u^{k+1} que u^k.
+ */
+public class HeatEquationSolver {
+
+    public enum Method { BANDED, PCG_IC0 }
+
+    private final CDS A;
+    private final double[] B;
+    private final double dt;
+    private final double theta;
+    private final Method method;
+    private final CDS M; // I + θ Δt A
+    private final BandedSolver.Factorization factorization;
+    private final ConjugateGradientSolver cg;
+    private final double setupMillis;
+    private final List<TimeStepListener> listeners = new ArrayList<>();
+    private StoppingCriterion criterion = StoppingCriterion.relativeResidual(1e-10);
+
+    private int steps;
+    private int iterations;
+    private double solveMillis;
+
+    /**
+     * @param A      La matrice du problème stationnaire (MatrixBuilder.buildCdsA), non modifiée.
+     * @param B      Le second membre du problème stationnaire (source f et valeurs de bord g).
+     * @param dt     Le pas de temps.
+     * @param theta  Le paramètre du schéma, entre 0 (Euler explicite) et 1 (Euler implicite).
+     * @param method Résolution des pas : factorisation bande ou gradient conjugué préconditionné par IC(0).
+     */
+    public HeatEquationSolver(CDS A, double[] B, double dt, double theta, Method method) {
+        if (!(dt > 0) || theta < 0 || theta > 1) {
+            throw new IllegalArgumentException("Pas de temps ou paramètre θ invalide : Δt = " + dt + ", θ = " + theta + ".");
+        }
+        this.A = A;
+        this.B = B;
+        this.dt = dt;
+        this.theta = theta;
+        this.method = method;
+
+        long start = System.nanoTime();
+        this.M = shiftedOperator(A, theta * dt);
+        if (method == Method.BANDED) {
+            this.factorization = new BandedSolver().factor(M);
+            this.cg = null;
+        } else {
+            this.factorization = null;
+            this.cg = new ConjugateGradientSolver(new IncompleteCholeskyPreconditioner(M)).quietly();
+        }
+        this.setupMillis = (System.nanoTime() - start) / 1e6;
+    }
+
+    /**
+     * Ajoute un écouteur notifié après chaque pas (et pour la condition initiale).
+     */
+    public HeatEquationSolver addListener(TimeStepListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Critère d'arrêt du gradient conjugué à chaque pas (résidu relatif 1e-10 par défaut) ; sans effet pour BANDED.
+     */
+    public HeatEquationSolver withCriterion(StoppingCriterion criterion) {
+        this.criterion = criterion;
+        return this;
+    }
+
+    /**
+     * Avance de steps pas de temps. Des appels successifs continuent la même évolution : les pas et le temps
+     * passés aux écouteurs sont numérotés à la suite. Rien n'est affiché (sauf un pas non convergé) ; le bilan
+     * est donné par summary().
+     *
+     * @param u0 La solution au début (condition initiale au premier appel), non modifiée.
+     * @return La solution après steps pas.
+     */
+    public double[] run(double[] u0, int steps) {
+        CdsKernels kernels = CdsKernels.get();
+        int size = A.getSize();
+        double explicitWeight = (1 - theta) * dt;
+        double[] u = u0.clone();
+        double[] previous = null;
+        double[] rhs = new double[size];
+        double[] Au = explicitWeight > 0 ? new double[size] : null;
+        double[] next = new double[size];
+
+        long start = System.nanoTime();
+        if (this.steps == 0) {
+            notifyListeners(u);
+        }
+        for (int k = 0; k < steps; k++) {
+            // Second membre : u^k - (1 - θ) Δt A u^k + Δt B
+            if (Au != null) {
+                kernels.multiply(A, u, Au);
+                for (int i = 0; i < size; i++) {
+                    rhs[i] = u[i] - explicitWeight * Au[i] + dt * B[i];
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    rhs[i] = u[i] + dt * B[i];
+                }
+            }
+
+            if (factorization != null) {
+                factorization.solve(rhs, next);
+            } else {
+                // Départ du gradient conjugué : extrapolation des deux pas précédents (dans next, déjà libre)
+                if (previous != null) {
+                    for (int i = 0; i < size; i++) {
+                        next[i] = 2 * u[i] - previous[i];
+                    }
+                } else {
+                    System.arraycopy(u, 0, next, 0, size);
+                }
+                SolverResult result = cg.solve(M, rhs, next, criterion);
+                if (!result.isConverged()) {
+                    System.err.println("Pas " + (this.steps + 1) + " : " + result);
+                }
+                iterations += result.getIterations();
+                next = result.getSolution();
+            }
+
+            // Rotation des tableaux : u^{k-1} <- u^k <- u^{k+1}
+            double[] free = previous != null ? previous : new double[size];
+            previous = u;
+            u = next;
+            next = free;
+            this.steps++;
+            notifyListeners(u);
+        }
+        solveMillis += (System.nanoTime() - start) / 1e6;
+        return u;
+    }
+
+    /**
+     * Le bilan des pas effectués depuis la construction : schéma, résolution, temps par pas et de préparation.
+     */
+    public String summary() {
+        String solve = method == Method.BANDED
+                ? (factorization.isCholesky() ? "Cholesky bande" : "LU bande")
+                : String.format("PCG IC(0), %.1f itérations par pas", steps > 0 ? (double) iterations / steps : 0.0);
+        return String.format("Chaleur (%s, %s) : %d pas de Δt = %.2e en %.2f ms (%.3f ms par pas), préparation %.2f ms.",
+                schemeName(), solve, steps, dt, solveMillis, steps > 0 ? solveMillis / steps : 0.0, setupMillis);
+    }
+
+    /**
+     * Le nombre de pas effectués depuis la construction.
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Le temps atteint, getSteps() * Δt.
+     */
+    public double getTime() {
+        return steps * dt;
+    }
+
+    /**
+     * Le total des itérations du gradient conjugué sur tous les pas (0 pour BANDED).
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Le temps d'assemblage de M et de sa factorisation ou de son préconditionneur, payé une seule fois.
+     */
+    public double getSetupMillis() {
+        return setupMillis;
+    }
+
+    /**
+     * Le temps total passé dans run, préparation exclue.
+     */
+    public double getSolveMillis() {
+        return solveMillis;
+    }
+
+    private void notifyListeners(double[] u) {
+        for (TimeStepListener listener : listeners) {
+            listener.onStep(steps, steps * dt, u);
+        }
+    }
+
+    private String schemeName() {
+        if (theta == 1) return "Euler implicite";
+        if (theta == 0.5) return "Crank-Nicolson";
+        if (theta == 0) return "Euler explicite";
+        return "θ = " + theta;
+    }
+
+    // I + s A, dans un nouveau stockage CDS (A n'est pas modifiée).
+    private static CDS shiftedOperator(CDS A, double s) {
+        CDS M = new CDS(A.getSize(), A.getN());
+        scale(A.getMainDiag(), s, M.getMainDiag());
+        scale(A.getUpperDiag1(), s, M.getUpperDiag1());
+        scale(A.getLowerDiag1(), s, M.getLowerDiag1());
+        scale(A.getUpperDiagN(), s, M.getUpperDiagN());
+        scale(A.getLowerDiagN(), s, M.getLowerDiagN());
+        double[] main = M.getMainDiag();
+        for (int i = 0; i < main.length; i++) {
+            main[i] += 1.0;
+        }
+        return M;
+    }
+
+    private static void scale(double[] source, double s, double[] target) {
+        for (int i = 0; i < source.length; i++) {
+            target[i] = s * source[i];
+        }
+    }
+}
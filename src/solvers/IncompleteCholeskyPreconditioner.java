@@ -0,0 +1,48 @@
+package solvers;
+
+import storage.CDS;
+
+/**
+ * Préconditionneur de Cholesky incomplet sans remplissage, IC(0) : M = (D~ + L) D~^-1 (D~ + U).
+ * Pour une matrice à 5 diagonales, IC(0) garde exactement les diagonales hors-diagonales de A ;
+ * seule la diagonale D~ change :
+ * d~[i] = a[i] - A[i][i-1]² / d~[i-1] - A[i][i-n]² / d~[i-n].
+ * Le facteur est stocké dans le même format CDS que A.
+ */
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+    private final CDS factor;
+
+    /**
+     * @param A La matrice du système (symétrique définie positive).
+     */
+    public IncompleteCholeskyPreconditioner(CDS A) {
+        this.factor = TriangularSweeps.copyOffDiagonals(A);
+        int size = A.getSize();
+        int n = A.getN();
+        double[] a = A.getMainDiag();
+        double[] low1 = A.getLowerDiag1();
+        double[] lowN = A.getLowerDiagN();
+        double[] d = factor.getMainDiag();
+
+        for (int i = 0; i < size; i++) {
+            double di = a[i];
+            if (i > 0) di -= low1[i - 1] * low1[i - 1] / d[i - 1];
+            if (i >= n) di -= lowN[i - n] * lowN[i - n] / d[i - n];
+            if (di <= 0) {
+                throw new ArithmeticException("Pivot non positif dans IC(0) à la ligne " + i
+                        + " : la matrice n'est pas définie positive.");
+            }
+            d[i] = di;
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        TriangularSweeps.solveFactored(factor, r, z);
+    }
+
+    @Override
+    public void apply(double[][] R, double[][] Z) {
+        TriangularSweeps.solveFactored(factor, R, Z);
+    }
+}
@@ -0,0 +1,55 @@
+package solvers;
+
+/**
+ * Reçoit le déroulement d'une résolution itérative : un appel par itération, avec la norme de la mise à jour
+ * (max |x_nouveau - x_ancien|, ou la norme du résidu pour le gradient conjugué) et, si demandé,
+ * la norme L2 du résidu B - Ax.
+ */
+public interface IterationListener {
+
+    /**
+     * Début de la résolution.
+     *
+     * @param solver            Le nom du solveur (par exemple "Jacobi (CDS)").
+     * @param size              Le nombre d'inconnues.
+     * @param bytesPerIteration Estimation des octets lus et écrits en mémoire par itération.
+     */
+    default void onStart(String solver, int size, long bytesPerIteration) {
+    }
+
+    /**
+     * @param iteration    Le numéro de l'itération (à partir de 1).
+     * @param updateNorm   La norme de la mise à jour utilisée pour le test de convergence.
+     * @param residualNorm La norme L2 du résidu, ou NaN si elle n'a pas été calculée à cette itération.
+     */
+    void onIteration(int iteration, double updateNorm, double residualNorm);
+
+    /**
+     * Fin de la résolution.
+     */
+    default void onFinish(int iterations, boolean converged) {
+    }
+
+    /**
+     * Période de calcul du résidu : le solveur calcule ||B - Ax|| toutes les residualInterval() itérations
+     * (une passe supplémentaire sur la matrice), 0 pour ne jamais le calculer.
+     */
+    default int residualInterval() {
+        return 0;
+    }
+
+    /**
+     * Période des points de reprise : le solveur passe son itéré courant à onCheckpoint au plus une fois toutes
+     * les checkpointInterval() itérations, 0 pour jamais.
+     */
+    default int checkpointInterval() {
+        return 0;
+    }
+
+    /**
+     * Point de reprise : x est l'itéré du solveur après l'itération iteration. Le tableau appartient au solveur
+     * et sera modifié au retour : le copier ou l'écrire avant de rendre la main.
+     */
+    default void onCheckpoint(int iteration, double[] x) {
+    }
+}
@@ -0,0 +1,86 @@
+package solvers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Liste des IterationListener d'un solveur. Sans écouteur, chaque notification se réduit à un test :
+ * le résidu n'est jamais calculé et rien n'est alloué.
+ */
+final class IterationListeners implements Iterable<IterationListener> {
+    private final List<IterationListener> listeners = new ArrayList<>();
+    private int residualInterval;
+    private int checkpointInterval;
+    private int lastCheckpoint;
+
+    void add(IterationListener listener) {
+        listeners.add(listener);
+        int interval = listener.residualInterval();
+        if (interval > 0) {
+            residualInterval = residualInterval == 0 ? interval : Math.min(residualInterval, interval);
+        }
+        interval = listener.checkpointInterval();
+        if (interval > 0) {
+            checkpointInterval = checkpointInterval == 0 ? interval : Math.min(checkpointInterval, interval);
+        }
+    }
+
+    void start(String solver, int size, long bytesPerIteration) {
+        lastCheckpoint = 0;
+        for (IterationListener listener : listeners) {
+            listener.onStart(solver, size, bytesPerIteration);
+        }
+    }
+
+    /**
+     * @param residual Calcule ||B - Ax|| ; appelé seulement si un écouteur le demande à cette itération (peut être null).
+     */
+    void iteration(int iteration, double updateNorm, DoubleSupplier residual) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        double residualNorm = residual != null && residualInterval > 0 && iteration % residualInterval == 0
+                ? residual.getAsDouble() : Double.NaN;
+        for (IterationListener listener : listeners) {
+            listener.onIteration(iteration, updateNorm, residualNorm);
+        }
+    }
+
+    /**
+     * Variante pour les solveurs qui connaissent déjà la norme du résidu (gradient conjugué).
+     */
+    void iteration(int iteration, double updateNorm, double residualNorm) {
+        for (IterationListener listener : listeners) {
+            listener.onIteration(iteration, updateNorm, residualNorm);
+        }
+    }
+
+    /**
+     * Passe l'itéré courant aux écouteurs qui prennent des points de reprise, au plus une fois toutes les
+     * checkpointInterval itérations (les solveurs dont un pas compte plusieurs itérations sautent des numéros).
+     */
+    void checkpoint(int iteration, double[] x) {
+        if (checkpointInterval == 0 || iteration - lastCheckpoint < checkpointInterval) {
+            return;
+        }
+        lastCheckpoint = iteration;
+        for (IterationListener listener : listeners) {
+            if (listener.checkpointInterval() > 0) {
+                listener.onCheckpoint(iteration, x);
+            }
+        }
+    }
+
+    void finish(int iterations, boolean converged) {
+        for (IterationListener listener : listeners) {
+            listener.onFinish(iterations, converged);
+        }
+    }
+
+    @Override
+    public Iterator<IterationListener> iterator() {
+        return listeners.iterator();
+    }
+}
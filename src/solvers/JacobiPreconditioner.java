@@ -0,0 +1,34 @@
+package solvers;
+
+import storage.CDS;
+import storage.SparseMatrix;
+
+/**
+ * Préconditionneur de Jacobi (diagonal) : M = D.
+ */
+public class JacobiPreconditioner implements Preconditioner {
+    private final double[] invDiag;
+
+    public JacobiPreconditioner(CDS A) {
+        double[] diag = A.getMainDiag();
+        this.invDiag = new double[diag.length];
+        for (int i = 0; i < diag.length; i++) {
+            invDiag[i] = 1.0 / diag[i];
+        }
+    }
+
+    public JacobiPreconditioner(SparseMatrix A) {
+        this.invDiag = new double[A.getRows()];
+        A.diagonal(invDiag);
+        for (int i = 0; i < invDiag.length; i++) {
+            invDiag[i] = 1.0 / invDiag[i];
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < r.length; i++) {
+            z[i] = r[i] * invDiag[i];
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package solvers;
 
 import storage.CDS;
-import java.util.Arrays;
+import storage.CdsKernels;
+import storage.StencilOperator;
 
-public class JacobiSolver {
+public class JacobiSolver implements Solver {
+
+    private final IterationListeners listeners = new IterationListeners();
+    // Balayage sur la CDS : version SIMD si disponible
+    private final CdsKernels kernels = CdsKernels.get();
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public JacobiSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
 
     /**
      * Solve the system Ax = B By JAcobi method.
@@ -16,11 +29,24 @@ public class JacobiSolver {
      * @return Le vecteur solution x.
      */
     public double[] solve(double[][] A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Résout le système Ax = B par la méthode de Jacobi (stockage dense), avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(double[][] A, double[] B, double[] x0, StoppingCriterion criterion) {
         int n = A.length;
-        double[] x = new double[n];
+        double[] next = new double[n];
         double[] x_old = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Jacobi (Dense)", criterion, B, listeners,
+                n, (long) n * n * Double.BYTES);
 
-        for (int k = 0; k < maxIter; k++) {
+        while (true) {
+            double[] x = next;
             for (int i = 0; i < n; i++) {
                 double sum = 0.0;
                 for (int j = 0; j < n; j++) {
@@ -40,16 +66,14 @@ public class JacobiSolver {
                 }
             }
 
-            if (maxDiff < tol) {
-                System.out.println("Jacobi (Dense) a convergé en " + (k + 1) + " itérations.");
-                return x;
+            if (monitor.check(maxDiff, () -> ConvergenceMonitor.residualNorm(A, B, x), x)) {
+                return monitor.result(x, () -> ConvergenceMonitor.residualNorm(A, B, x));
             }
 
-            System.arraycopy(x, 0, x_old, 0, n);
+            // Échange des tableaux au lieu d'une copie : x est entièrement réécrit à l'itération suivante
+            next = x_old;
+            x_old = x;
         }
-
-        System.err.println("Jacobi (Dense) n'a pas convergé après " + maxIter + " itérations.");
-        return x;
     }
 
     /**
@@ -63,44 +87,112 @@ public class JacobiSolver {
      * @return Le vecteur solution x.
      */
     public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
         int size = A.getSize();
-        int gridWidth = (int) Math.sqrt(size); // Approximation de n, plus précis si n=m
-        double[] x = new double[size];
+        double[] next = new double[size];
         double[] x_old = x0.clone();
+        // 5 diagonales + B + x_old lus, x écrit
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Jacobi (CDS)", criterion, B, listeners,
+                size, 8L * size * Double.BYTES);
 
+        while (true) {
+            double[] x = next;
+            // x = x_old + D^-1 (B - A x_old) ; le noyau renvoie directement max |x - x_old|
+            double maxDiff = kernels.jacobiSweep(A, B, x_old, x);
 
-        for (int k = 0; k < maxIter; k++) {
-            for (int i = 0; i < size; i++) {
-                double sum = 0.0;
+            if (monitor.check(maxDiff, () -> kernels.residualNorm(A, B, x), x)) {
+                return monitor.result(x, () -> kernels.residualNorm(A, B, x));
+            }
 
-                // Somme sur les 4 voisins en utilisant les valeurs de l'itération précédente
-                if (i > 0 && A.get(i, i - 1) != 0) sum += A.get(i, i - 1) * x_old[i - 1];
-                if (i < size - 1 && A.get(i, i + 1) != 0) sum += A.get(i, i + 1) * x_old[i + 1];
-                if (i >= gridWidth && A.get(i, i - gridWidth) != 0) sum += A.get(i, i - gridWidth) * x_old[i - gridWidth];
-                if (i < size - gridWidth && A.get(i, i + gridWidth) != 0) sum += A.get(i, i + gridWidth) * x_old[i + gridWidth];
+            // Préparer l'itération suivante
+            next = x_old;
+            x_old = x;
+        }
+    }
 
-                x[i] = (B[i] - sum) / A.get(i, i);
+    /**
+     * Résout le système Ax = B par la méthode de Jacobi avec l'opérateur matrix-free à 5 points.
+     * Seuls x, x_old et B sont lus en mémoire : les coefficients sont des constantes du stencil.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int size = A.getSize();
+        double[] next = new double[size];
+        double[] x_old = x0.clone();
+        // B et x_old lus, x écrit
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Jacobi (Stencil)", criterion, B, listeners,
+                size, 3L * size * Double.BYTES);
+
+        while (true) {
+            double[] x = next;
+            double maxDiff = sweep(A, B, x_old, x);
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
             }
 
-            // Vérification de la convergence
-            double maxDiff = 0;
-            for (int i = 0; i < size; i++) {
-                double diff = Math.abs(x[i] - x_old[i]);
-                if (diff > maxDiff) {
-                    maxDiff = diff;
+            next = x_old;
+            x_old = x;
+        }
+    }
+
+    // Une itération de Jacobi : x = D^-1 (B - (A - D) x_old). Retourne max |x - x_old|.
+    private double sweep(StencilOperator A, double[] B, double[] x_old, double[] x) {
+        int n = A.getN();
+        int m = A.getM();
+        double invDiag = 1.0 / A.getDiag();
+        double offX = A.getOffX();
+        double offY = A.getOffY();
+        double maxDiff = 0;
+
+        for (int j = 0; j < m; j++) {
+            int row = j * n;
+            if (j == 0 || j == m - 1 || n < 3) {
+                // Lignes du bord : on garde les tests sur les voisins
+                for (int i = 0; i < n; i++) {
+                    int idx = row + i;
+                    x[idx] = (B[idx] - A.neighbourSum(x_old, i, j)) * invDiag;
+                    maxDiff = Math.max(maxDiff, Math.abs(x[idx] - x_old[idx]));
                 }
+                continue;
             }
 
-            if (maxDiff < tol) {
-                System.out.println("Jacobi (CDS) a convergé en " + (k + 1) + " itérations.");
-                return x;
+            x[row] = (B[row] - A.neighbourSum(x_old, 0, j)) * invDiag;
+            maxDiff = Math.max(maxDiff, Math.abs(x[row] - x_old[row]));
+
+            // Intérieur : les 4 voisins existent, aucun branchement
+            for (int idx = row + 1; idx < row + n - 1; idx++) {
+                x[idx] = (B[idx] - offX * (x_old[idx - 1] + x_old[idx + 1])
+                        - offY * (x_old[idx - n] + x_old[idx + n])) * invDiag;
+                maxDiff = Math.max(maxDiff, Math.abs(x[idx] - x_old[idx]));
             }
 
-            // Préparer l'itération suivante
-            System.arraycopy(x, 0, x_old, 0, size);
+            int last = row + n - 1;
+            x[last] = (B[last] - A.neighbourSum(x_old, n - 1, j)) * invDiag;
+            maxDiff = Math.max(maxDiff, Math.abs(x[last] - x_old[last]));
         }
-
-        System.err.println("Jacobi (CDS) n'a pas convergé après " + maxIter + " itérations.");
-        return x;
+        return maxDiff;
     }
 }
\ No newline at end of file
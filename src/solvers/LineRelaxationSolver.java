@@ -0,0 +1,196 @@
+package solvers;
+
+import storage.CDS;
+import storage.StencilOperator;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class LineRelaxationSolver implements Solver {
+
+    /**
+     * Direction des lignes résolues exactement : X (lignes de la grille), Y (colonnes),
+     * ALTERNATING (X puis Y à chaque itération) ou AUTO (direction du couplage le plus fort).
+     */
+    public enum Direction { X, Y, ALTERNATING, AUTO }
+
+    private final Direction direction;
+    private final ForkJoinPool pool;
+    private final ThomasSolver thomas = new ThomasSolver();
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public LineRelaxationSolver() {
+        this(Direction.AUTO);
+    }
+
+    public LineRelaxationSolver(Direction direction) {
+        this(direction, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param direction La direction des lignes.
+     * @param pool      Le pool de threads sur lequel les lignes d'une même couleur sont résolues.
+     */
+    public LineRelaxationSolver(Direction direction, ForkJoinPool pool) {
+        this.direction = direction;
+        this.pool = pool;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public LineRelaxationSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout Ax = B par Gauss-Seidel par lignes en ordre zébré : toutes les lignes paires sont résolues
+     * exactement (système tridiagonal de Thomas) en parallèle, puis toutes les lignes impaires.
+     * Sur une grille anisotrope (l très différent de h), les lignes dans la direction du couplage fort
+     * lissent l'erreur là où Gauss-Seidel point par point stagne.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getM();
+        double[] x = x0.clone();
+        double[] work = new double[x.length];
+
+        Direction dir = direction;
+        if (dir == Direction.AUTO) {
+            dir = Math.abs(A.getOffX()) >= Math.abs(A.getOffY()) ? Direction.X : Direction.Y;
+        }
+        boolean rows = dir == Direction.X || dir == Direction.ALTERNATING;
+        boolean columns = dir == Direction.Y || dir == Direction.ALTERNATING;
+
+        // Matrices tridiagonales des lignes (en x) et des colonnes (en y), factorisées une seule fois
+        double[] aX = constant(n - 1, A.getOffX());
+        double[] factorX = new double[2 * n];
+        thomas.factor(aX, constant(n, A.getDiag()), aX, factorX);
+        double[] aY = constant(m - 1, A.getOffY());
+        double[] factorY = new double[2 * m];
+        thomas.factor(aY, constant(m, A.getDiag()), aY, factorY);
+
+        // Par direction : B et x lus, second membre des lignes écrit puis relu, x écrit
+        long bytes = ((rows ? 5L : 0L) + (columns ? 5L : 0L)) * x.length * Double.BYTES;
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Gauss-Seidel par lignes " + dir + " (Stencil)", criterion, B,
+                listeners, x.length, bytes);
+        while (true) {
+            double maxDiff = 0;
+            if (rows) {
+                for (int parity = 0; parity < 2; parity++) {
+                    maxDiff = Math.max(maxDiff, relaxRows(A, B, x, work, aX, factorX, parity));
+                }
+            }
+            if (columns) {
+                for (int parity = 0; parity < 2; parity++) {
+                    maxDiff = Math.max(maxDiff, relaxColumns(A, B, x, work, aY, factorY, parity));
+                }
+            }
+
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    /**
+     * A doit provenir d'une grille uniforme à coefficients constants (voir StencilOperator.fromCds).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        return solve(StencilOperator.fromCds(A), B, x0, criterion);
+    }
+
+    // Résout les lignes j = parity, parity + 2, ... en parallèle, par blocs de ThomasSolver.LINE_BLOCK lignes.
+    // Retourne max |x_nouveau - x_ancien|.
+    private double relaxRows(StencilOperator A, double[] B, double[] x, double[] work,
+                             double[] aX, double[] factorX, int parity) {
+        int n = A.getN();
+        int m = A.getM();
+        double offY = A.getOffY();
+        int count = (m - parity + 1) / 2;
+        int blocks = (count + ThomasSolver.LINE_BLOCK - 1) / ThomasSolver.LINE_BLOCK;
+
+        return pool.submit(() -> IntStream.range(0, blocks).parallel().mapToDouble(b -> {
+            int tStart = b * ThomasSolver.LINE_BLOCK;
+            int tEnd = Math.min(count, tStart + ThomasSolver.LINE_BLOCK);
+            for (int t = tStart; t < tEnd; t++) {
+                int j = parity + 2 * t;
+                int row = j * n;
+                for (int idx = row; idx < row + n; idx++) {
+                    double neighbours = (j > 0 ? x[idx - n] : 0.0) + (j < m - 1 ? x[idx + n] : 0.0);
+                    work[idx] = B[idx] - offY * neighbours;
+                }
+            }
+            int first = (parity + 2 * tStart) * n;
+            thomas.solveBatch(aX, factorX, work, work, first, tEnd - tStart, 2 * n, 1);
+            double maxDiff = 0;
+            for (int t = tStart; t < tEnd; t++) {
+                int row = (parity + 2 * t) * n;
+                for (int idx = row; idx < row + n; idx++) {
+                    maxDiff = Math.max(maxDiff, Math.abs(work[idx] - x[idx]));
+                    x[idx] = work[idx];
+                }
+            }
+            return maxDiff;
+        }).max().orElse(0.0)).join();
+    }
+
+    // Résout les colonnes i = parity, parity + 2, ... en parallèle, par blocs de ThomasSolver.LINE_BLOCK colonnes
+    // balayées de front (ThomasSolver.solveBatch). Retourne max |x_nouveau - x_ancien|.
+    private double relaxColumns(StencilOperator A, double[] B, double[] x, double[] work,
+                                double[] aY, double[] factorY, int parity) {
+        int n = A.getN();
+        int size = A.getSize();
+        double offX = A.getOffX();
+        int count = (n - parity + 1) / 2;
+        int blocks = (count + ThomasSolver.LINE_BLOCK - 1) / ThomasSolver.LINE_BLOCK;
+
+        return pool.submit(() -> IntStream.range(0, blocks).parallel().mapToDouble(b -> {
+            int iStart = parity + 2 * b * ThomasSolver.LINE_BLOCK;
+            int iEnd = Math.min(n, iStart + 2 * ThomasSolver.LINE_BLOCK);
+            for (int row = 0; row < size; row += n) {
+                for (int i = iStart; i < iEnd; i += 2) {
+                    int idx = row + i;
+                    double neighbours = (i > 0 ? x[idx - 1] : 0.0) + (i < n - 1 ? x[idx + 1] : 0.0);
+                    work[idx] = B[idx] - offX * neighbours;
+                }
+            }
+            thomas.solveBatch(aY, factorY, work, work, iStart, (iEnd - iStart + 1) / 2, 2, n);
+            double maxDiff = 0;
+            for (int row = 0; row < size; row += n) {
+                for (int idx = row + iStart; idx < row + iEnd; idx += 2) {
+                    maxDiff = Math.max(maxDiff, Math.abs(work[idx] - x[idx]));
+                    x[idx] = work[idx];
+                }
+            }
+            return maxDiff;
+        }).max().orElse(0.0)).join();
+    }
+
+    static double[] constant(int length, double value) {
+        double[] v = new double[length];
+        Arrays.fill(v, value);
+        return v;
+    }
+}
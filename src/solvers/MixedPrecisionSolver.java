@@ -0,0 +1,164 @@
+package solvers;
+
+import storage.CDS;
+import storage.FloatCDS;
+
+import java.util.function.DoubleSupplier;
+
+public class MixedPrecisionSolver implements Solver {
+
+    private static final int DEFAULT_MAX_INNER_SWEEPS = 500;
+    private static final double DEFAULT_INNER_REDUCTION = 1e-4;
+
+    private final int maxInnerSweeps;
+    private final double innerReduction;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public MixedPrecisionSolver() {
+        this(DEFAULT_MAX_INNER_SWEEPS, DEFAULT_INNER_REDUCTION);
+    }
+
+    /**
+     * @param maxInnerSweeps Le nombre maximum de balayages SOR en float par raffinement.
+     * @param innerReduction Le facteur de réduction de la correction visé par la résolution interne
+     *                       (au-delà de ~1e-6, la précision du float ne permet plus de progresser).
+     */
+    public MixedPrecisionSolver(int maxInnerSweeps, double innerReduction) {
+        if (maxInnerSweeps < 1) {
+            throw new IllegalArgumentException("Le nombre de balayages internes doit être positif.");
+        }
+        this.maxInnerSweeps = maxInnerSweeps;
+        this.innerReduction = innerReduction;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public MixedPrecisionSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout le système Ax = B par raffinement itératif en précision mixte :
+     * - le résidu r = B - Ax et la solution x sont calculés et accumulés en double ;
+     * - l'équation de correction A d = r est résolue approximativement par SOR Rouge-Noir (omega optimal)
+     *   sur une copie float de la matrice, avec des vecteurs float : deux fois moins d'octets par balayage ;
+     * - x += d, jusqu'à ce qu'un balayage sur la correction modifie moins de tol.
+     * Chaque raffinement gagne quelques chiffres, la précision finale est donc celle du double.
+     *
+     * @param A       La matrice du système (stockage CDS).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum de balayages float (tous raffinements confondus).
+     * @param tol     La tolérance sur la mise à jour d'un balayage, comme pour SorSolver.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode avec un critère d'arrêt configurable. Les itérations comptées sont les balayages float ;
+     * le critère est testé à la fin de chaque raffinement (updateNorm : premier balayage sur la correction).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int size = A.getSize();
+        FloatCDS Af = new FloatCDS(A);
+        float omega = (float) SorSolver.optimalOmega(A);
+        double[] x = x0.clone();
+        double[] r = new double[size];
+        float[] rf = new float[size];
+        float[] d = new float[size];
+        int maxIter = criterion.getMaxIterations();
+        // Inutile de résoudre la correction plus finement que la tolérance sur la mise à jour
+        double innerFloor = criterion.usesResidual() ? 0.0 : criterion.getTolerance();
+
+        // Un balayage float : 5 diagonales, r et d lus, d écrit (4 octets par valeur)
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Raffinement en précision mixte (CDS float/double)",
+                criterion, B, listeners, size, 8L * size * Float.BYTES).countingIn("balayages float");
+        // Le résidu calculé pour le critère d'arrêt sert aussi au raffinement suivant
+        boolean[] residualReady = {false};
+        DoubleSupplier residual = () -> {
+            residualReady[0] = true;
+            return A.residual(B, x, r);
+        };
+        int sweeps = 0;
+        while (true) {
+            if (!residualReady[0]) {
+                A.residual(B, x, r);
+            }
+            residualReady[0] = false;
+            for (int i = 0; i < size; i++) {
+                rf[i] = (float) r[i];
+                d[i] = 0.0f;
+            }
+
+            // Résolution interne en float, arrêtée quand la mise à jour a diminué de innerReduction
+            double firstDiff = 0;
+            int budget = Math.min(maxInnerSweeps, maxIter - sweeps);
+            for (int s = 0; s < budget; s++) {
+                double diff = sweep(Af, rf, d, omega);
+                sweeps++;
+                if (s == 0) firstDiff = diff;
+                if (diff <= Math.max(innerReduction * firstDiff, innerFloor)) break;
+            }
+
+            for (int i = 0; i < size; i++) {
+                x[i] += d[i];
+            }
+
+            if (monitor.check(sweeps, firstDiff, residual, x)) {
+                return monitor.result(x, residual);
+            }
+        }
+    }
+
+    // Un balayage SOR Rouge-Noir en float : aucune dépendance entre les points d'une même couleur,
+    // la boucle intérieure n'est donc limitée que par le débit mémoire. Retourne max |d_nouveau - d_ancien|.
+    private static double sweep(FloatCDS A, float[] r, float[] d, float w) {
+        int size = A.getSize();
+        int n = A.getN();
+        float[] diag = A.getMainDiag();
+        float[] up1 = A.getUpperDiag1();
+        float[] low1 = A.getLowerDiag1();
+        float[] upN = A.getUpperDiagN();
+        float[] lowN = A.getLowerDiagN();
+        float maxDiff = 0;
+
+        for (int colour = 0; colour < 2; colour++) {
+            for (int row = 0; row < size; row += n) {
+                int j = row / n;
+                int first = row + ((j + colour) & 1);
+                int end = row + n;
+                if (row < n || row + n >= size) {
+                    for (int i = first; i < end; i += 2) {
+                        maxDiff = Math.max(maxDiff, relaxRow(A, r, d, i, w));
+                    }
+                    continue;
+                }
+                // Ligne intérieure de la grille : les 5 diagonales sont présentes, aucun test
+                // (les couplages ±1 absents au bord de la ligne valent 0 dans la CDS)
+                for (int i = first; i < end; i += 2) {
+                    float old = d[i];
+                    float gs = (r[i] - low1[i - 1] * d[i - 1] - up1[i] * d[i + 1]
+                            - lowN[i - n] * d[i - n] - upN[i] * d[i + n]) / diag[i];
+                    d[i] = old + w * (gs - old);
+                    maxDiff = Math.max(maxDiff, Math.abs(d[i] - old));
+                }
+            }
+        }
+        return maxDiff;
+    }
+
+    private static float relaxRow(FloatCDS A, float[] r, float[] d, int i, float w) {
+        float old = d[i];
+        d[i] = old + w * ((r[i] - A.offDiagonalProduct(d, i)) / A.getMainDiag()[i] - old);
+        return Math.abs(d[i] - old);
+    }
+}
@@ -0,0 +1,273 @@
+package solvers;
+
+import storage.CDS;
+import storage.StencilOperator;
+
+import java.util.Arrays;
+
+public class MultigridSolver implements Solver {
+
+    /**
+     * Type de cycle : V (une visite du niveau grossier), W (deux visites) ou
+     * FMG (multigrille complète : solution grossière interpolée comme initialisation, puis cycles V).
+     * L'initialisation FMG part de zéro : elle n'est faite que si x0 est nul, sinon x0 (solution en cache,
+     * reprise d'un point de contrôle) est gardé et FMG se réduit aux cycles V.
+     */
+    public enum Cycle { V, W, FMG }
+
+    // Nombre max de balayages pour la "résolution exacte" sur la grille la plus grossière
+    private static final int COARSEST_MAX_SWEEPS = 1000;
+
+    private final Cycle cycle;
+    private final int preSmooth;
+    private final int postSmooth;
+    private final ParallelGaussSeidelSolver smoother;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public MultigridSolver() {
+        this(Cycle.V, 2, 2);
+    }
+
+    public MultigridSolver(Cycle cycle, int preSmooth, int postSmooth) {
+        this(cycle, preSmooth, postSmooth, new ParallelGaussSeidelSolver());
+    }
+
+    /**
+     * @param cycle      Le type de cycle.
+     * @param preSmooth  Nombre de balayages Rouge-Noir avant la correction grossière.
+     * @param postSmooth Nombre de balayages Rouge-Noir après la correction grossière.
+     * @param smoother   Le lisseur Gauss-Seidel Rouge-Noir (et son pool de threads).
+     */
+    public MultigridSolver(Cycle cycle, int preSmooth, int postSmooth, ParallelGaussSeidelSolver smoother) {
+        this.cycle = cycle;
+        this.preSmooth = preSmooth;
+        this.postSmooth = postSmooth;
+        this.smoother = smoother;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public MultigridSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout Ax = B par multigrille géométrique sur la grille uniforme du stencil à 5 points.
+     * La grille grossière garde un point sur deux : le point grossier (I, J) correspond au point fin
+     * (2I+1, 2J+1), avec des pas doublés. La hiérarchie est exacte pour n, m de la forme 2^k - 1 ;
+     * pour une dimension paire, le dernier point grossier est interpolé jusqu'à la frontière et
+     * le nombre de cycles augmente légèrement.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum de cycles.
+     * @param tol     La tolérance sur max |x_nouveau - x_ancien| entre deux cycles.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode avec un critère d'arrêt configurable (une itération = un cycle). En mode FMG, x0 n'est
+     * remplacé par l'initialisation grossière que s'il est nul (voir Cycle.FMG).
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        Level[] levels = buildHierarchy(A);
+        Level fine = levels[0];
+        System.arraycopy(B, 0, fine.b, 0, B.length);
+        System.arraycopy(x0, 0, fine.x, 0, x0.length);
+
+        if (cycle == Cycle.FMG && isZero(x0)) {
+            fullMultigrid(levels);
+        }
+
+        int gamma = cycle == Cycle.W ? 2 : 1;
+        double[] previous = new double[fine.x.length];
+        // Par cycle, sur la grille fine : les balayages de lissage (B et x), le résidu et la correction ;
+        // les niveaux grossiers ajoutent environ un tiers (facteur 4/3)
+        long fineBytes = (3L * (preSmooth + postSmooth) + 6L) * fine.x.length * Double.BYTES;
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Multigrille " + cycle + " (" + levels.length + " niveaux)",
+                criterion, B, listeners, fine.x.length, fineBytes * 4 / 3).countingIn("cycles");
+        while (true) {
+            System.arraycopy(fine.x, 0, previous, 0, previous.length);
+            cycle(levels, 0, gamma);
+
+            double maxDiff = 0;
+            for (int i = 0; i < previous.length; i++) {
+                maxDiff = Math.max(maxDiff, Math.abs(fine.x[i] - previous[i]));
+            }
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, fine.x), fine.x)) {
+                return monitor.result(fine.x, () -> A.residualNorm(B, fine.x));
+            }
+        }
+    }
+
+    /**
+     * A doit provenir d'une grille uniforme à coefficients constants (voir StencilOperator.fromCds).
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        return solve(StencilOperator.fromCds(A), B, x0, criterion);
+    }
+
+    // Un niveau de la hiérarchie : opérateur, second membre, solution et résidu.
+    private static final class Level {
+        final StencilOperator A;
+        final double[] b;
+        final double[] x;
+        final double[] r;
+
+        Level(StencilOperator A) {
+            this.A = A;
+            this.b = new double[A.getSize()];
+            this.x = new double[A.getSize()];
+            this.r = new double[A.getSize()];
+        }
+    }
+
+    // On grossit tant que les deux dimensions contiennent au moins 3 points.
+    // Les pas doublent à chaque niveau : les coefficients en 1/l² et 1/h² sont divisés par 4.
+    private Level[] buildHierarchy(StencilOperator A) {
+        int count = 1;
+        for (int n = A.getN(), m = A.getM(); n >= 3 && m >= 3; n = (n - 1) / 2, m = (m - 1) / 2) {
+            count++;
+        }
+        Level[] levels = new Level[count];
+        levels[0] = new Level(A);
+        for (int l = 1; l < count; l++) {
+            StencilOperator fine = levels[l - 1].A;
+            StencilOperator coarse = new StencilOperator((fine.getN() - 1) / 2, (fine.getM() - 1) / 2,
+                    fine.getDiag() / 4, fine.getOffX() / 4, fine.getOffY() / 4);
+            levels[l] = new Level(coarse);
+        }
+        return levels;
+    }
+
+    // Cycle récursif : gamma = 1 donne un cycle V, gamma = 2 un cycle W.
+    private void cycle(Level[] levels, int l, int gamma) {
+        Level level = levels[l];
+        if (l == levels.length - 1) {
+            solveCoarsest(level);
+            return;
+        }
+
+        for (int s = 0; s < preSmooth; s++) {
+            smoother.sweep(level.A, level.b, level.x);
+        }
+
+        level.A.residual(level.b, level.x, level.r);
+        Level coarse = levels[l + 1];
+        restrict(level.r, level.A.getN(), level.A.getM(), coarse.b, coarse.A.getN(), coarse.A.getM());
+        Arrays.fill(coarse.x, 0.0);
+        for (int g = 0; g < gamma; g++) {
+            cycle(levels, l + 1, gamma);
+        }
+        prolongateAdd(coarse.x, coarse.A.getN(), coarse.A.getM(), level.x, level.A.getN(), level.A.getM());
+
+        for (int s = 0; s < postSmooth; s++) {
+            smoother.sweep(level.A, level.b, level.x);
+        }
+    }
+
+    // FMG : on restreint B sur tous les niveaux, on résout le plus grossier, puis à chaque niveau
+    // la solution grossière interpolée sert d'initialisation à un cycle V.
+    private void fullMultigrid(Level[] levels) {
+        for (int l = 1; l < levels.length; l++) {
+            Level fine = levels[l - 1];
+            Level coarse = levels[l];
+            restrict(fine.b, fine.A.getN(), fine.A.getM(), coarse.b, coarse.A.getN(), coarse.A.getM());
+            Arrays.fill(coarse.x, 0.0);
+        }
+        solveCoarsest(levels[levels.length - 1]);
+        for (int l = levels.length - 2; l >= 0; l--) {
+            Level fine = levels[l];
+            Level coarse = levels[l + 1];
+            Arrays.fill(fine.x, 0.0);
+            prolongateAdd(coarse.x, coarse.A.getN(), coarse.A.getM(), fine.x, fine.A.getN(), fine.A.getM());
+            cycle(levels, l, 1);
+        }
+    }
+
+    private static boolean isZero(double[] x) {
+        for (double v : x) {
+            if (v != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void solveCoarsest(Level level) {
+        for (int s = 0; s < COARSEST_MAX_SWEEPS; s++) {
+            double maxDiff = smoother.sweep(level.A, level.b, level.x);
+            double scale = 0;
+            for (double v : level.x) {
+                scale = Math.max(scale, Math.abs(v));
+            }
+            if (maxDiff <= 1e-14 * scale) {
+                return;
+            }
+        }
+    }
+
+    // Restriction par pondération complète : transposée de la prolongation, divisée par 4
+    // (soit 1/16 [1 2 1; 2 4 2; 1 2 1] autour du point fin (2I+1, 2J+1)).
+    private static void restrict(double[] fine, int nf, int mf, double[] coarse, int nc, int mc) {
+        double[][] wx = new double[nc][];
+        double[][] wy = new double[mc][];
+        for (int I = 0; I < nc; I++) wx[I] = weights(I, nc, nf);
+        for (int J = 0; J < mc; J++) wy[J] = weights(J, mc, mf);
+
+        for (int J = 0; J < mc; J++) {
+            for (int I = 0; I < nc; I++) {
+                double sum = 0;
+                for (int b = 0; b < wy[J].length; b++) {
+                    int row = (2 * J + b) * nf + 2 * I;
+                    for (int a = 0; a < wx[I].length; a++) {
+                        sum += wy[J][b] * wx[I][a] * fine[row + a];
+                    }
+                }
+                coarse[J * nc + I] = sum / 4.0;
+            }
+        }
+    }
+
+    // Prolongation bilinéaire : chaque valeur grossière est répartie sur ses voisins fins.
+    private static void prolongateAdd(double[] coarse, int nc, int mc, double[] fine, int nf, int mf) {
+        double[][] wx = new double[nc][];
+        double[][] wy = new double[mc][];
+        for (int I = 0; I < nc; I++) wx[I] = weights(I, nc, nf);
+        for (int J = 0; J < mc; J++) wy[J] = weights(J, mc, mf);
+
+        for (int J = 0; J < mc; J++) {
+            for (int I = 0; I < nc; I++) {
+                double v = coarse[J * nc + I];
+                for (int b = 0; b < wy[J].length; b++) {
+                    int row = (2 * J + b) * nf + 2 * I;
+                    double vy = wy[J][b] * v;
+                    for (int a = 0; a < wx[I].length; a++) {
+                        fine[row + a] += wx[I][a] * vy;
+                    }
+                }
+            }
+        }
+    }
+
+    // Poids 1D d'interpolation du point grossier I vers les points fins 2I, 2I+1, 2I+2 (et 2I+3).
+    // Si la dimension fine est paire, le dernier point grossier est interpolé linéairement
+    // jusqu'à la frontière, qui se trouve trois pas fins plus loin.
+    private static double[] weights(int I, int nc, int nf) {
+        if (I == nc - 1 && nf % 2 == 0) {
+            return new double[]{0.5, 1.0, 2.0 / 3.0, 1.0 / 3.0};
+        }
+        return new double[]{0.5, 1.0, 0.5};
+    }
+}
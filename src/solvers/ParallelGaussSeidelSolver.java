@@ -1,96 +1,311 @@
 package solvers;
 
 import storage.CDS;
+import storage.CdsKernels;
+import storage.StencilOperator;
 
-public class ParallelGaussSeidelSolver {
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelGaussSeidelSolver implements Solver, BatchSolver {
+
+    // Nombre de blocs de lignes visés par thread : assez pour équilibrer la charge,
+    // assez peu pour que le coût de création des tâches reste négligeable.
+    private static final int BLOCKS_PER_THREAD = 4;
+    // Résolution par lot : les diagonales d'une bande de lignes (256 Ko) restent dans le cache L2
+    // pendant qu'elle est relaxée pour chaque second membre
+    private static final int BATCH_STRIP_BYTES = 256 * 1024;
+
+    private final ForkJoinPool pool;
+    private final double omega;
+
+    private final IterationListeners listeners = new IterationListeners();
+    // Demi-balayages sur la CDS : version SIMD si disponible
+    private final CdsKernels kernels = CdsKernels.get();
+
+    public ParallelGaussSeidelSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Le pool de threads sur lequel les demi-balayages sont exécutés.
+     */
+    public ParallelGaussSeidelSolver(ForkJoinPool pool) {
+        this(pool, 1.0);
+    }
+
+    /**
+     * @param pool  Le pool de threads sur lequel les demi-balayages sont exécutés.
+     * @param omega Le facteur de relaxation (1 : Gauss-Seidel, ]1, 2[ : SOR Rouge-Noir).
+     */
+    public ParallelGaussSeidelSolver(ForkJoinPool pool, double omega) {
+        if (omega <= 0 || omega >= 2) {
+            throw new IllegalArgumentException("Le paramètre omega doit être dans ]0, 2[.");
+        }
+        this.pool = pool;
+        this.omega = omega;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public ParallelGaussSeidelSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
 
     /**
      * Résout Ax=B avec Gauss-Seidel et une coloration Rouge-Noir.
      * L'algorithme met à jour tous les nœuds "rouges" puis tous les "noirs".
-     * Cela permet une parallélisation car tous les nœuds d'une même couleur sont indépendants.
+     * Tous les nœuds d'une même couleur sont indépendants : chaque demi-balayage est découpé
+     * en blocs de lignes exécutés en parallèle sur le pool.
      *
      * @param A La matrice du système (CDS).
      * @param B Le vecteur second membre.
-     * @param n La largeur de la grille (nb de points intérieurs en x).
      * @param x0 La solution initiale.
      * @param maxIter Le nombre max d'itérations.
      * @param tol La tolérance.
      * @return La solution x.
      */
+    public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * @param n La largeur de la grille, ignorée : elle est lue dans A.
+     * @deprecated Utiliser solve(CDS, double[], double[], int, double).
+     */
+    @Deprecated
     public double[] solve(CDS A, double[] B, int n, double[] x0, int maxIter, double tol) {
-        int size = A.getSize();
-        int m = size / n; // Hauteur de la grille
+        return solve(A, B, x0, maxIter, tol);
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getSize() / n; // Hauteur de la grille
         double[] x = x0.clone();
+        ColourKernel kernel = (colour, jStart, jEnd) -> kernels.redBlackRows(A, B, x, colour, jStart, jEnd, omega);
+        // Chaque demi-balayage relit les 5 diagonales, B et x pour la moitié des nœuds
+        ConvergenceMonitor monitor = new ConvergenceMonitor(name() + " (CDS)", criterion, B, listeners,
+                A.getSize(), 8L * A.getSize() * Double.BYTES);
 
-        for (int k = 0; k < maxIter; k++) {
-            double maxDiff = 0;
+        while (true) {
+            double maxDiff = sweep(kernel, m);
+            if (monitor.check(maxDiff, () -> kernels.residualNorm(A, B, x), x)) {
+                return monitor.result(x, () -> kernels.residualNorm(A, B, x));
+            }
+        }
+    }
 
-            // --- PAS ROUGE ---
-            // On met à jour tous les nœuds (i,j) où (i+j) est pair.
-            // Une vraie implémentation parallèle utiliserait ici un pool de threads.
-            for (int idx = 0; idx < size; idx++) {
-                int i = idx % n; // coordonnée x de la grille (0-indexed)
-                int j = idx / n; // coordonnée y de la grille (0-indexed)
+    /**
+     * Résout A x_k = B_k pour tout le lot par Gauss-Seidel (ou SOR) Rouge-Noir. Chaque bloc de lignes d'un
+     * demi-balayage est parcouru par bandes de lignes qui tiennent dans le cache L2 : une bande est relaxée pour
+     * tous les seconds membres actifs avant de passer à la suivante, si bien que les diagonales ne sont lues en
+     * mémoire qu'une fois par demi-balayage pour tout le lot. Chaque second membre suit exactement les mêmes
+     * itérations qu'avec solve.
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        int n = A.getN();
+        int m = A.getSize() / n;
+        int strip = Math.max(1, BATCH_STRIP_BYTES / (5 * n * Double.BYTES));
+        double[][] x = new double[B.length][];
+        for (int k = 0; k < B.length; k++) {
+            x[k] = x0[k].clone();
+        }
+        double[] maxDiff = new double[B.length];
+        // Les 5 diagonales une fois par itération, puis B et x pour chaque second membre
+        BatchMonitor monitor = new BatchMonitor(name() + " (CDS)", criterion, B, listeners, A.getSize(),
+                (5L + 3L * B.length) * A.getSize() * Double.BYTES);
 
-                if ((i + j) % 2 == 0) { // C'est un nœud ROUGE
-                    double sum = calculateSum(A, x, idx, n, size);
-                    double old_xi = x[idx];
-                    x[idx] = (B[idx] - sum) / A.get(idx, idx);
+        while (true) {
+            int[] active = monitor.active();
+            if (active.length == 0) {
+                return monitor.results();
+            }
+            for (int k : active) {
+                maxDiff[k] = 0;
+            }
+            sweep((colour, jStart, jEnd) -> relaxBatch(A, B, x, active, maxDiff, colour, jStart, jEnd, strip), m);
+            for (int k : active) {
+                monitor.check(k, maxDiff[k], () -> kernels.residualNorm(A, B[k], x[k]), x[k]);
+            }
+            monitor.endIteration();
+        }
+    }
 
-                    // On ne peut calculer la convergence qu'à la fin de l'itération complète
-                }
+    /**
+     * Résout Ax=B avec Gauss-Seidel Rouge-Noir et l'opérateur matrix-free à 5 points.
+     * Chaque demi-balayage ne visite que les nœuds de sa couleur (pas de 2 dans chaque ligne).
+     *
+     * @param A L'opérateur du système (stencil à 5 points).
+     * @param B Le vecteur second membre.
+     * @param x0 La solution initiale.
+     * @param maxIter Le nombre max d'itérations.
+     * @param tol La tolérance.
+     * @return La solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor(name() + " (Stencil)", criterion, B, listeners,
+                A.getSize(), 4L * A.getSize() * Double.BYTES);
+
+        while (true) {
+            double maxDiff = sweep(A, B, x);
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
             }
+        }
+    }
+
+    /**
+     * Effectue une itération Rouge-Noir complète sur x (modifié en place).
+     *
+     * @return max |x_nouveau - x_ancien| sur l'itération.
+     */
+    public double sweep(CDS A, double[] B, double[] x) {
+        int m = A.getSize() / A.getN();
+        return sweep((colour, jStart, jEnd) -> kernels.redBlackRows(A, B, x, colour, jStart, jEnd, omega), m);
+    }
 
-            // --- PAS NOIR ---
-            // On met à jour tous les nœuds (i,j) où (i+j) est impair.
-            for (int idx = 0; idx < size; idx++) {
-                int i = idx % n;
-                int j = idx / n;
+    /**
+     * Effectue une itération Rouge-Noir complète sur x (modifié en place).
+     *
+     * @return max |x_nouveau - x_ancien| sur l'itération.
+     */
+    public double sweep(StencilOperator A, double[] B, double[] x) {
+        return sweep((colour, jStart, jEnd) -> relaxRows(A, B, x, colour, jStart, jEnd), A.getM());
+    }
 
-                if ((i + j) % 2 != 0) { // C'est un nœud NOIR
-                    double sum = calculateSum(A, x, idx, n, size);
-                    double old_xi = x[idx];
-                    x[idx] = (B[idx] - sum) / A.get(idx, idx);
-                }
+    private String name() {
+        return omega == 1.0 ? "Gauss-Seidel Parallèle" : String.format("SOR Rouge-Noir (omega = %.4f)", omega);
+    }
+
+    // PAS ROUGE ((i+j) pair) puis PAS NOIR ((i+j) impair), chacun réparti en blocs de lignes.
+    private double sweep(ColourKernel kernel, int m) {
+        int grain = Math.max(1, m / (pool.getParallelism() * BLOCKS_PER_THREAD));
+        double red = pool.invoke(new HalfSweepTask(kernel, 0, 0, m, grain));
+        double black = pool.invoke(new HalfSweepTask(kernel, 1, 0, m, grain));
+        return Math.max(red, black);
+    }
+
+    /**
+     * Met à jour les nœuds de couleur donnée des lignes [jStart, jEnd).
+     * Retourne le max des variations sur ce bloc (réduction locale).
+     */
+    @FunctionalInterface
+    private interface ColourKernel {
+        double relax(int colour, int jStart, int jEnd);
+    }
+
+    // Découpe récursive de l'intervalle de lignes ; le max des blocs est combiné au retour.
+    @SuppressWarnings("serial") // tâche jamais sérialisée (RecursiveTask est Serializable par héritage)
+    private static final class HalfSweepTask extends RecursiveTask<Double> {
+        private final ColourKernel kernel;
+        private final int colour;
+        private final int jStart;
+        private final int jEnd;
+        private final int grain;
+
+        HalfSweepTask(ColourKernel kernel, int colour, int jStart, int jEnd, int grain) {
+            this.kernel = kernel;
+            this.colour = colour;
+            this.jStart = jStart;
+            this.jEnd = jEnd;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Double compute() {
+            if (jEnd - jStart <= grain) {
+                return kernel.relax(colour, jStart, jEnd);
             }
+            int mid = (jStart + jEnd) >>> 1;
+            HalfSweepTask left = new HalfSweepTask(kernel, colour, jStart, mid, grain);
+            left.fork();
+            double right = new HalfSweepTask(kernel, colour, mid, jEnd, grain).compute();
+            return Math.max(left.join(), right);
+        }
+    }
 
-            // Recalculer la convergence après une itération complète (Rouge + Noir)
-            // C'est moins précis que le calcul de la diff à chaque update mais nécessaire ici.
-            // Pour être rigoureux, il faudrait stocker x avant l'itération.
-            // On se contente d'une vérification sur la norme du résidu pour simplifier.
-            double residualNorm = calculateResidualNorm(A, B, x);
-            if (residualNorm < tol) {
-                System.out.println("Gauss-Seidel Parallèle (CDS) a convergé en " + (k + 1) + " itérations.");
-                return x;
+    // Demi-balayage des lignes [jStart, jEnd) pour les seconds membres actifs, bande de strip lignes par bande.
+    // Les maxima par second membre sont cumulés localement puis reportés dans maxDiff.
+    private double relaxBatch(CDS A, double[][] B, double[][] x, int[] active, double[] maxDiff,
+                              int colour, int jStart, int jEnd, int strip) {
+        double[] local = new double[active.length];
+        for (int j0 = jStart; j0 < jEnd; j0 += strip) {
+            int j1 = Math.min(j0 + strip, jEnd);
+            for (int a = 0; a < active.length; a++) {
+                int k = active[a];
+                local[a] = Math.max(local[a], kernels.redBlackRows(A, B[k], x[k], colour, j0, j1, omega));
             }
         }
+        double max = 0;
+        synchronized (maxDiff) {
+            for (int a = 0; a < active.length; a++) {
+                maxDiff[active[a]] = Math.max(maxDiff[active[a]], local[a]);
+                max = Math.max(max, local[a]);
+            }
+        }
+        return max;
+    }
 
-        System.err.println("Gauss-Seidel Parallèle (CDS) n'a pas convergé après " + maxIter + " itérations.");
-        return x;
-    }
-
-    private double calculateSum(CDS A, double[] x, int i, int gridWidth, int size) {
-        double sum = 0.0;
-        // Voisin de gauche
-        if (i > 0 && A.get(i, i - 1) != 0) sum += A.get(i, i - 1) * x[i - 1];
-        // Voisin de droite
-        if (i < size - 1 && A.get(i, i + 1) != 0) sum += A.get(i, i + 1) * x[i + 1];
-        // Voisin du bas
-        if (i >= gridWidth && A.get(i, i - gridWidth) != 0) sum += A.get(i, i - gridWidth) * x[i - gridWidth];
-        // Voisin du haut
-        if (i < size - gridWidth && A.get(i, i + gridWidth) != 0) sum += A.get(i, i + gridWidth) * x[i + gridWidth];
-        return sum;
-    }
-
-    // Calcule la norme L2 du résidu r = B - Ax
-    private double calculateResidualNorm(CDS A, double[] B, double[] x) {
-        int size = A.getSize();
-        double norm = 0.0;
-        for (int i = 0; i < size; i++) {
-            double ax_i = A.get(i, i) * x[i] + calculateSum(A, x, i, (int)Math.sqrt(size), size);
-            double residual_i = B[i] - ax_i;
-            norm += residual_i * residual_i;
+    // Demi-balayage matrix-free : même découpage que la version CDS, coefficients constants.
+    private double relaxRows(StencilOperator A, double[] B, double[] x, int colour, int jStart, int jEnd) {
+        int n = A.getN();
+        int m = A.getM();
+        double invDiag = 1.0 / A.getDiag();
+        double offX = A.getOffX();
+        double offY = A.getOffY();
+        double maxDiff = 0;
+
+        for (int j = jStart; j < jEnd; j++) {
+            int row = j * n;
+            int first = (colour + j) & 1;
+            if (j == 0 || j == m - 1) {
+                for (int i = first; i < n; i += 2) {
+                    maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, i, j, invDiag));
+                }
+                continue;
+            }
+            int i = first;
+            if (i == 0) {
+                maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, 0, j, invDiag));
+                i = 2;
+            }
+            for (; i < n - 1; i += 2) {
+                int idx = row + i;
+                double old_xi = x[idx];
+                double gs = (B[idx] - offX * (x[idx - 1] + x[idx + 1])
+                        - offY * (x[idx - n] + x[idx + n])) * invDiag;
+                x[idx] = old_xi + omega * (gs - old_xi);
+                maxDiff = Math.max(maxDiff, Math.abs(x[idx] - old_xi));
+            }
+            if (i == n - 1) {
+                maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, i, j, invDiag));
+            }
         }
-        return Math.sqrt(norm);
+        return maxDiff;
+    }
+
+    private double relaxPoint(StencilOperator A, double[] B, double[] x, int i, int j, double invDiag) {
+        int idx = j * A.getN() + i;
+        double old_xi = x[idx];
+        x[idx] = old_xi + omega * ((B[idx] - A.neighbourSum(x, i, j)) * invDiag - old_xi);
+        return Math.abs(x[idx] - old_xi);
     }
-}
\ No newline at end of file
+}
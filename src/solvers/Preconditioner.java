@@ -0,0 +1,26 @@
+package solvers;
+
+/**
+ * Préconditionneur M pour le gradient conjugué : applique z = M^-1 r.
+ * M doit être symétrique définie positive et "proche" de A tout en restant peu coûteux à inverser.
+ */
+public interface Preconditioner {
+
+    /**
+     * Calcule z = M^-1 r.
+     *
+     * @param r Le résidu courant (non modifié).
+     * @param z Le vecteur résultat, écrasé.
+     */
+    void apply(double[] r, double[] z);
+
+    /**
+     * Calcule Z[k] = M^-1 R[k] pour plusieurs vecteurs (gradient conjugué par lot).
+     * Par défaut, les vecteurs sont traités l'un après l'autre.
+     */
+    default void apply(double[][] R, double[][] Z) {
+        for (int k = 0; k < R.length; k++) {
+            apply(R[k], Z[k]);
+        }
+    }
+}
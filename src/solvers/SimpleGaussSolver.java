@@ -1,7 +1,10 @@
 // --- FILE: solvers/SimpleGaussSolver.java ---
 package solvers;
 
-public class SimpleGaussSolver {
+import storage.CDS;
+import storage.StorageConverter;
+
+public class SimpleGaussSolver implements Solver {
 
     /**
      * Solve the system Ax = B by Gauss elimination.
@@ -43,4 +46,13 @@ public class SimpleGaussSolver {
         System.out.println("Résolution par élimination de Gauss (Dense) terminée.");
         return x;
     }
+
+    /**
+     * Résolution directe sur la copie dense de A : x0 et le critère d'arrêt sont ignorés.
+     */
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double[] x = solve(StorageConverter.cdsToDense(A), B);
+        return new SolverResult(x, 0, A.residualNorm(B, x), SolverResult.StopReason.DIRECT);
+    }
 }
\ No newline at end of file
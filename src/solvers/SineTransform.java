@@ -0,0 +1,170 @@
+package solvers;
+
+import java.util.Arrays;
+
+/**
+ * Transformée en sinus discrète de type I (DST-I) de longueur N, en O(N log N) :
+ * X[k] = somme_{j=1..N} x[j] * sin(π j k / (N+1)), k = 1..N.
+ * Elle est calculée par une FFT complexe de la suite impaire prolongée de longueur M = 2(N+1) :
+ * FFT radix-2 si M est une puissance de 2, algorithme de Bluestein (convolution par FFT radix-2) sinon.
+ * Les tables de twiddles et le chirp de Bluestein sont calculés une fois dans le constructeur ;
+ * les tableaux de travail sont propres à chaque thread, une instance peut donc être partagée.
+ * La DST-I est sa propre inverse à un facteur 2/(N+1) près.
+ */
+public class SineTransform {
+    private final int length;     // N
+    private final int extended;   // M = 2(N+1)
+    private final int fftSize;    // L : M si puissance de 2, sinon puissance de 2 >= 2M - 1
+    private final boolean bluestein;
+
+    // Tables de la FFT radix-2 de taille L
+    private final double[] cosTable;
+    private final double[] sinTable;
+    private final int[] bitReversal;
+
+    // Bluestein : chirp c[j] = exp(-iπ j²/M) et FFT de la suite conj(c) repliée
+    private final double[] chirpRe;
+    private final double[] chirpIm;
+    private final double[] kernelRe;
+    private final double[] kernelIm;
+
+    private final ThreadLocal<double[][]> workspace;
+
+    public SineTransform(int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("La longueur de la transformée doit être positive.");
+        }
+        this.length = length;
+        this.extended = 2 * (length + 1);
+        this.bluestein = Integer.bitCount(extended) != 1;
+        this.fftSize = bluestein ? Integer.highestOneBit(2 * extended - 2) << 1 : extended;
+
+        cosTable = new double[fftSize / 2];
+        sinTable = new double[fftSize / 2];
+        for (int k = 0; k < fftSize / 2; k++) {
+            cosTable[k] = Math.cos(2 * Math.PI * k / fftSize);
+            sinTable[k] = Math.sin(2 * Math.PI * k / fftSize);
+        }
+        int bits = Integer.numberOfTrailingZeros(fftSize);
+        bitReversal = new int[fftSize];
+        for (int k = 0; k < fftSize; k++) {
+            bitReversal[k] = bits == 0 ? 0 : Integer.reverse(k) >>> (32 - bits);
+        }
+
+        if (bluestein) {
+            chirpRe = new double[extended];
+            chirpIm = new double[extended];
+            for (int j = 0; j < extended; j++) {
+                // j² mod 2M pour garder un angle précis quand j est grand
+                long jj = ((long) j * j) % (2L * extended);
+                double angle = Math.PI * jj / extended;
+                chirpRe[j] = Math.cos(angle);
+                chirpIm[j] = -Math.sin(angle);
+            }
+            kernelRe = new double[fftSize];
+            kernelIm = new double[fftSize];
+            kernelRe[0] = chirpRe[0];
+            kernelIm[0] = -chirpIm[0];
+            for (int j = 1; j < extended; j++) {
+                kernelRe[j] = chirpRe[j];
+                kernelIm[j] = -chirpIm[j];
+                kernelRe[fftSize - j] = chirpRe[j];
+                kernelIm[fftSize - j] = -chirpIm[j];
+            }
+            fft(kernelRe, kernelIm);
+        } else {
+            chirpRe = null;
+            chirpIm = null;
+            kernelRe = null;
+            kernelIm = null;
+        }
+        workspace = ThreadLocal.withInitial(() -> new double[][]{new double[fftSize], new double[fftSize]});
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Applique la DST-I en place sur les N valeurs data[offset + j * stride], j = 0..N-1.
+     */
+    public void transform(double[] data, int offset, int stride) {
+        double[][] work = workspace.get();
+        double[] re = work[0];
+        double[] im = work[1];
+        Arrays.fill(re, 0.0);
+        Arrays.fill(im, 0.0);
+
+        // Prolongement impair : y[0] = 0, y[j] = x[j], y[N+1] = 0, y[M-j] = -x[j]
+        for (int j = 1; j <= length; j++) {
+            double v = data[offset + (j - 1) * stride];
+            re[j] = v;
+            re[extended - j] = -v;
+        }
+
+        if (bluestein) {
+            bluesteinFft(re, im);
+        } else {
+            fft(re, im);
+        }
+
+        // FFT(y)[k] = -2i X[k]
+        for (int k = 1; k <= length; k++) {
+            data[offset + (k - 1) * stride] = -0.5 * im[k];
+        }
+    }
+
+    // FFT de longueur M via la convolution de Bluestein (entrée dans re[0..M), sortie idem).
+    private void bluesteinFft(double[] re, double[] im) {
+        for (int j = 0; j < extended; j++) {
+            double a = re[j];
+            double b = im[j];
+            re[j] = a * chirpRe[j] - b * chirpIm[j];
+            im[j] = a * chirpIm[j] + b * chirpRe[j];
+        }
+        fft(re, im);
+        for (int k = 0; k < fftSize; k++) {
+            double a = re[k];
+            double b = im[k];
+            re[k] = a * kernelRe[k] - b * kernelIm[k];
+            // conjugué pour la FFT inverse : ifft(z) = conj(fft(conj(z))) / L
+            im[k] = -(a * kernelIm[k] + b * kernelRe[k]);
+        }
+        fft(re, im);
+        double inv = 1.0 / fftSize;
+        for (int k = 0; k < extended; k++) {
+            double a = re[k] * inv;
+            double b = -im[k] * inv;
+            re[k] = a * chirpRe[k] - b * chirpIm[k];
+            im[k] = a * chirpIm[k] + b * chirpRe[k];
+        }
+    }
+
+    // FFT radix-2 itérative en place (exp(-2iπ jk/L)) de taille L.
+    private void fft(double[] re, double[] im) {
+        for (int k = 0; k < fftSize; k++) {
+            int r = bitReversal[k];
+            if (r > k) {
+                double t = re[k]; re[k] = re[r]; re[r] = t;
+                t = im[k]; im[k] = im[r]; im[r] = t;
+            }
+        }
+        for (int half = 1; half < fftSize; half <<= 1) {
+            int step = fftSize / (2 * half);
+            for (int start = 0; start < fftSize; start += 2 * half) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cosTable[k * step];
+                    double wi = -sinTable[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package solvers;
+
+import storage.CDS;
+
+/**
+ * Interface commune des solveurs du système Ax = B issu de la discrétisation, avec A au format CDS.
+ * Les solveurs spécialisés (stencil, dense) convertissent A si besoin ; les solveurs directs ignorent
+ * le critère d'arrêt et renvoient StopReason.DIRECT.
+ */
+public interface Solver {
+
+    /**
+     * @param A         La matrice du système (stockage CDS).
+     * @param B         Le vecteur second membre.
+     * @param x0        La solution initiale (non modifiée).
+     * @param criterion Le critère d'arrêt.
+     * @return La solution et le bilan de la résolution.
+     */
+    SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion);
+}
@@ -0,0 +1,58 @@
+package solvers;
+
+/**
+ * Résultat d'une résolution : la solution, le nombre d'itérations, la norme L2 du résidu final
+ * et la raison de l'arrêt.
+ */
+public class SolverResult {
+
+    /**
+     * Raison de l'arrêt : convergence, nombre maximum d'itérations atteint, budget de temps épuisé,
+     * annulation, résolution directe (pas d'itérations), ou rupture de la méthode (division par un produit
+     * scalaire nul dans une méthode de Krylov non symétrique).
+     */
+    public enum StopReason { CONVERGED, MAX_ITERATIONS, TIME_BUDGET, CANCELLED, DIRECT, BREAKDOWN }
+
+    private final double[] solution;
+    private final int iterations;
+    private final double residualNorm;
+    private final StopReason stopReason;
+
+    public SolverResult(double[] solution, int iterations, double residualNorm, StopReason stopReason) {
+        this.solution = solution;
+        this.iterations = iterations;
+        this.residualNorm = residualNorm;
+        this.stopReason = stopReason;
+    }
+
+    public double[] getSolution() {
+        return solution;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Norme L2 de B - Ax pour la solution renvoyée.
+     */
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * true si la solution satisfait le critère d'arrêt (convergence ou résolution directe).
+     */
+    public boolean isConverged() {
+        return stopReason == StopReason.CONVERGED || stopReason == StopReason.DIRECT;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s après %d itérations, ||B - Ax|| = %.3e", stopReason, iterations, residualNorm);
+    }
+}
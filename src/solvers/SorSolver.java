@@ -0,0 +1,394 @@
+package solvers;
+
+import storage.CDS;
+import storage.MappedCDS;
+import storage.OffHeapVector;
+import storage.StencilOperator;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class SorSolver implements Solver, BatchSolver {
+
+    /**
+     * Ordre de parcours des nœuds : lexicographique (ligne par ligne) ou Rouge-Noir.
+     */
+    public enum Ordering { LEXICOGRAPHIC, RED_BLACK }
+
+    // Résolution par lot : les diagonales d'une bande de lignes (256 Ko) restent dans le cache L2
+    // pendant qu'elle est relaxée pour chaque second membre
+    private static final int BATCH_STRIP_BYTES = 256 * 1024;
+
+    private final Ordering ordering;
+    private final double omega; // NaN : calculé automatiquement à partir de l'opérateur
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    /**
+     * SOR avec le facteur de relaxation optimal calculé automatiquement.
+     */
+    public SorSolver(Ordering ordering) {
+        this(ordering, Double.NaN);
+    }
+
+    /**
+     * @param ordering L'ordre de parcours des nœuds.
+     * @param omega    Le facteur de relaxation, dans ]0, 2[ (NaN pour le calcul automatique).
+     */
+    public SorSolver(Ordering ordering, double omega) {
+        if (!Double.isNaN(omega) && (omega <= 0 || omega >= 2)) {
+            throw new IllegalArgumentException("Le paramètre omega doit être dans ]0, 2[.");
+        }
+        this.ordering = ordering;
+        this.omega = omega;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque itération (normes, débit ; voir utils.SolverMetrics).
+     */
+    public SorSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Rayon spectral de l'itération de Jacobi pour le laplacien discret sur une grille n x m de pas l, h :
+     * rho = (cos(π/(n+1)) / l² + cos(π/(m+1)) / h²) / (1/l² + 1/h²).
+     */
+    public static double jacobiSpectralRadius(int n, int m, double l, double h) {
+        double valX = 1.0 / (l * l);
+        double valY = 1.0 / (h * h);
+        return jacobiSpectralRadius(n, m, 2 * (valX + valY), -valX, -valY);
+    }
+
+    /**
+     * Facteur de relaxation optimal de Young : omega = 2 / (1 + sqrt(1 - rho²)),
+     * où rho est le rayon spectral de Jacobi pour la grille n x m de pas l, h.
+     */
+    public static double optimalOmega(int n, int m, double l, double h) {
+        return optimalOmega(jacobiSpectralRadius(n, m, l, h));
+    }
+
+    public static double optimalOmega(double rhoJacobi) {
+        return 2.0 / (1.0 + Math.sqrt(1.0 - rhoJacobi * rhoJacobi));
+    }
+
+    // Facteur optimal pour une CDS issue d'une grille uniforme : les coefficients sont lus sur la première ligne.
+    static double optimalOmega(CDS A) {
+        int n = A.getN();
+        int m = A.getSize() / n;
+        double offX = n > 1 ? A.getUpperDiag1()[0] : 0.0;
+        double offY = m > 1 ? A.getUpperDiagN()[0] : 0.0;
+        return optimalOmega(jacobiSpectralRadius(n, m, A.getMainDiag()[0], offX, offY));
+    }
+
+    // Même formule, à partir des coefficients du stencil (diagonale, voisins en x, voisins en y).
+    private static double jacobiSpectralRadius(int n, int m, double diag, double offX, double offY) {
+        return 2 * (Math.abs(offX) * Math.cos(Math.PI / (n + 1)) + Math.abs(offY) * Math.cos(Math.PI / (m + 1))) / diag;
+    }
+
+    /**
+     * Résout le système Ax = B par sur-relaxation successive (SOR) pour une matrice creuse (CDS).
+     * A doit provenir d'une grille uniforme (MatrixBuilder.buildCdsA) si omega est calculé automatiquement :
+     * les coefficients sont lus sur la première ligne.
+     *
+     * @param A       La matrice du système (stockage CDS).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double w = Double.isNaN(omega) ? optimalOmega(A) : omega;
+
+        if (ordering == Ordering.RED_BLACK) {
+            return redBlack(w).solve(A, B, x0, criterion);
+        }
+
+        double[] x = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor(String.format("SOR (CDS, omega = %.4f)", w), criterion, B,
+                listeners, A.getSize(), 7L * A.getSize() * Double.BYTES);
+        while (true) {
+            double maxDiff = sweep(A, B, x, w, 0, A.getSize());
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    /**
+     * Résout A x_k = B_k pour tout le lot. L'ordre Rouge-Noir est délégué à ParallelGaussSeidelSolver.solveAll.
+     * En ordre lexicographique, chaque balayage avance par bandes de lignes qui tiennent dans le cache L2 : une
+     * bande est balayée pour tous les seconds membres actifs avant la suivante. Une bande ne dépend que des
+     * bandes voisines, déjà balayées (au-dessus) ou pas encore (au-dessous), pour le même second membre : chaque
+     * second membre suit donc exactement les mêmes itérations qu'avec solve, et les diagonales ne sont lues
+     * qu'une fois par balayage pour tout le lot.
+     */
+    @Override
+    public SolverResult[] solveAll(CDS A, double[][] B, double[][] x0, StoppingCriterion criterion) {
+        double w = Double.isNaN(omega) ? optimalOmega(A) : omega;
+
+        if (ordering == Ordering.RED_BLACK) {
+            return redBlack(w).solveAll(A, B, x0, criterion);
+        }
+
+        int size = A.getSize();
+        int strip = Math.max(1, BATCH_STRIP_BYTES / (5 * Double.BYTES)); // en lignes de la matrice
+        double[][] x = new double[B.length][];
+        for (int k = 0; k < B.length; k++) {
+            x[k] = x0[k].clone();
+        }
+        double[] maxDiff = new double[B.length];
+        BatchMonitor monitor = new BatchMonitor(String.format("SOR (CDS, omega = %.4f)", w), criterion, B,
+                listeners, size, (5L + 2L * B.length) * size * Double.BYTES);
+
+        while (true) {
+            int[] active = monitor.active();
+            if (active.length == 0) {
+                return monitor.results();
+            }
+            for (int k : active) {
+                maxDiff[k] = 0;
+            }
+            for (int from = 0; from < size; from += strip) {
+                int to = Math.min(from + strip, size);
+                for (int k : active) {
+                    maxDiff[k] = Math.max(maxDiff[k], sweep(A, B[k], x[k], w, from, to));
+                }
+            }
+            for (int k : active) {
+                monitor.check(k, maxDiff[k], () -> A.residualNorm(B[k], x[k]), x[k]);
+            }
+            monitor.endIteration();
+        }
+    }
+
+    /**
+     * Résout le système Ax = B par SOR avec l'opérateur matrix-free à 5 points.
+     *
+     * @param A       L'opérateur du système (stencil à 5 points).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(StencilOperator A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable.
+     */
+    public SolverResult solve(StencilOperator A, double[] B, double[] x0, StoppingCriterion criterion) {
+        double w = Double.isNaN(omega)
+                ? optimalOmega(jacobiSpectralRadius(A.getN(), A.getM(), A.getDiag(), A.getOffX(), A.getOffY()))
+                : omega;
+
+        if (ordering == Ordering.RED_BLACK) {
+            return redBlack(w).solve(A, B, x0, criterion);
+        }
+
+        double[] x = x0.clone();
+        ConvergenceMonitor monitor = new ConvergenceMonitor(String.format("SOR (Stencil, omega = %.4f)", w), criterion, B,
+                listeners, A.getSize(), 3L * A.getSize() * Double.BYTES);
+        while (true) {
+            double maxDiff = sweep(A, B, x, w);
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x), x)) {
+                return monitor.result(x, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    /**
+     * Résout le système Ax = B par SOR sur un stockage hors tas (mémoire directe ou fichier projeté).
+     * Le balayage se fait en place dans x, qui contient la solution initiale : aucun vecteur n'est
+     * alloué sur le tas, la taille du problème n'est donc pas limitée par -Xmx.
+     *
+     * @param A       La matrice du système (stockage CDS hors tas).
+     * @param B       Le vecteur second membre (hors tas).
+     * @param x       La solution initiale, remplacée par la solution (hors tas).
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return x.
+     */
+    public OffHeapVector solveInPlace(MappedCDS A, OffHeapVector B, OffHeapVector x, int maxIter, double tol) {
+        if (maxIter > 0) {
+            solveInPlace(A, B, x, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter));
+        }
+        return x;
+    }
+
+    /**
+     * Même méthode, avec un critère d'arrêt configurable. La solution reste dans x : le SolverResult n'en porte
+     * pas de copie (getSolution() renvoie null), et les écouteurs ne reçoivent pas de points de reprise, qui
+     * recopieraient x sur le tas.
+     */
+    public SolverResult solveInPlace(MappedCDS A, OffHeapVector B, OffHeapVector x, StoppingCriterion criterion) {
+        int n = A.getN();
+        double w = omega;
+        if (Double.isNaN(w)) {
+            long m = A.getSize() / n;
+            double offX = n > 1 ? A.getUpperDiag1().get(0) : 0.0;
+            double offY = m > 1 ? A.getUpperDiagN().get(0) : 0.0;
+            w = optimalOmega(jacobiSpectralRadius(n, (int) Math.min(m, Integer.MAX_VALUE), A.getMainDiag().get(0), offX, offY));
+        }
+        double normB = 0.0;
+        if (criterion.getMeasure() == StoppingCriterion.Measure.RELATIVE_RESIDUAL) {
+            for (long i = 0; i < B.length(); i++) {
+                normB += B.get(i) * B.get(i);
+            }
+            normB = Math.sqrt(normB);
+        }
+
+        // La taille est limitée à un int pour les écouteurs : seul le débit en octets compte ici
+        ConvergenceMonitor monitor = new ConvergenceMonitor(String.format("SOR (Mapped CDS, omega = %.4f)", w), criterion,
+                normB, listeners, (int) Math.min(A.getSize(), Integer.MAX_VALUE), 7L * A.getSize() * Double.BYTES);
+        while (true) {
+            double maxDiff = ordering == Ordering.RED_BLACK ? sweepRedBlack(A, B, x, w) : sweep(A, B, x, w, 0, A.getSize(), 1);
+            if (monitor.check(maxDiff, () -> A.residualNorm(B, x))) {
+                return monitor.result(null, () -> A.residualNorm(B, x));
+            }
+        }
+    }
+
+    // Le Rouge-Noir sur tableaux est délégué au solveur parallèle, avec les mêmes écouteurs.
+    private ParallelGaussSeidelSolver redBlack(double w) {
+        ParallelGaussSeidelSolver solver = new ParallelGaussSeidelSolver(ForkJoinPool.commonPool(), w);
+        listeners.forEach(solver::addListener);
+        return solver;
+    }
+
+    // Deux demi-balayages Rouge-Noir, grille ligne par ligne. Retourne max |x_nouveau - x_ancien|.
+    private double sweepRedBlack(MappedCDS A, OffHeapVector B, OffHeapVector x, double w) {
+        long size = A.getSize();
+        int n = A.getN();
+        double maxDiff = 0;
+        for (int colour = 0; colour < 2; colour++) {
+            long j = 0;
+            for (long row = 0; row < size; row += n, j++) {
+                maxDiff = Math.max(maxDiff, sweep(A, B, x, w, row + ((j + colour) & 1), row + n, 2));
+            }
+        }
+        return maxDiff;
+    }
+
+    // Relaxe les lignes from, from + step, ... < to de la matrice hors tas. Retourne max |x_nouveau - x_ancien|.
+    private double sweep(MappedCDS A, OffHeapVector B, OffHeapVector x, double w, long from, long to, int step) {
+        long size = A.getSize();
+        int n = A.getN();
+        OffHeapVector diag = A.getMainDiag();
+        OffHeapVector up1 = A.getUpperDiag1();
+        OffHeapVector low1 = A.getLowerDiag1();
+        OffHeapVector upN = A.getUpperDiagN();
+        OffHeapVector lowN = A.getLowerDiagN();
+        double maxDiff = 0;
+
+        for (long i = from; i < to; i += step) {
+            double old_xi = x.get(i);
+            double sum;
+            if (i >= n && i < size - n) {
+                // Les 5 diagonales sont présentes, aucun test
+                sum = low1.get(i - 1) * x.get(i - 1) + up1.get(i) * x.get(i + 1)
+                        + lowN.get(i - n) * x.get(i - n) + upN.get(i) * x.get(i + n);
+            } else {
+                sum = A.offDiagonalProduct(x, i);
+            }
+            double xi = old_xi + w * ((B.get(i) - sum) / diag.get(i) - old_xi);
+            x.set(i, xi);
+            maxDiff = Math.max(maxDiff, Math.abs(xi - old_xi));
+        }
+        return maxDiff;
+    }
+
+    // Balayage SOR lexicographique des lignes [from, to) de la CDS. Retourne max |x_nouveau - x_ancien|.
+    private double sweep(CDS A, double[] B, double[] x, double w, int from, int to) {
+        int size = A.getSize();
+        int n = A.getN();
+        double[] diag = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        int interiorStart = Math.min(Math.max(from, n), to);
+        int interiorEnd = Math.max(interiorStart, Math.min(to, size - n));
+        double maxDiff = 0;
+
+        for (int i = from; i < interiorStart; i++) {
+            maxDiff = Math.max(maxDiff, relaxRow(A, B, x, i, w));
+        }
+        // Lignes [n, size - n) : les 5 diagonales sont présentes, aucun test
+        for (int i = interiorStart; i < interiorEnd; i++) {
+            double old_xi = x[i];
+            double gs = (B[i] - low1[i - 1] * x[i - 1] - up1[i] * x[i + 1]
+                    - lowN[i - n] * x[i - n] - upN[i] * x[i + n]) / diag[i];
+            x[i] = old_xi + w * (gs - old_xi);
+            maxDiff = Math.max(maxDiff, Math.abs(x[i] - old_xi));
+        }
+        for (int i = interiorEnd; i < to; i++) {
+            maxDiff = Math.max(maxDiff, relaxRow(A, B, x, i, w));
+        }
+        return maxDiff;
+    }
+
+    private double relaxRow(CDS A, double[] B, double[] x, int i, double w) {
+        int size = A.getSize();
+        int n = A.getN();
+        double sum = 0.0;
+        if (i > 0) sum += A.getLowerDiag1()[i - 1] * x[i - 1];
+        if (i < size - 1) sum += A.getUpperDiag1()[i] * x[i + 1];
+        if (i >= n) sum += A.getLowerDiagN()[i - n] * x[i - n];
+        if (i < size - n) sum += A.getUpperDiagN()[i] * x[i + n];
+        double old_xi = x[i];
+        x[i] = old_xi + w * ((B[i] - sum) / A.getMainDiag()[i] - old_xi);
+        return Math.abs(x[i] - old_xi);
+    }
+
+    // Un balayage SOR lexicographique matrix-free. Retourne max |x_nouveau - x_ancien|.
+    private double sweep(StencilOperator A, double[] B, double[] x, double w) {
+        int n = A.getN();
+        int m = A.getM();
+        double invDiag = 1.0 / A.getDiag();
+        double offX = A.getOffX();
+        double offY = A.getOffY();
+        double maxDiff = 0;
+
+        for (int j = 0; j < m; j++) {
+            int row = j * n;
+            if (j == 0 || j == m - 1 || n < 3) {
+                for (int i = 0; i < n; i++) {
+                    maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, i, j, invDiag, w));
+                }
+                continue;
+            }
+            maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, 0, j, invDiag, w));
+            for (int idx = row + 1; idx < row + n - 1; idx++) {
+                double old_xi = x[idx];
+                double gs = (B[idx] - offX * (x[idx - 1] + x[idx + 1])
+                        - offY * (x[idx - n] + x[idx + n])) * invDiag;
+                x[idx] = old_xi + w * (gs - old_xi);
+                maxDiff = Math.max(maxDiff, Math.abs(x[idx] - old_xi));
+            }
+            maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, n - 1, j, invDiag, w));
+        }
+        return maxDiff;
+    }
+
+    private double relaxPoint(StencilOperator A, double[] B, double[] x, int i, int j, double invDiag, double w) {
+        int idx = j * A.getN() + i;
+        double old_xi = x[idx];
+        x[idx] = old_xi + w * ((B[idx] - A.neighbourSum(x, i, j)) * invDiag - old_xi);
+        return Math.abs(x[idx] - old_xi);
+    }
+}
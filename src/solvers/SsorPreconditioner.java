@@ -0,0 +1,48 @@
+package solvers;
+
+import storage.CDS;
+
+/**
+ * Préconditionneur SSOR : M = ω/(2-ω) (D/ω + L) (D/ω)^-1 (D/ω + U),
+ * où L et U sont les parties strictement inférieure et supérieure de A.
+ * Une application coûte une descente et une remontée sur les 5 diagonales.
+ */
+public class SsorPreconditioner implements Preconditioner {
+    private final CDS factor; // D/ω sur la diagonale, diagonales de A ailleurs
+    private final double scale;
+
+    /**
+     * @param A     La matrice du système (symétrique).
+     * @param omega Le paramètre de relaxation, dans ]0, 2[.
+     */
+    public SsorPreconditioner(CDS A, double omega) {
+        if (omega <= 0 || omega >= 2) {
+            throw new IllegalArgumentException("Le paramètre omega doit être dans ]0, 2[.");
+        }
+        this.factor = TriangularSweeps.copyOffDiagonals(A);
+        double[] diag = A.getMainDiag();
+        double[] scaledDiag = factor.getMainDiag();
+        for (int i = 0; i < diag.length; i++) {
+            scaledDiag[i] = diag[i] / omega;
+        }
+        this.scale = (2 - omega) / omega;
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        TriangularSweeps.solveFactored(factor, r, z);
+        for (int i = 0; i < z.length; i++) {
+            z[i] *= scale;
+        }
+    }
+
+    @Override
+    public void apply(double[][] R, double[][] Z) {
+        TriangularSweeps.solveFactored(factor, R, Z);
+        for (double[] z : Z) {
+            for (int i = 0; i < z.length; i++) {
+                z[i] *= scale;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package solvers;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Critère d'arrêt d'une résolution itérative. Un critère est immuable : chaque méthode with... en renvoie une copie.
+ * - la mesure testée : max |x_nouveau - x_ancien| (comportement historique des solveurs), ou la norme L2
+ *   du résidu ||B - Ax||, absolue ou relative à ||B|| ;
+ * - le nombre maximum d'itérations ;
+ * - la période du test : le test n'est fait que toutes les k itérations, ce qui évite le calcul du résidu
+ *   (une passe complète sur la matrice) à chaque balayage ;
+ * - un budget de temps et une condition d'annulation, vérifiés à chaque itération.
+ *
+ * Exemple : StoppingCriterion.relativeResidual(1e-8).withMaxIterations(5000).withCheckInterval(10)
+ */
+public final class StoppingCriterion {
+
+    /**
+     * Grandeur comparée à la tolérance.
+     */
+    public enum Measure { UPDATE, ABSOLUTE_RESIDUAL, RELATIVE_RESIDUAL }
+
+    private static final int DEFAULT_MAX_ITERATIONS = 20000;
+
+    private final Measure measure;
+    private final double tolerance;
+    private final int maxIterations;
+    private final int checkInterval;
+    private final long timeBudgetNanos; // 0 : pas de limite
+    private final BooleanSupplier cancellation; // null : jamais annulé
+
+    private StoppingCriterion(Measure measure, double tolerance, int maxIterations, int checkInterval,
+                              long timeBudgetNanos, BooleanSupplier cancellation) {
+        this.measure = measure;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.checkInterval = checkInterval;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Arrêt quand une itération modifie la solution de moins de tol : max |x_nouveau - x_ancien| < tol.
+     */
+    public static StoppingCriterion maxUpdate(double tol) {
+        return new StoppingCriterion(Measure.UPDATE, tol, DEFAULT_MAX_ITERATIONS, 1, 0, null);
+    }
+
+    /**
+     * Arrêt quand ||B - Ax|| <= tol.
+     */
+    public static StoppingCriterion absoluteResidual(double tol) {
+        return new StoppingCriterion(Measure.ABSOLUTE_RESIDUAL, tol, DEFAULT_MAX_ITERATIONS, 1, 0, null);
+    }
+
+    /**
+     * Arrêt quand ||B - Ax|| <= tol * ||B|| (tol tout court si B est nul).
+     */
+    public static StoppingCriterion relativeResidual(double tol) {
+        return new StoppingCriterion(Measure.RELATIVE_RESIDUAL, tol, DEFAULT_MAX_ITERATIONS, 1, 0, null);
+    }
+
+    public StoppingCriterion withMaxIterations(int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Le nombre maximum d'itérations doit être positif.");
+        }
+        return new StoppingCriterion(measure, tolerance, maxIterations, checkInterval, timeBudgetNanos, cancellation);
+    }
+
+    /**
+     * Le test de convergence n'est fait que toutes les checkInterval itérations (et à la dernière).
+     * Le solveur peut donc faire jusqu'à checkInterval - 1 itérations de trop.
+     */
+    public StoppingCriterion withCheckInterval(int checkInterval) {
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("La période du test de convergence doit être positive.");
+        }
+        return new StoppingCriterion(measure, tolerance, maxIterations, checkInterval, timeBudgetNanos, cancellation);
+    }
+
+    /**
+     * Arrêt (sans convergence) quand la résolution a duré plus que budget.
+     */
+    public StoppingCriterion withTimeBudget(Duration budget) {
+        return new StoppingCriterion(measure, tolerance, maxIterations, checkInterval, budget.toNanos(), cancellation);
+    }
+
+    /**
+     * Arrêt (sans convergence) dès que cancelled renvoie true, par exemple AtomicBoolean::get
+     * ou Thread.currentThread()::isInterrupted.
+     */
+    public StoppingCriterion withCancellation(BooleanSupplier cancelled) {
+        return new StoppingCriterion(measure, tolerance, maxIterations, checkInterval, timeBudgetNanos, cancelled);
+    }
+
+    public Measure getMeasure() {
+        return measure;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public boolean isCancelled() {
+        return cancellation != null && cancellation.getAsBoolean();
+    }
+
+    public boolean usesResidual() {
+        return measure != Measure.UPDATE;
+    }
+}
@@ -0,0 +1,127 @@
+package solvers;
+
+import storage.StencilOperator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Processus de calcul d'un sous-domaine pour {@link DomainDecompositionSolver}.
+ * Il se connecte au coordinateur, reçoit sa bande de lignes (étendue du recouvrement), la factorise une fois
+ * avec {@link BandedSolver}, puis à chaque itération : reçoit les lignes de halo, résout le problème local
+ * avec ces valeurs de Dirichlet et renvoie les deux lignes dont ses voisins ont besoin.
+ *
+ * Lancement manuel (par exemple sur une autre machine) :
+ * java -cp <classes> solvers.SubdomainWorker <hôte du coordinateur> <port>
+ */
+public class SubdomainWorker {
+
+    // Commandes du coordinateur
+    static final int STOP = 0;
+    static final int ITERATE = 1;
+    static final int GATHER = 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage : java solvers.SubdomainWorker <hôte> <port>");
+            System.exit(1);
+        }
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            run(in, out);
+        }
+    }
+
+    /**
+     * Protocole (flux binaires big-endian de DataInput/DataOutputStream) :
+     * - initialisation : n, rows, diag, offX, offY, ownedStart, ownedRows, hasLower, hasUpper, sendTop, sendBottom,
+     *   B local (n * rows), x initial local (n * rows) ;
+     * - ITERATE : halo inférieur puis supérieur (n valeurs chacun, s'ils existent) ;
+     *   réponse : max |x_nouveau - x_ancien| sur les lignes possédées, ligne sendTop, ligne sendBottom ;
+     * - GATHER : réponse : les ownedRows lignes possédées ;
+     * - STOP : fin du processus.
+     * Les indices de lignes sont locaux à la bande étendue.
+     */
+    static void run(DataInputStream in, DataOutputStream out) throws IOException {
+        int n = in.readInt();
+        int rows = in.readInt();
+        double diag = in.readDouble();
+        double offX = in.readDouble();
+        double offY = in.readDouble();
+        int ownedStart = in.readInt();
+        int ownedRows = in.readInt();
+        boolean hasLower = in.readBoolean();
+        boolean hasUpper = in.readBoolean();
+        int sendTop = in.readInt();
+        int sendBottom = in.readInt();
+        int size = n * rows;
+        double[] B = readArray(in, size);
+        double[] x = readArray(in, size);
+
+        // Le problème local est le même stencil sur une grille n x rows : factorisé une seule fois
+        BandedSolver.Factorization factor = new BandedSolver().factor(new StencilOperator(n, rows, diag, offX, offY).toCds());
+        double[] rhs = new double[size];
+        double[] xNew = new double[size];
+        double[] halo = new double[n];
+
+        while (true) {
+            int command = in.readInt();
+            if (command == STOP) {
+                return;
+            }
+            if (command == GATHER) {
+                writeRows(out, x, n, ownedStart, ownedRows);
+                out.flush();
+                continue;
+            }
+
+            System.arraycopy(B, 0, rhs, 0, size);
+            // Les halos sont des conditions de Dirichlet : -offY * halo passe au second membre
+            if (hasLower) {
+                readInto(in, halo);
+                for (int i = 0; i < n; i++) rhs[i] -= offY * halo[i];
+            }
+            if (hasUpper) {
+                readInto(in, halo);
+                int last = (rows - 1) * n;
+                for (int i = 0; i < n; i++) rhs[last + i] -= offY * halo[i];
+            }
+            factor.solve(rhs, xNew);
+
+            double maxDiff = 0;
+            for (int idx = ownedStart * n; idx < (ownedStart + ownedRows) * n; idx++) {
+                maxDiff = Math.max(maxDiff, Math.abs(xNew[idx] - x[idx]));
+            }
+            double[] t = x; x = xNew; xNew = t;
+
+            out.writeDouble(maxDiff);
+            writeRows(out, x, n, sendTop, 1);
+            writeRows(out, x, n, sendBottom, 1);
+            out.flush();
+        }
+    }
+
+    static double[] readArray(DataInputStream in, int length) throws IOException {
+        double[] values = new double[length];
+        readInto(in, values);
+        return values;
+    }
+
+    static void readInto(DataInputStream in, double[] values) throws IOException {
+        for (int k = 0; k < values.length; k++) {
+            values[k] = in.readDouble();
+        }
+    }
+
+    static void writeRows(DataOutputStream out, double[] x, int n, int firstRow, int rowCount) throws IOException {
+        for (int idx = firstRow * n; idx < (firstRow + rowCount) * n; idx++) {
+            out.writeDouble(x[idx]);
+        }
+    }
+}
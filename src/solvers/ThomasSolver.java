@@ -2,6 +2,9 @@
 package solvers;
 
 public class ThomasSolver {
+    // Lignes résolues ensemble par solveBatch dans une tâche des solveurs de lignes (ADI, zèbre) :
+    // 16 colonnes voisines = 128 octets contigus par rangée de la grille.
+    static final int LINE_BLOCK = 16;
 
     /**
      * Résout un système tridiagonal Ax = d.
@@ -13,33 +16,97 @@ public class ThomasSolver {
      */
     public double[] solve(double[] a, double[] b, double[] c, double[] d) {
         int n = d.length;
-        double[] c_prime = new double[n-1];
-        double[] d_prime = new double[n];
-
-        // Travail sur des copies pour ne pas modifier les entrées
-        b = b.clone();
-        d = d.clone();
+        double[] factor = new double[2 * n];
+        double[] x = new double[n];
 
-        // Phase de balayage avant (forward sweep)
-        c_prime[0] = c[0] / b[0];
-        d_prime[0] = d[0] / b[0];
+        factor(a, b, c, factor);
+        solveFactored(a, factor, d, x, 0, 1);
+        return x;
+    }
 
-        for (int i = 1; i < n - 1; i++) {
-            double m = 1.0 / (b[i] - a[i-1] * c_prime[i-1]);
-            c_prime[i] = c[i] * m;
-            d_prime[i] = (d[i] - a[i-1] * d_prime[i-1]) * m;
+    /**
+     * Phase de balayage avant sur la matrice seule : ne dépend pas du second membre, elle est donc
+     * calculée une fois pour toutes les lignes qui partagent la même matrice tridiagonale.
+     * factor[0..n) reçoit c' et factor[n..2n) les inverses des pivots 1 / (b[i] - a[i-1] * c'[i-1]).
+     *
+     * @param a      Diagonale inférieure (taille n-1).
+     * @param b      Diagonale principale (taille n).
+     * @param c      Diagonale supérieure (taille n-1).
+     * @param factor Tableau de travail fourni par l'appelant (taille >= 2n), écrasé.
+     */
+    public void factor(double[] a, double[] b, double[] c, double[] factor) {
+        int n = b.length;
+        double pivot = 1.0 / b[0];
+        factor[n] = pivot;
+        for (int i = 1; i < n; i++) {
+            factor[i - 1] = c[i - 1] * pivot;
+            pivot = 1.0 / (b[i] - a[i - 1] * factor[i - 1]);
+            factor[n + i] = pivot;
         }
-        d_prime[n-1] = (d[n-1] - a[n-2] * d_prime[n-2]) / (b[n-1] - a[n-2] * c_prime[n-2]);
-
+    }
 
-        // Phase de substitution arrière (backward substitution)
-        double[] x = new double[n];
-        x[n-1] = d_prime[n-1];
-        for (int i = n - 2; i >= 0; i--) {
-            x[i] = d_prime[i] - c_prime[i] * x[i+1];
+    /**
+     * Résout une ligne avec la factorisation de {@link #factor}, sans aucune allocation.
+     * Les n valeurs sont lues dans d[offset + k * stride] et écrites dans x aux mêmes positions ;
+     * x peut être le même tableau que d (résolution en place). La longueur n vaut a.length + 1.
+     */
+    public void solveFactored(double[] a, double[] factor, double[] d, double[] x, int offset, int stride) {
+        int n = a.length + 1;
+        // Balayage avant : d'[i] = (d[i] - a[i-1] * d'[i-1]) / pivot[i], stocké directement dans x
+        double prev = d[offset] * factor[n];
+        x[offset] = prev;
+        for (int i = 1, p = offset + stride; i < n; i++, p += stride) {
+            prev = (d[p] - a[i - 1] * prev) * factor[n + i];
+            x[p] = prev;
+        }
+        // Substitution arrière : x[i] = d'[i] - c'[i] * x[i+1]
+        for (int i = n - 2, p = offset + (n - 2) * stride; i >= 0; i--, p -= stride) {
+            x[p] -= factor[i] * x[p + stride];
         }
+    }
 
-        System.out.println("Solveur de Thomas exécuté (pour système tridiagonal uniquement).");
-        return x;
+    /**
+     * Résout un lot de lignes indépendantes partageant la même matrice tridiagonale.
+     * La ligne l (0 <= l < lineCount) commence à offset + l * lineStride et ses éléments sont espacés
+     * de elementStride : des lignes de la grille (elementStride = 1) ou des colonnes (elementStride = n).
+     * Quand les lignes sont entrelacées (lineStride < elementStride, des colonnes voisines), les balayages
+     * avancent de front sur tout le lot : la boucle interne parcourt les lignes, donc la mémoire à pas
+     * lineStride au lieu de sauter de n en n d'une colonne à l'autre. Chaque ligne subit exactement
+     * les opérations de solveFactored.
+     *
+     * @param a      Diagonale inférieure (taille n-1).
+     * @param factor Factorisation produite par {@link #factor} (taille >= 2n).
+     * @param d      Seconds membres.
+     * @param x      Solutions (peut être d).
+     */
+    public void solveBatch(double[] a, double[] factor, double[] d, double[] x,
+                           int offset, int lineCount, int lineStride, int elementStride) {
+        if (lineStride >= elementStride) {
+            for (int l = 0; l < lineCount; l++) {
+                solveFactored(a, factor, d, x, offset + l * lineStride, elementStride);
+            }
+            return;
+        }
+        int n = a.length + 1;
+        int end = offset + lineCount * lineStride;
+        // Balayage avant, d'[i] rangé directement dans x
+        double pivot = factor[n];
+        for (int p = offset; p < end; p += lineStride) {
+            x[p] = d[p] * pivot;
+        }
+        for (int i = 1, base = elementStride; i < n; i++, base += elementStride) {
+            double lower = a[i - 1];
+            pivot = factor[n + i];
+            for (int p = offset + base; p < end + base; p += lineStride) {
+                x[p] = (d[p] - lower * x[p - elementStride]) * pivot;
+            }
+        }
+        // Substitution arrière
+        for (int i = n - 2, base = (n - 2) * elementStride; i >= 0; i--, base -= elementStride) {
+            double upper = factor[i];
+            for (int p = offset + base; p < end + base; p += lineStride) {
+                x[p] -= upper * x[p + elementStride];
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,295 @@
+package solvers;
+
+import storage.CDS;
+import storage.CdsKernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TiledJacobiSolver implements Solver {
+
+    // 4 balayages par passage en mémoire, sur des tuiles de 512 x 32 nœuds : avec le recouvrement, une tuile
+    // (5 diagonales, B et 2 tampons) tient dans un cache L2 de 2 Mo, et ses lignes restent assez longues
+    // pour les boucles SIMD de CdsKernels.jacobiRow.
+    private static final int DEFAULT_SWEEPS_PER_TILE = 4;
+    private static final int DEFAULT_TILE_WIDTH = 512;
+    private static final int DEFAULT_TILE_HEIGHT = 32;
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    private final int sweepsPerTile;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final ForkJoinPool pool;
+
+    private final IterationListeners listeners = new IterationListeners();
+
+    public TiledJacobiSolver() {
+        this(DEFAULT_SWEEPS_PER_TILE, DEFAULT_TILE_WIDTH, DEFAULT_TILE_HEIGHT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param sweepsPerTile Le nombre de balayages de Jacobi effectués sur une tuile avant de passer à la suivante.
+     * @param tileWidth     La largeur (en nœuds, selon i) de la partie d'une tuile écrite dans la solution.
+     * @param tileHeight    Sa hauteur (en lignes de la grille).
+     * @param pool          Le pool de threads sur lequel les tuiles, indépendantes, sont traitées.
+     */
+    public TiledJacobiSolver(int sweepsPerTile, int tileWidth, int tileHeight, ForkJoinPool pool) {
+        if (sweepsPerTile < 1 || tileWidth < 1 || tileHeight < 1) {
+            throw new IllegalArgumentException("Le nombre de balayages par tuile et la taille des tuiles doivent être positifs.");
+        }
+        this.sweepsPerTile = sweepsPerTile;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.pool = pool;
+    }
+
+    /**
+     * Ajoute un écouteur notifié à chaque passe de sweepsPerTile itérations (voir utils.SolverMetrics).
+     */
+    public TiledJacobiSolver addListener(IterationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Résout le système Ax = B par la méthode de Jacobi avec blocage temporel (tuiles recouvrantes).
+     * La grille est découpée en tuiles ; chaque tuile est étendue de sweepsPerTile - 1 nœuds de chaque côté,
+     * et les sweepsPerTile balayages y sont faits de suite, dans deux tampons qui restent dans le cache,
+     * la zone calculée rétrécissant d'un nœud par balayage. Les diagonales, B et x_old ne sont donc lus
+     * qu'une fois tous les sweepsPerTile balayages, au prix du calcul redondant des bords des tuiles.
+     * Chaque nœud subit les mêmes opérations que dans JacobiSolver : après k balayages, la solution est la même.
+     * La convergence n'est testée qu'à la fin d'une passe, sur la mise à jour du dernier balayage.
+     *
+     * @param A       La matrice du système (stockage CDS d'une grille n x m, sans couplage entre fin de ligne et ligne suivante).
+     * @param B       Le vecteur second membre.
+     * @param x0      La solution initiale.
+     * @param maxIter Le nombre maximum d'itérations.
+     * @param tol     La tolérance pour la convergence.
+     * @return Le vecteur solution x.
+     */
+    public double[] solve(CDS A, double[] B, double[] x0, int maxIter, double tol) {
+        if (maxIter <= 0) {
+            return x0.clone();
+        }
+        return solve(A, B, x0, StoppingCriterion.maxUpdate(tol).withMaxIterations(maxIter)).getSolution();
+    }
+
+    @Override
+    public SolverResult solve(CDS A, double[] B, double[] x0, StoppingCriterion criterion) {
+        Grid grid = new Grid(A, tileWidth, tileHeight);
+        CdsKernels kernels = grid.kernels;
+        int size = A.getSize();
+        double[] next = new double[size];
+        double[] x_old = x0.clone();
+        // 5 diagonales + B + x_old lus et x écrit une fois par passe (hors recouvrement)
+        ConvergenceMonitor monitor = new ConvergenceMonitor("Jacobi par tuiles (CDS, " + sweepsPerTile
+                + " balayages par tuile)", criterion, B, listeners, size, 8L * size * Double.BYTES / sweepsPerTile);
+        int tiles = grid.tilesX * grid.tilesY;
+        int grain = Math.max(1, tiles / (pool.getParallelism() * BLOCKS_PER_THREAD));
+        int iterations = 0;
+
+        while (true) {
+            double[] x = next;
+            // La dernière passe s'arrête au nombre maximum d'itérations
+            int sweeps = Math.max(1, Math.min(sweepsPerTile, criterion.getMaxIterations() - iterations));
+            double maxDiff = pool.invoke(new TileTask(grid, B, x_old, x, sweeps, 0, tiles, grain));
+            iterations += sweeps;
+
+            if (monitor.check(iterations, maxDiff, () -> kernels.residualNorm(A, B, x), x)) {
+                return monitor.result(x, () -> kernels.residualNorm(A, B, x));
+            }
+
+            // Échange des tableaux : chaque passe réécrit tout x
+            next = x_old;
+            x_old = x;
+        }
+    }
+
+    // Matrice, forme de la grille et découpage en tuiles.
+    private static final class Grid {
+        final CDS A;
+        final double[] main;
+        final double[] up1;
+        final double[] low1;
+        final double[] upN;
+        final double[] lowN;
+        final int n;
+        final int m;
+        final int tileWidth;
+        final int tileHeight;
+        final int tilesX;
+        final int tilesY;
+        // Lignes intérieures des tuiles : version SIMD si disponible
+        final CdsKernels kernels = CdsKernels.get();
+
+        Grid(CDS A, int tileWidth, int tileHeight) {
+            n = A.getN();
+            if (n < 1 || A.getSize() % n != 0) {
+                throw new IllegalArgumentException("La taille de la matrice CDS n'est pas un multiple de la largeur de la grille.");
+            }
+            if (n < 2) {
+                // Avec n = 1, les diagonales +1 et +n se confondent
+                throw new IllegalArgumentException("Le découpage en tuiles demande une grille d'au moins 2 colonnes.");
+            }
+            m = A.getSize() / n;
+            this.A = A;
+            main = A.getMainDiag();
+            up1 = A.getUpperDiag1();
+            low1 = A.getLowerDiag1();
+            upN = A.getUpperDiagN();
+            lowN = A.getLowerDiagN();
+            // Une tuile ne lit pas la fin de la ligne précédente : ces coefficients doivent être nuls
+            for (int idx = n - 1; idx < A.getSize() - 1; idx += n) {
+                if (up1[idx] != 0.0 || low1[idx] != 0.0) {
+                    throw new IllegalArgumentException("La matrice CDS couple la fin d'une ligne de la grille à la ligne suivante (ligne " + idx + ").");
+                }
+            }
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            tilesX = (n + tileWidth - 1) / tileWidth;
+            tilesY = (m + tileHeight - 1) / tileHeight;
+        }
+    }
+
+    // Découpe récursive de l'intervalle de tuiles ; chaque feuille alloue ses deux tampons une seule fois.
+    @SuppressWarnings("serial") // tâche jamais sérialisée (RecursiveTask est Serializable par héritage)
+    private static final class TileTask extends RecursiveTask<Double> {
+        private final Grid grid;
+        private final double[] B;
+        private final double[] x_old;
+        private final double[] x;
+        private final int sweeps;
+        private final int start;
+        private final int end;
+        private final int grain;
+
+        TileTask(Grid grid, double[] B, double[] x_old, double[] x, int sweeps, int start, int end, int grain) {
+            this.grid = grid;
+            this.B = B;
+            this.x_old = x_old;
+            this.x = x;
+            this.sweeps = sweeps;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Double compute() {
+            if (end - start <= grain) {
+                int length = Math.min(grid.n, grid.tileWidth + 2 * (sweeps - 1))
+                        * Math.min(grid.m, grid.tileHeight + 2 * (sweeps - 1));
+                double[] even = sweeps > 1 ? new double[length] : null;
+                double[] odd = sweeps > 2 ? new double[length] : null;
+                double maxDiff = 0;
+                for (int tile = start; tile < end; tile++) {
+                    maxDiff = Math.max(maxDiff, relaxTile(tile, even, odd));
+                }
+                return maxDiff;
+            }
+            int mid = (start + end) >>> 1;
+            TileTask left = new TileTask(grid, B, x_old, x, sweeps, start, mid, grain);
+            left.fork();
+            double right = new TileTask(grid, B, x_old, x, sweeps, mid, end, grain).compute();
+            return Math.max(left.join(), right);
+        }
+
+        // sweeps balayages sur une tuile : le balayage t (1..sweeps) calcule la tuile étendue de sweeps - t nœuds.
+        // Le premier lit x_old, le dernier écrit x ; les autres alternent entre les tampons locaux, dont le repère
+        // est celui de la zone du premier balayage. Retourne max |x - x_prec| du dernier balayage sur la tuile.
+        private double relaxTile(int tile, double[] even, double[] odd) {
+            int n = grid.n;
+            int m = grid.m;
+            int i0 = (tile % grid.tilesX) * grid.tileWidth;
+            int j0 = (tile / grid.tilesX) * grid.tileHeight;
+            int i1 = Math.min(n, i0 + grid.tileWidth);
+            int j1 = Math.min(m, j0 + grid.tileHeight);
+            int reach = sweeps - 1;
+            int li0 = Math.max(0, i0 - reach);
+            int lj0 = Math.max(0, j0 - reach);
+            int width = Math.min(n, i1 + reach) - li0;
+            int localOffset = -(lj0 * width + li0);
+
+            double[] src = x_old;
+            int srcOffset = 0;
+            int srcStride = n;
+            double maxDiff = 0;
+            for (int t = 1; t <= sweeps; t++) {
+                int r = sweeps - t;
+                boolean last = t == sweeps;
+                double[] dst = last ? x : (t % 2 == 1 ? even : odd);
+                int dstOffset = last ? 0 : localOffset;
+                int dstStride = last ? n : width;
+                maxDiff = sweep(src, srcOffset, srcStride, dst, dstOffset, dstStride,
+                        Math.max(0, i0 - r), Math.min(n, i1 + r), Math.max(0, j0 - r), Math.min(m, j1 + r));
+                src = dst;
+                srcOffset = dstOffset;
+                srcStride = dstStride;
+            }
+            return maxDiff;
+        }
+
+        // Un balayage de Jacobi sur [ci0, ci1) x [cj0, cj1). Le nœud (i, j) est en src[srcOffset + j * srcStride + i]
+        // (idem pour dst) et en j * n + i dans la matrice et B. Mêmes opérations que CdsKernels.jacobiSweep.
+        private double sweep(double[] src, int srcOffset, int srcStride, double[] dst, int dstOffset, int dstStride,
+                             int ci0, int ci1, int cj0, int cj1) {
+            int n = grid.n;
+            int m = grid.m;
+            double maxDiff = 0;
+
+            for (int j = cj0; j < cj1; j++) {
+                int s = srcOffset + j * srcStride;
+                int d = dstOffset + j * dstStride;
+                if (j == 0 || j == m - 1) {
+                    for (int i = ci0; i < ci1; i++) {
+                        maxDiff = Math.max(maxDiff, boundaryPoint(src, s, srcStride, dst, d, i, j));
+                    }
+                    continue;
+                }
+                int lo = Math.max(ci0, 1);
+                int hi = Math.min(ci1, n - 1);
+                if (ci0 == 0) {
+                    maxDiff = Math.max(maxDiff, edgePoint(src, s, srcStride, dst, d, 0, j));
+                }
+                // Intérieur : les 4 voisins existent
+                if (lo < hi) {
+                    maxDiff = Math.max(maxDiff, grid.kernels.jacobiRow(grid.A, B, src, s, srcStride, dst, d, j, lo, hi));
+                }
+                if (ci1 == n) {
+                    maxDiff = Math.max(maxDiff, edgePoint(src, s, srcStride, dst, d, n - 1, j));
+                }
+            }
+            return maxDiff;
+        }
+
+        // Premier ou dernier nœud d'une ligne intérieure : le couplage avec l'autre ligne est nul et n'est pas lu.
+        private double edgePoint(double[] src, int s, int srcStride, double[] dst, int d, int i, int j) {
+            int n = grid.n;
+            int k = j * n + i;
+            double c = src[s + i];
+            double rhs = B[k] - grid.main[k] * c;
+            if (i > 0) rhs -= grid.low1[k - 1] * src[s + i - 1];
+            if (i < n - 1) rhs -= grid.up1[k] * src[s + i + 1];
+            rhs -= grid.lowN[k - n] * src[s + i - srcStride];
+            rhs -= grid.upN[k] * src[s + i + srcStride];
+            double z = rhs / grid.main[k];
+            dst[d + i] = z + c;
+            return Math.abs(z);
+        }
+
+        // Nœud de la première ou de la dernière ligne de la grille, comme le produit ligne-vecteur de CDS.
+        private double boundaryPoint(double[] src, int s, int srcStride, double[] dst, int d, int i, int j) {
+            int n = grid.n;
+            int k = j * n + i;
+            double c = src[s + i];
+            double sum = grid.main[k] * c;
+            if (i > 0) sum += grid.low1[k - 1] * src[s + i - 1];
+            if (i < n - 1) sum += grid.up1[k] * src[s + i + 1];
+            if (j > 0) sum += grid.lowN[k - n] * src[s + i - srcStride];
+            if (j < grid.m - 1) sum += grid.upN[k] * src[s + i + srcStride];
+            double z = (B[k] - sum) / grid.main[k];
+            dst[d + i] = z + c;
+            return Math.abs(z);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package solvers;
+
+/**
+ * Reçoit la solution d'un problème d'évolution (HeatEquationSolver) après chaque pas de temps :
+ * instantanés sur disque (voir utils.SnapshotWriter), suivi d'une grandeur, critère d'arrêt...
+ */
+public interface TimeStepListener {
+
+    /**
+     * @param step Le numéro du pas (0 pour la condition initiale).
+     * @param time Le temps atteint, step * Δt.
+     * @param u    La solution à ce temps. Le tableau appartient au solveur et sera modifié au retour :
+     *             le copier ou l'écrire avant de rendre la main.
+     */
+    void onStep(int step, double time, double[] u);
+}
@@ -0,0 +1,108 @@
+package solvers;
+
+import storage.CDS;
+
+/**
+ * Descente/remontée partagées par les préconditionneurs factorisés (SSOR, IC(0)).
+ * Le facteur est une CDS dont la diagonale principale contient D~ et les autres diagonales L et U.
+ */
+final class TriangularSweeps {
+
+    private TriangularSweeps() {
+    }
+
+    // Copie les 4 diagonales hors-diagonales de A ; la diagonale principale est laissée à remplir.
+    static CDS copyOffDiagonals(CDS A) {
+        CDS factor = new CDS(A.getSize(), A.getN());
+        copy(A.getUpperDiag1(), factor.getUpperDiag1());
+        copy(A.getLowerDiag1(), factor.getLowerDiag1());
+        copy(A.getUpperDiagN(), factor.getUpperDiagN());
+        copy(A.getLowerDiagN(), factor.getLowerDiagN());
+        return factor;
+    }
+
+    private static void copy(double[] src, double[] dst) {
+        System.arraycopy(src, 0, dst, 0, src.length);
+    }
+
+    /**
+     * Résout (D~ + L) D~^-1 (D~ + U) z = r.
+     * Descente : (D~ + L) y = r, puis remontée : (D~ + U) z = D~ y.
+     */
+    static void solveFactored(CDS factor, double[] r, double[] z) {
+        int size = factor.getSize();
+        int n = factor.getN();
+        double[] d = factor.getMainDiag();
+        double[] up1 = factor.getUpperDiag1();
+        double[] low1 = factor.getLowerDiag1();
+        double[] upN = factor.getUpperDiagN();
+        double[] lowN = factor.getLowerDiagN();
+
+        // Descente
+        for (int i = 0; i < Math.min(n, size); i++) {
+            double s = r[i];
+            if (i > 0) s -= low1[i - 1] * z[i - 1];
+            z[i] = s / d[i];
+        }
+        for (int i = n; i < size; i++) {
+            z[i] = (r[i] - low1[i - 1] * z[i - 1] - lowN[i - n] * z[i - n]) / d[i];
+        }
+
+        // Remontée
+        for (int i = size - 1; i >= Math.max(size - n, 0); i--) {
+            double s = 0.0;
+            if (i < size - 1) s += up1[i] * z[i + 1];
+            z[i] -= s / d[i];
+        }
+        for (int i = size - n - 1; i >= 0; i--) {
+            z[i] -= (up1[i] * z[i + 1] + upN[i] * z[i + n]) / d[i];
+        }
+    }
+
+    /**
+     * Même résolution pour plusieurs seconds membres, avec les mêmes opérations que solveFactored(factor, R[k], Z[k]).
+     * Les vecteurs sont traités ligne par ligne : chaque coefficient du facteur est lu une fois pour tout le lot,
+     * et les récurrences des différents vecteurs, indépendantes, s'entrelacent au lieu d'attendre chacune
+     * le résultat de la ligne précédente.
+     */
+    static void solveFactored(CDS factor, double[][] R, double[][] Z) {
+        int size = factor.getSize();
+        int n = factor.getN();
+        int count = R.length;
+        double[] d = factor.getMainDiag();
+        double[] up1 = factor.getUpperDiag1();
+        double[] low1 = factor.getLowerDiag1();
+        double[] upN = factor.getUpperDiagN();
+        double[] lowN = factor.getLowerDiagN();
+
+        // Descente
+        for (int i = 0; i < Math.min(n, size); i++) {
+            for (int v = 0; v < count; v++) {
+                double s = R[v][i];
+                if (i > 0) s -= low1[i - 1] * Z[v][i - 1];
+                Z[v][i] = s / d[i];
+            }
+        }
+        for (int i = n; i < size; i++) {
+            for (int v = 0; v < count; v++) {
+                double[] z = Z[v];
+                z[i] = (R[v][i] - low1[i - 1] * z[i - 1] - lowN[i - n] * z[i - n]) / d[i];
+            }
+        }
+
+        // Remontée
+        for (int i = size - 1; i >= Math.max(size - n, 0); i--) {
+            for (int v = 0; v < count; v++) {
+                double s = 0.0;
+                if (i < size - 1) s += up1[i] * Z[v][i + 1];
+                Z[v][i] -= s / d[i];
+            }
+        }
+        for (int i = size - n - 1; i >= 0; i--) {
+            for (int v = 0; v < count; v++) {
+                double[] z = Z[v];
+                z[i] -= (up1[i] * z[i + 1] + upN[i] * z[i + n]) / d[i];
+            }
+        }
+    }
+}
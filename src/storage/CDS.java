@@ -11,6 +11,9 @@ import java.util.Arrays;
  * - Diagonales lointaines (offset +n, -n)
  */
 public class CDS {
+    // Lignes par bloc du produit par lot : 5 diagonales x 1024 doubles = 40 Ko, qui restent dans le cache L1/L2
+    static final int BATCH_ROWS = 1024;
+
     private final double[] mainDiag;      // Offset 0
     private final double[] upperDiag1;    // Offset +1
     private final double[] lowerDiag1;    // Offset -1
@@ -33,6 +36,31 @@ public class CDS {
         return size;
     }
 
+    public int getN() {
+        return n;
+    }
+
+    // Accès direct aux diagonales (pas de copie) pour les noyaux de calcul des solveurs.
+    public double[] getMainDiag() {
+        return mainDiag;
+    }
+
+    public double[] getUpperDiag1() {
+        return upperDiag1;
+    }
+
+    public double[] getLowerDiag1() {
+        return lowerDiag1;
+    }
+
+    public double[] getUpperDiagN() {
+        return upperDiagN;
+    }
+
+    public double[] getLowerDiagN() {
+        return lowerDiagN;
+    }
+
     public void set(int row, int col, double value) {
         int offset = col - row;
         if (offset == 0) {
@@ -67,6 +95,146 @@ public class CDS {
         return 0.0; // Par définition, tout ce qui n'est pas sur les diagonales est zéro.
     }
 
+    /**
+     * Calcule y = A * x en parcourant directement les 5 diagonales.
+     * Les lignes [n, size - n) ont leurs 5 coefficients et sont traitées sans aucun test ;
+     * seules les n premières et n dernières lignes passent par le chemin avec tests.
+     *
+     * @param x Le vecteur d'entrée (taille size).
+     * @param y Le vecteur résultat (taille size), écrasé.
+     */
+    public void multiply(double[] x, double[] y) {
+        int interiorEnd = Math.max(n, size - n);
+        for (int i = 0; i < n && i < size; i++) {
+            y[i] = rowProduct(x, i);
+        }
+        for (int i = n; i < size - n; i++) {
+            y[i] = mainDiag[i] * x[i]
+                    + lowerDiag1[i - 1] * x[i - 1] + upperDiag1[i] * x[i + 1]
+                    + lowerDiagN[i - n] * x[i - n] + upperDiagN[i] * x[i + n];
+        }
+        for (int i = interiorEnd; i < size; i++) {
+            y[i] = rowProduct(x, i);
+        }
+    }
+
+    /**
+     * Calcule Y[k] = A * X[k] pour plusieurs vecteurs, par blocs de BATCH_ROWS lignes : les coefficients d'un
+     * bloc sont lus en mémoire une fois puis servent, depuis le cache, à tous les vecteurs. Pour k vecteurs,
+     * les diagonales sont lues une fois au lieu de k. Même arithmétique que multiply(x, y) pour chaque vecteur.
+     *
+     * @param X Les vecteurs d'entrée (taille size chacun).
+     * @param Y Les vecteurs résultats (taille size chacun), écrasés.
+     */
+    public void multiply(double[][] X, double[][] Y) {
+        for (int start = 0; start < size; start += BATCH_ROWS) {
+            int end = Math.min(start + BATCH_ROWS, size);
+            int interiorStart = Math.min(Math.max(start, n), end);
+            int interiorEnd = Math.max(interiorStart, Math.min(end, size - n));
+            for (int v = 0; v < X.length; v++) {
+                double[] x = X[v];
+                double[] y = Y[v];
+                for (int i = start; i < interiorStart; i++) {
+                    y[i] = rowProduct(x, i);
+                }
+                for (int i = interiorStart; i < interiorEnd; i++) {
+                    y[i] = mainDiag[i] * x[i]
+                            + lowerDiag1[i - 1] * x[i - 1] + upperDiag1[i] * x[i + 1]
+                            + lowerDiagN[i - n] * x[i - n] + upperDiagN[i] * x[i + n];
+                }
+                for (int i = interiorEnd; i < end; i++) {
+                    y[i] = rowProduct(x, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcule le résidu r = B - A * x et retourne sa norme L2, en une seule passe.
+     *
+     * @param B Le vecteur second membre.
+     * @param x Le vecteur solution courant.
+     * @param r Le vecteur résidu (taille size), écrasé. Peut être null si seule la norme est utile.
+     * @return La norme L2 du résidu.
+     */
+    public double residual(double[] B, double[] x, double[] r) {
+        int interiorEnd = Math.max(n, size - n);
+        double norm = 0.0;
+        for (int i = 0; i < n && i < size; i++) {
+            double ri = B[i] - rowProduct(x, i);
+            if (r != null) r[i] = ri;
+            norm += ri * ri;
+        }
+        if (r != null) {
+            for (int i = n; i < size - n; i++) {
+                double ri = B[i] - mainDiag[i] * x[i]
+                        - lowerDiag1[i - 1] * x[i - 1] - upperDiag1[i] * x[i + 1]
+                        - lowerDiagN[i - n] * x[i - n] - upperDiagN[i] * x[i + n];
+                r[i] = ri;
+                norm += ri * ri;
+            }
+        } else {
+            for (int i = n; i < size - n; i++) {
+                double ri = B[i] - mainDiag[i] * x[i]
+                        - lowerDiag1[i - 1] * x[i - 1] - upperDiag1[i] * x[i + 1]
+                        - lowerDiagN[i - n] * x[i - n] - upperDiagN[i] * x[i + n];
+                norm += ri * ri;
+            }
+        }
+        for (int i = interiorEnd; i < size; i++) {
+            double ri = B[i] - rowProduct(x, i);
+            if (r != null) r[i] = ri;
+            norm += ri * ri;
+        }
+        return Math.sqrt(norm);
+    }
+
+    /**
+     * Norme L2 du résidu B - A * x, sans stocker le résidu.
+     */
+    public double residualNorm(double[] B, double[] x) {
+        return residual(B, x, null);
+    }
+
+    /**
+     * Variante mise à l'échelle par la diagonale : z = D^-1 (B - A * x).
+     * C'est exactement la correction d'une itération de Jacobi (x_nouveau = x + z).
+     *
+     * @param B Le vecteur second membre.
+     * @param x Le vecteur solution courant.
+     * @param z Le vecteur résultat (taille size), écrasé.
+     * @return La norme infinie de z, soit max |x_nouveau - x| pour Jacobi.
+     */
+    public double scaledResidual(double[] B, double[] x, double[] z) {
+        int interiorEnd = Math.max(n, size - n);
+        double maxAbs = 0.0;
+        for (int i = 0; i < n && i < size; i++) {
+            z[i] = (B[i] - rowProduct(x, i)) / mainDiag[i];
+            maxAbs = Math.max(maxAbs, Math.abs(z[i]));
+        }
+        for (int i = n; i < size - n; i++) {
+            z[i] = (B[i] - mainDiag[i] * x[i]
+                    - lowerDiag1[i - 1] * x[i - 1] - upperDiag1[i] * x[i + 1]
+                    - lowerDiagN[i - n] * x[i - n] - upperDiagN[i] * x[i + n]) / mainDiag[i];
+            maxAbs = Math.max(maxAbs, Math.abs(z[i]));
+        }
+        for (int i = interiorEnd; i < size; i++) {
+            z[i] = (B[i] - rowProduct(x, i)) / mainDiag[i];
+            maxAbs = Math.max(maxAbs, Math.abs(z[i]));
+        }
+        return maxAbs;
+    }
+
+    // Produit scalaire de la ligne i de A avec x, avec tests de bord (premières et dernières lignes).
+    double rowProduct(double[] x, int i) {
+        double sum = mainDiag[i] * x[i];
+        if (i > 0) sum += lowerDiag1[i - 1] * x[i - 1];
+        if (i < size - 1) sum += upperDiag1[i] * x[i + 1];
+        if (i >= n) sum += lowerDiagN[i - n] * x[i - n];
+        if (i < size - n) sum += upperDiagN[i] * x[i + n];
+        return sum;
+    }
+
     // Affiche la matrice pour le débogage (peut être lent pour de grandes matrices)
     public void print() {
         for (int i = 0; i < size; i++) {
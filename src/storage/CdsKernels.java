@@ -0,0 +1,75 @@
+package storage;
+
+/**
+ * Noyaux de calcul sur les 5 diagonales d'une {@link CDS}, utilisés dans les boucles internes des solveurs.
+ * Deux implémentations :
+ * - scalaire (toujours disponible) ;
+ * - vectorielle (SIMD) avec l'API Vector de jdk.incubator.vector, dans la racine de sources src-simd : utilisée
+ *   si elle a été compilée, si le module est chargé (java --add-modules jdk.incubator.vector) et si le processeur
+ *   offre au moins 2 doubles par registre.
+ * Le choix est fait une fois, au premier appel de get() ; la propriété système fv2d.kernels=scalar|vector
+ * force une implémentation.
+ */
+public interface CdsKernels {
+
+    /**
+     * Nom de l'implémentation, par exemple "vector (512 bits)".
+     */
+    String name();
+
+    /**
+     * y = A * x.
+     */
+    void multiply(CDS A, double[] x, double[] y);
+
+    /**
+     * Y[k] = A * X[k] pour plusieurs vecteurs, par blocs de lignes : les coefficients d'un bloc sont lus une fois
+     * en mémoire pour tous les vecteurs (voir CDS.multiply(double[][], double[][])). Mêmes opérations que multiply.
+     */
+    void multiply(CDS A, double[][] X, double[][] Y);
+
+    /**
+     * Norme L2 du résidu B - A * x.
+     */
+    double residualNorm(CDS A, double[] B, double[] x);
+
+    /**
+     * Une itération de Jacobi : x = x_old + D^-1 (B - A x_old).
+     *
+     * @return max |x - x_old|.
+     */
+    double jacobiSweep(CDS A, double[] B, double[] x_old, double[] x);
+
+    /**
+     * Jacobi sur le segment [iStart, iEnd) de la ligne j de la grille, pour des nœuds intérieurs (0 < i < n - 1,
+     * 0 < j < size / n - 1), avec x_old et x rangés selon un autre pas que la grille (tuiles d'un balayage par blocs) :
+     * le nœud (i, j) est en src[srcRow + i] et dst[dstRow + i], ses voisins du dessous et du dessus en
+     * src[srcRow + i -/+ srcStride]. Mêmes opérations que jacobiSweep sur ces nœuds.
+     *
+     * @return max |dst - src| sur le segment.
+     */
+    double jacobiRow(CDS A, double[] B, double[] src, int srcRow, int srcStride, double[] dst, int dstRow,
+                     int j, int iStart, int iEnd);
+
+    /**
+     * Demi-balayage SOR Rouge-Noir des lignes [jStart, jEnd) de la grille n x (size / n) : seuls les nœuds (i, j)
+     * avec (i + j) % 2 == colour sont mis à jour, en place dans x.
+     *
+     * @return max |x_nouveau - x_ancien| sur les nœuds mis à jour.
+     */
+    double redBlackRows(CDS A, double[] B, double[] x, int colour, int jStart, int jEnd, double omega);
+
+    /**
+     * L'implémentation choisie pour cette JVM.
+     */
+    static CdsKernels get() {
+        return KernelSelector.INSTANCE;
+    }
+
+    /**
+     * L'implémentation scalaire, par exemple comme référence pour comparer les résultats.
+     */
+    static CdsKernels scalar() {
+        return ScalarCdsKernels.INSTANCE;
+    }
+}
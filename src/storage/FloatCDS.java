@@ -0,0 +1,118 @@
+package storage;
+
+/**
+ * Variante simple précision de {@link CDS} : mêmes 5 diagonales, même disposition, mais en float.
+ * Les balayages étant limités par la bande passante mémoire, diviser par deux les octets lus
+ * par coefficient accélère d'autant les itérations internes d'un solveur en précision mixte.
+ * La précision (~1e-7 relative) ne suffit pas seule : elle est complétée par un raffinement en double.
+ */
+public class FloatCDS {
+    private final float[] mainDiag;      // Offset 0
+    private final float[] upperDiag1;    // Offset +1
+    private final float[] lowerDiag1;    // Offset -1
+    private final float[] upperDiagN;    // Offset +n
+    private final float[] lowerDiagN;    // Offset -n
+    private final int size;
+    private final int n;
+
+    /**
+     * Copie arrondie en float d'une matrice CDS double précision.
+     */
+    public FloatCDS(CDS A) {
+        this.size = A.getSize();
+        this.n = A.getN();
+        this.mainDiag = toFloat(A.getMainDiag());
+        this.upperDiag1 = toFloat(A.getUpperDiag1());
+        this.lowerDiag1 = toFloat(A.getLowerDiag1());
+        this.upperDiagN = toFloat(A.getUpperDiagN());
+        this.lowerDiagN = toFloat(A.getLowerDiagN());
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    // Accès direct aux diagonales (pas de copie) pour les noyaux de calcul des solveurs.
+    public float[] getMainDiag() {
+        return mainDiag;
+    }
+
+    public float[] getUpperDiag1() {
+        return upperDiag1;
+    }
+
+    public float[] getLowerDiag1() {
+        return lowerDiag1;
+    }
+
+    public float[] getUpperDiagN() {
+        return upperDiagN;
+    }
+
+    public float[] getLowerDiagN() {
+        return lowerDiagN;
+    }
+
+    public float get(int row, int col) {
+        int offset = col - row;
+        if (offset == 0) {
+            return mainDiag[row];
+        } else if (offset == 1 && row < size - 1) {
+            return upperDiag1[row];
+        } else if (offset == -1 && row > 0) {
+            return lowerDiag1[row - 1];
+        } else if (offset == n && row < size - n) {
+            return upperDiagN[row];
+        } else if (offset == -n && row > 0) {
+            return lowerDiagN[row - n];
+        }
+        return 0.0f;
+    }
+
+    /**
+     * Calcule y = A * x en simple précision (accumulation en float).
+     *
+     * @param x Le vecteur d'entrée (taille size).
+     * @param y Le vecteur résultat (taille size), écrasé.
+     */
+    public void multiply(float[] x, float[] y) {
+        int interiorEnd = Math.max(n, size - n);
+        for (int i = 0; i < n && i < size; i++) {
+            y[i] = rowProduct(x, i);
+        }
+        for (int i = n; i < size - n; i++) {
+            y[i] = mainDiag[i] * x[i]
+                    + lowerDiag1[i - 1] * x[i - 1] + upperDiag1[i] * x[i + 1]
+                    + lowerDiagN[i - n] * x[i - n] + upperDiagN[i] * x[i + n];
+        }
+        for (int i = interiorEnd; i < size; i++) {
+            y[i] = rowProduct(x, i);
+        }
+    }
+
+    // Somme hors diagonale de la ligne i avec tests de bord (premières et dernières lignes).
+    public float offDiagonalProduct(float[] x, int i) {
+        float sum = 0.0f;
+        if (i > 0) sum += lowerDiag1[i - 1] * x[i - 1];
+        if (i < size - 1) sum += upperDiag1[i] * x[i + 1];
+        if (i >= n) sum += lowerDiagN[i - n] * x[i - n];
+        if (i < size - n) sum += upperDiagN[i] * x[i + n];
+        return sum;
+    }
+
+    private float rowProduct(float[] x, int i) {
+        return mainDiag[i] * x[i] + offDiagonalProduct(x, i);
+    }
+
+    private static float[] toFloat(double[] values) {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package storage;
+
+/**
+ * Choix de l'implémentation de {@link CdsKernels}. La classe vectorielle est chargée par réflexion : si src-simd
+ * n'a pas été compilé, ou sans le module jdk.incubator.vector, son chargement échoue et l'implémentation scalaire
+ * est utilisée. Le reste du code ne dépend pas du module incubateur et se compile sans option.
+ */
+final class KernelSelector {
+    static final CdsKernels INSTANCE = select();
+
+    private KernelSelector() {
+    }
+
+    private static CdsKernels select() {
+        String choice = System.getProperty("fv2d.kernels", "auto");
+        if (choice.equals("scalar")) {
+            return ScalarCdsKernels.INSTANCE;
+        }
+        try {
+            // Le constructeur refuse un processeur à un seul double par registre, sauf si la version vectorielle est forcée
+            return (CdsKernels) Class.forName("storage.VectorCdsKernels")
+                    .getDeclaredConstructor(boolean.class).newInstance(choice.equals("vector"));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            if (choice.equals("vector")) {
+                System.err.println("Noyaux vectoriels indisponibles (compiler src-simd, "
+                        + "lancer avec --add-modules jdk.incubator.vector) : "
+                        + e + ". Utilisation des noyaux scalaires.");
+            }
+        }
+        return ScalarCdsKernels.INSTANCE;
+    }
+}
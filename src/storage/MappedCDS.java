@@ -0,0 +1,154 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Variante hors tas de {@link CDS} : les 5 diagonales sont des {@link OffHeapVector}, en mémoire directe
+ * ou projetées depuis un fichier (une section par diagonale, dans l'ordre principale, +1, -1, +n, -n).
+ * Même disposition que CDS, mais indices long : la taille n'est limitée que par la mémoire virtuelle,
+ * pas par le tas Java, ce qui permet des grilles dont la matrice dépasse -Xmx.
+ */
+public class MappedCDS {
+    private final OffHeapVector mainDiag;      // Offset 0
+    private final OffHeapVector upperDiag1;    // Offset +1
+    private final OffHeapVector lowerDiag1;    // Offset -1
+    private final OffHeapVector upperDiagN;    // Offset +n
+    private final OffHeapVector lowerDiagN;    // Offset -n
+    private final long size;
+    private final int n;
+
+    /**
+     * Matrice en mémoire directe (hors tas, sans fichier).
+     */
+    public MappedCDS(long size, int n) {
+        this.size = size;
+        this.n = n;
+        this.mainDiag = OffHeapVector.allocateDirect(size);
+        this.upperDiag1 = OffHeapVector.allocateDirect(size - 1);
+        this.lowerDiag1 = OffHeapVector.allocateDirect(size - 1);
+        this.upperDiagN = OffHeapVector.allocateDirect(size - n);
+        this.lowerDiagN = OffHeapVector.allocateDirect(size - n);
+    }
+
+    /**
+     * Matrice projetée depuis un fichier (créé ou agrandi). Si le fichier a été écrit par une exécution
+     * précédente avec les mêmes dimensions, ses coefficients sont relus tels quels.
+     */
+    public MappedCDS(long size, int n, Path file) throws IOException {
+        this.size = size;
+        this.n = n;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = 0;
+            this.mainDiag = OffHeapVector.map(channel, position, size);
+            position += size * Double.BYTES;
+            this.upperDiag1 = OffHeapVector.map(channel, position, size - 1);
+            position += (size - 1) * Double.BYTES;
+            this.lowerDiag1 = OffHeapVector.map(channel, position, size - 1);
+            position += (size - 1) * Double.BYTES;
+            this.upperDiagN = OffHeapVector.map(channel, position, size - n);
+            position += (size - n) * Double.BYTES;
+            this.lowerDiagN = OffHeapVector.map(channel, position, size - n);
+        }
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    // Accès direct aux diagonales (pas de copie) pour les noyaux de calcul des solveurs.
+    public OffHeapVector getMainDiag() {
+        return mainDiag;
+    }
+
+    public OffHeapVector getUpperDiag1() {
+        return upperDiag1;
+    }
+
+    public OffHeapVector getLowerDiag1() {
+        return lowerDiag1;
+    }
+
+    public OffHeapVector getUpperDiagN() {
+        return upperDiagN;
+    }
+
+    public OffHeapVector getLowerDiagN() {
+        return lowerDiagN;
+    }
+
+    public void set(long row, long col, double value) {
+        long offset = col - row;
+        if (offset == 0) {
+            mainDiag.set(row, value);
+        } else if (offset == 1 && row < size - 1) {
+            upperDiag1.set(row, value);
+        } else if (offset == -1 && row > 0) {
+            lowerDiag1.set(row - 1, value);
+        } else if (offset == n && row < size - n) {
+            upperDiagN.set(row, value);
+        } else if (offset == -n && row > 0) {
+            lowerDiagN.set(row - n, value);
+        } else if (value != 0) {
+            throw new IllegalArgumentException("Cannot set value outside of the 5 stored diagonals.");
+        }
+    }
+
+    public double get(long row, long col) {
+        long offset = col - row;
+        if (offset == 0) {
+            return mainDiag.get(row);
+        } else if (offset == 1 && row < size - 1) {
+            return upperDiag1.get(row);
+        } else if (offset == -1 && row > 0) {
+            return lowerDiag1.get(row - 1);
+        } else if (offset == n && row < size - n) {
+            return upperDiagN.get(row);
+        } else if (offset == -n && row > 0) {
+            return lowerDiagN.get(row - n);
+        }
+        return 0.0;
+    }
+
+    /**
+     * Somme hors diagonale de la ligne i : A[i][voisin] * x[voisin], avec tests de bord.
+     */
+    public double offDiagonalProduct(OffHeapVector x, long i) {
+        double sum = 0.0;
+        if (i > 0) sum += lowerDiag1.get(i - 1) * x.get(i - 1);
+        if (i < size - 1) sum += upperDiag1.get(i) * x.get(i + 1);
+        if (i >= n) sum += lowerDiagN.get(i - n) * x.get(i - n);
+        if (i < size - n) sum += upperDiagN.get(i) * x.get(i + n);
+        return sum;
+    }
+
+    /**
+     * Norme L2 du résidu B - A * x, sans stocker le résidu.
+     */
+    public double residualNorm(OffHeapVector B, OffHeapVector x) {
+        double norm = 0.0;
+        for (long i = 0; i < size; i++) {
+            double ri = B.get(i) - mainDiag.get(i) * x.get(i) - offDiagonalProduct(x, i);
+            norm += ri * ri;
+        }
+        return Math.sqrt(norm);
+    }
+
+    /**
+     * Écrit sur le disque les pages modifiées des diagonales (sans effet en mémoire directe).
+     */
+    public void force() {
+        mainDiag.force();
+        upperDiag1.force();
+        lowerDiag1.force();
+        upperDiagN.force();
+        lowerDiagN.force();
+    }
+}
@@ -0,0 +1,146 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Vecteur de doubles stocké hors du tas Java : mémoire directe, ou fichier projeté en mémoire
+ * (memory-mapped, par exemple sur un disque NVMe local). Le ramasse-miettes ne le parcourt jamais
+ * et sa taille n'est pas limitée par -Xmx ; pour un fichier projeté, le système pagine les données.
+ * Un ByteBuffer étant limité à 2 Go, le vecteur est découpé en blocs de 2^27 doubles (1 Go) ;
+ * l'élément i se trouve dans le bloc i >>> 27, à la position i & (2^27 - 1).
+ * MemorySegment (java.lang.foreign) n'est pas utilisé : sur le JDK 21 visé par le projet, c'est encore une API
+ * en preview (finale à partir du JDK 22), qui demande --enable-preview à la compilation et à l'exécution.
+ */
+public class OffHeapVector {
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_LENGTH = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_LENGTH - 1;
+
+    private final long length;
+    private final DoubleBuffer[] chunks;
+    private final MappedByteBuffer[] mapped; // null pour la mémoire directe
+
+    private OffHeapVector(long length, DoubleBuffer[] chunks, MappedByteBuffer[] mapped) {
+        this.length = length;
+        this.chunks = chunks;
+        this.mapped = mapped;
+    }
+
+    /**
+     * Alloue un vecteur de length doubles en mémoire directe (hors tas), initialisé à 0.
+     */
+    public static OffHeapVector allocateDirect(long length) {
+        int count = chunkCount(length);
+        DoubleBuffer[] chunks = new DoubleBuffer[count];
+        for (int c = 0; c < count; c++) {
+            int doubles = (int) Math.min(CHUNK_LENGTH, length - c * CHUNK_LENGTH);
+            chunks[c] = ByteBuffer.allocateDirect(doubles * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+        return new OffHeapVector(length, chunks, null);
+    }
+
+    /**
+     * Projette le fichier en mémoire comme un vecteur de length doubles (le fichier est créé ou agrandi).
+     * La projection reste valide après la fermeture du canal.
+     */
+    public static OffHeapVector map(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return map(channel, 0, length);
+        }
+    }
+
+    /**
+     * Projette la région [position, position + 8 * length) du canal comme un vecteur de length doubles.
+     * Permet de placer plusieurs vecteurs dans un même fichier.
+     */
+    public static OffHeapVector map(FileChannel channel, long position, long length) throws IOException {
+        int count = chunkCount(length);
+        DoubleBuffer[] chunks = new DoubleBuffer[count];
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long doubles = Math.min(CHUNK_LENGTH, length - c * CHUNK_LENGTH);
+            mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    position + c * CHUNK_LENGTH * Double.BYTES, doubles * Double.BYTES);
+            mapped[c].order(ByteOrder.nativeOrder());
+            chunks[c] = mapped[c].asDoubleBuffer();
+        }
+        return new OffHeapVector(length, chunks, mapped);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public double get(long i) {
+        return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) (i & CHUNK_MASK));
+    }
+
+    public void set(long i, double value) {
+        chunks[(int) (i >>> CHUNK_SHIFT)].put((int) (i & CHUNK_MASK), value);
+    }
+
+    public void fill(double value) {
+        for (DoubleBuffer chunk : chunks) {
+            for (int k = 0; k < chunk.capacity(); k++) {
+                chunk.put(k, value);
+            }
+        }
+    }
+
+    /**
+     * Copie src dans le vecteur à partir de la position offset.
+     */
+    public void copyFrom(double[] src, long offset) {
+        for (int k = 0; k < src.length; k++) {
+            set(offset + k, src[k]);
+        }
+    }
+
+    /**
+     * Copie count éléments à partir de la position offset dans dst[0..count).
+     */
+    public void copyTo(long offset, double[] dst, int count) {
+        for (int k = 0; k < count; k++) {
+            dst[k] = get(offset + k);
+        }
+    }
+
+    /**
+     * Copie le vecteur dans un tableau du tas (uniquement si length tient dans un tableau Java).
+     */
+    public double[] toArray() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Le vecteur est trop grand pour un tableau Java.");
+        }
+        double[] result = new double[(int) length];
+        copyTo(0, result, result.length);
+        return result;
+    }
+
+    /**
+     * Écrit sur le disque les pages modifiées d'un vecteur projeté (sans effet en mémoire directe).
+     */
+    public void force() {
+        if (mapped != null) {
+            for (MappedByteBuffer buffer : mapped) {
+                buffer.force();
+            }
+        }
+    }
+
+    private static int chunkCount(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("La longueur du vecteur doit être positive.");
+        }
+        long count = (length + CHUNK_LENGTH - 1) >>> CHUNK_SHIFT;
+        return (int) Math.max(1, count);
+    }
+}
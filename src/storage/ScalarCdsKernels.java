@@ -0,0 +1,121 @@
+package storage;
+
+/**
+ * Noyaux scalaires : les boucles de {@link CDS} et le demi-balayage Rouge-Noir par lignes.
+ */
+final class ScalarCdsKernels implements CdsKernels {
+    static final ScalarCdsKernels INSTANCE = new ScalarCdsKernels();
+
+    private ScalarCdsKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void multiply(CDS A, double[] x, double[] y) {
+        A.multiply(x, y);
+    }
+
+    @Override
+    public void multiply(CDS A, double[][] X, double[][] Y) {
+        A.multiply(X, Y);
+    }
+
+    @Override
+    public double residualNorm(CDS A, double[] B, double[] x) {
+        return A.residualNorm(B, x);
+    }
+
+    @Override
+    public double jacobiSweep(CDS A, double[] B, double[] x_old, double[] x) {
+        // Correction z = D^-1 (B - A x_old) calculée dans x, puis x = x_old + z
+        double maxDiff = A.scaledResidual(B, x_old, x);
+        for (int i = 0; i < x.length; i++) {
+            x[i] += x_old[i];
+        }
+        return maxDiff;
+    }
+
+    @Override
+    public double jacobiRow(CDS A, double[] B, double[] src, int srcRow, int srcStride, double[] dst, int dstRow,
+                            int j, int iStart, int iEnd) {
+        int n = A.getN();
+        double[] main = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        int shift = j * n - srcRow; // indice dans A et B = indice dans src + shift
+        double maxDiff = 0.0;
+        for (int s = srcRow + iStart; s < srcRow + iEnd; s++) {
+            int k = s + shift;
+            double c = src[s];
+            double z = (B[k] - main[k] * c
+                    - low1[k - 1] * src[s - 1] - up1[k] * src[s + 1]
+                    - lowN[k - n] * src[s - srcStride] - upN[k] * src[s + srcStride]) / main[k];
+            dst[s - srcRow + dstRow] = z + c;
+            maxDiff = Math.max(maxDiff, Math.abs(z));
+        }
+        return maxDiff;
+    }
+
+    // Le voisinage est celui de la grille n x m (pas de couplage entre fin de ligne et ligne suivante).
+    @Override
+    public double redBlackRows(CDS A, double[] B, double[] x, int colour, int jStart, int jEnd, double omega) {
+        int n = A.getN();
+        int m = A.getSize() / n;
+        double[] diag = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+        double maxDiff = 0;
+
+        for (int j = jStart; j < jEnd; j++) {
+            int row = j * n;
+            int first = (colour + j) & 1; // premier i de la bonne couleur dans la ligne j
+            if (j == 0 || j == m - 1) {
+                for (int i = first; i < n; i += 2) {
+                    maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, n, m, i, j, omega));
+                }
+                continue;
+            }
+            int i = first;
+            if (i == 0) {
+                maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, n, m, 0, j, omega));
+                i = 2;
+            }
+            // Intérieur de la ligne : les 4 voisins existent
+            for (; i < n - 1; i += 2) {
+                int idx = row + i;
+                double old_xi = x[idx];
+                double gs = (B[idx] - low1[idx - 1] * x[idx - 1] - up1[idx] * x[idx + 1]
+                        - lowN[idx - n] * x[idx - n] - upN[idx] * x[idx + n]) / diag[idx];
+                x[idx] = old_xi + omega * (gs - old_xi);
+                maxDiff = Math.max(maxDiff, Math.abs(x[idx] - old_xi));
+            }
+            if (i == n - 1) {
+                maxDiff = Math.max(maxDiff, relaxPoint(A, B, x, n, m, i, j, omega));
+            }
+        }
+        return maxDiff;
+    }
+
+    /**
+     * Mise à jour SOR d'un nœud (i, j) avec tests sur les voisins. Retourne |x_nouveau - x_ancien|.
+     */
+    static double relaxPoint(CDS A, double[] B, double[] x, int n, int m, int i, int j, double omega) {
+        int idx = j * n + i;
+        double sum = 0.0;
+        if (i > 0) sum += A.getLowerDiag1()[idx - 1] * x[idx - 1];
+        if (i < n - 1) sum += A.getUpperDiag1()[idx] * x[idx + 1];
+        if (j > 0) sum += A.getLowerDiagN()[idx - n] * x[idx - n];
+        if (j < m - 1) sum += A.getUpperDiagN()[idx] * x[idx + n];
+        double old_xi = x[idx];
+        x[idx] = old_xi + omega * ((B[idx] - sum) / A.getMainDiag()[idx] - old_xi);
+        return Math.abs(x[idx] - old_xi);
+    }
+}
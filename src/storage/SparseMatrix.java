@@ -1,4 +1,250 @@
 package storage;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Matrice creuse générale au format CSR (Compressed Sparse Row).
+ * Contrairement à {@link CDS}, aucune structure n'est imposée : coefficients variables,
+ * couplages irréguliers, maillages non structurés... La mémoire est linéaire en nombre de non-zéros :
+ * - rowPtr (rows + 1) : les coefficients de la ligne i sont aux positions [rowPtr[i], rowPtr[i+1]) ;
+ * - colIdx (nnz) : indices de colonne, triés par ordre croissant dans chaque ligne ;
+ * - values (nnz) : valeurs correspondantes.
+ */
 public class SparseMatrix {
+    // En dessous de ce nombre de non-zéros, le produit parallèle coûte plus qu'il ne rapporte
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final int rows;
+    private final int cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    /**
+     * Construit la matrice à partir de tableaux CSR déjà formés (ils ne sont pas copiés).
+     */
+    public SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        if (rowPtr.length != rows + 1 || rowPtr[0] != 0 || colIdx.length < rowPtr[rows] || values.length < rowPtr[rows]) {
+            throw new IllegalArgumentException("Tableaux CSR incohérents avec les dimensions de la matrice.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeros() {
+        return rowPtr[rows];
+    }
+
+    // Accès direct aux tableaux CSR (pas de copie) pour les noyaux de calcul des solveurs.
+    public int[] getRowPtr() {
+        return rowPtr;
+    }
+
+    public int[] getColIdx() {
+        return colIdx;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public double get(int row, int col) {
+        int k = Arrays.binarySearch(colIdx, rowPtr[row], rowPtr[row + 1], col);
+        return k >= 0 ? values[k] : 0.0;
+    }
+
+    /**
+     * Copie la diagonale principale dans d (0 si le coefficient n'est pas stocké).
+     */
+    public void diagonal(double[] d) {
+        for (int i = 0; i < Math.min(rows, cols); i++) {
+            d[i] = get(i, i);
+        }
+    }
+
+    /**
+     * Calcule y = A * x, ligne par ligne.
+     *
+     * @param x Le vecteur d'entrée (taille cols).
+     * @param y Le vecteur résultat (taille rows), écrasé.
+     */
+    public void multiply(double[] x, double[] y) {
+        multiplyRows(x, y, 0, rows);
+    }
+
+    /**
+     * Calcule y = A * x en parallèle : les lignes sont découpées en blocs contigus, chaque bloc
+     * écrit une portion disjointe de y, il n'y a donc aucune synchronisation.
+     * Les petites matrices sont traitées séquentiellement.
+     *
+     * @param x    Le vecteur d'entrée (taille cols).
+     * @param y    Le vecteur résultat (taille rows), écrasé.
+     * @param pool Le pool de threads.
+     */
+    public void multiply(double[] x, double[] y, ForkJoinPool pool) {
+        int parallelism = pool.getParallelism();
+        if (getNonZeros() < PARALLEL_THRESHOLD || parallelism <= 1) {
+            multiplyRows(x, y, 0, rows);
+            return;
+        }
+        int blocks = Math.min(rows, 4 * parallelism);
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b ->
+                multiplyRows(x, y, (int) ((long) rows * b / blocks), (int) ((long) rows * (b + 1) / blocks))
+        )).join();
+    }
+
+    private void multiplyRows(double[] x, double[] y, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double sum = 0.0;
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                sum += values[k] * x[colIdx[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Calcule le résidu r = B - A * x et retourne sa norme L2, en une seule passe.
+     *
+     * @param B Le vecteur second membre.
+     * @param x Le vecteur solution courant.
+     * @param r Le vecteur résidu (taille rows), écrasé. Peut être null si seule la norme est utile.
+     * @return La norme L2 du résidu.
+     */
+    public double residual(double[] B, double[] x, double[] r) {
+        double norm = 0.0;
+        for (int i = 0; i < rows; i++) {
+            double ri = B[i];
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                ri -= values[k] * x[colIdx[k]];
+            }
+            if (r != null) r[i] = ri;
+            norm += ri * ri;
+        }
+        return Math.sqrt(norm);
+    }
+
+    /**
+     * Norme L2 du résidu B - A * x, sans stocker le résidu.
+     */
+    public double residualNorm(double[] B, double[] x) {
+        return residual(B, x, null);
+    }
+
+    /**
+     * Assemblage d'une matrice CSR à partir de triplets (ligne, colonne, valeur) dans un ordre quelconque.
+     * Les triplets sont stockés dans des tableaux primitifs ; les doublons sont additionnés
+     * (assemblage élément par élément ou flux par flux).
+     */
+    public static final class Builder {
+        private final int rows;
+        private final int cols;
+        private int count;
+        private int[] tripletRows;
+        private int[] tripletCols;
+        private double[] tripletValues;
+
+        public Builder(int rows, int cols) {
+            this(rows, cols, 16);
+        }
+
+        /**
+         * @param expectedNonZeros Estimation du nombre de triplets (évite les réallocations).
+         */
+        public Builder(int rows, int cols, int expectedNonZeros) {
+            this.rows = rows;
+            this.cols = cols;
+            int capacity = Math.max(16, expectedNonZeros);
+            this.tripletRows = new int[capacity];
+            this.tripletCols = new int[capacity];
+            this.tripletValues = new double[capacity];
+        }
+
+        public Builder add(int row, int col, double value) {
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                throw new IndexOutOfBoundsException("Coefficient (" + row + ", " + col + ") hors de la matrice "
+                        + rows + "x" + cols + ".");
+            }
+            if (count == tripletRows.length) {
+                int capacity = 2 * count;
+                tripletRows = Arrays.copyOf(tripletRows, capacity);
+                tripletCols = Arrays.copyOf(tripletCols, capacity);
+                tripletValues = Arrays.copyOf(tripletValues, capacity);
+            }
+            tripletRows[count] = row;
+            tripletCols[count] = col;
+            tripletValues[count] = value;
+            count++;
+            return this;
+        }
+
+        public SparseMatrix build() {
+            // Tri par ligne (comptage), puis tri par colonne dans chaque ligne et fusion des doublons
+            int[] rowPtr = new int[rows + 1];
+            for (int k = 0; k < count; k++) {
+                rowPtr[tripletRows[k] + 1]++;
+            }
+            for (int i = 0; i < rows; i++) {
+                rowPtr[i + 1] += rowPtr[i];
+            }
+            int[] next = Arrays.copyOf(rowPtr, rows);
+            int[] colIdx = new int[count];
+            double[] values = new double[count];
+            for (int k = 0; k < count; k++) {
+                int pos = next[tripletRows[k]]++;
+                colIdx[pos] = tripletCols[k];
+                values[pos] = tripletValues[k];
+            }
+
+            int write = 0;
+            int start = 0;
+            for (int i = 0; i < rows; i++) {
+                int end = rowPtr[i + 1];
+                sortRow(colIdx, values, start, end);
+                int rowStart = write;
+                for (int k = start; k < end; k++) {
+                    if (write > rowStart && colIdx[write - 1] == colIdx[k]) {
+                        values[write - 1] += values[k];
+                    } else {
+                        colIdx[write] = colIdx[k];
+                        values[write] = values[k];
+                        write++;
+                    }
+                }
+                start = end;
+                rowPtr[i + 1] = write;
+            }
+            return new SparseMatrix(rows, cols, rowPtr,
+                    Arrays.copyOf(colIdx, write), Arrays.copyOf(values, write));
+        }
+
+        // Tri par insertion des colonnes d'une ligne : les lignes d'un stencil ne comptent que quelques termes.
+        private static void sortRow(int[] colIdx, double[] values, int from, int to) {
+            for (int k = from + 1; k < to; k++) {
+                int c = colIdx[k];
+                double v = values[k];
+                int p = k - 1;
+                while (p >= from && colIdx[p] > c) {
+                    colIdx[p + 1] = colIdx[p];
+                    values[p + 1] = values[p];
+                    p--;
+                }
+                colIdx[p + 1] = c;
+                values[p + 1] = v;
+            }
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package storage;
+
+/**
+ * Opérateur "matrix-free" du stencil à 5 points sur une grille uniforme n x m.
+ * Au lieu de stocker les 5 diagonales comme {@link CDS}, on ne garde que les trois
+ * coefficients constants produits par la discrétisation :
+ * - diagonale principale : 2 * (1/l² + 1/h²)
+ * - voisins gauche/droite (offset +1, -1) : -1/l²
+ * - voisins bas/haut (offset +n, -n) : -1/h²
+ * Les inconnues sont numérotées idx = j * n + i (i : colonne en x, j : ligne en y).
+ */
+public class StencilOperator {
+    private final int n;          // nombre de points intérieurs en x (largeur de la grille)
+    private final int m;          // nombre de points intérieurs en y (hauteur de la grille)
+    private final double diag;    // coefficient de la diagonale principale
+    private final double offX;    // coefficient des voisins gauche/droite
+    private final double offY;    // coefficient des voisins bas/haut
+
+    public StencilOperator(int n, int m, double diag, double offX, double offY) {
+        if (n < 1 || m < 1) {
+            throw new IllegalArgumentException("La grille doit contenir au moins un point intérieur.");
+        }
+        this.n = n;
+        this.m = m;
+        this.diag = diag;
+        this.offX = offX;
+        this.offY = offY;
+    }
+
+    public int getSize() {
+        return n * m;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public double getDiag() {
+        return diag;
+    }
+
+    public double getOffX() {
+        return offX;
+    }
+
+    public double getOffY() {
+        return offY;
+    }
+
+    /**
+     * Somme des contributions des 4 voisins du point (i, j) : A[idx][voisin] * x[voisin].
+     * Version avec tests de bord, réservée aux points de la frontière de la grille intérieure.
+     */
+    public double neighbourSum(double[] x, int i, int j) {
+        int idx = j * n + i;
+        double sumX = 0.0;
+        double sumY = 0.0;
+        if (i > 0) sumX += x[idx - 1];
+        if (i < n - 1) sumX += x[idx + 1];
+        if (j > 0) sumY += x[idx - n];
+        if (j < m - 1) sumY += x[idx + n];
+        return offX * sumX + offY * sumY;
+    }
+
+    /**
+     * Calcule y = A * x sans aucun test de bord à l'intérieur de la grille.
+     *
+     * @param x Le vecteur d'entrée (taille n*m).
+     * @param y Le vecteur résultat (taille n*m), écrasé.
+     */
+    public void multiply(double[] x, double[] y) {
+        for (int j = 0; j < m; j++) {
+            int row = j * n;
+            if (j == 0 || j == m - 1 || n < 3) {
+                for (int i = 0; i < n; i++) {
+                    y[row + i] = diag * x[row + i] + neighbourSum(x, i, j);
+                }
+                continue;
+            }
+            y[row] = diag * x[row] + neighbourSum(x, 0, j);
+            for (int idx = row + 1; idx < row + n - 1; idx++) {
+                y[idx] = diag * x[idx]
+                        + offX * (x[idx - 1] + x[idx + 1])
+                        + offY * (x[idx - n] + x[idx + n]);
+            }
+            y[row + n - 1] = diag * x[row + n - 1] + neighbourSum(x, n - 1, j);
+        }
+    }
+
+    /**
+     * Calcule le résidu r = B - A * x et retourne sa norme L2, en une seule passe.
+     *
+     * @param r Le vecteur résidu (taille n*m), écrasé. Peut être null si seule la norme est utile.
+     */
+    public double residual(double[] B, double[] x, double[] r) {
+        double norm = 0.0;
+        for (int j = 0; j < m; j++) {
+            int row = j * n;
+            if (j == 0 || j == m - 1 || n < 3) {
+                for (int i = 0; i < n; i++) {
+                    double ri = B[row + i] - diag * x[row + i] - neighbourSum(x, i, j);
+                    if (r != null) r[row + i] = ri;
+                    norm += ri * ri;
+                }
+                continue;
+            }
+            double r0 = B[row] - diag * x[row] - neighbourSum(x, 0, j);
+            if (r != null) r[row] = r0;
+            norm += r0 * r0;
+            for (int idx = row + 1; idx < row + n - 1; idx++) {
+                double ri = B[idx] - diag * x[idx]
+                        - offX * (x[idx - 1] + x[idx + 1])
+                        - offY * (x[idx - n] + x[idx + n]);
+                if (r != null) r[idx] = ri;
+                norm += ri * ri;
+            }
+            double rn = B[row + n - 1] - diag * x[row + n - 1] - neighbourSum(x, n - 1, j);
+            if (r != null) r[row + n - 1] = rn;
+            norm += rn * rn;
+        }
+        return Math.sqrt(norm);
+    }
+
+    /**
+     * Calcule la norme L2 du résidu r = B - A * x.
+     */
+    public double residualNorm(double[] B, double[] x) {
+        return residual(B, x, null);
+    }
+
+    /**
+     * Reconstruit l'opérateur à partir d'une CDS issue d'une grille uniforme (MatrixBuilder.buildCdsA ou toCds) :
+     * la grille est n x (size / n) et les coefficients sont lus sur la première ligne.
+     *
+     * @throws IllegalArgumentException si A n'a pas des coefficients constants sur toute la grille.
+     */
+    public static StencilOperator fromCds(CDS A) {
+        int n = A.getN();
+        int size = A.getSize();
+        if (n < 1 || size % n != 0) {
+            throw new IllegalArgumentException("La taille de la matrice CDS n'est pas un multiple de la largeur de la grille.");
+        }
+        int m = size / n;
+        double[] mainDiag = A.getMainDiag();
+        double[] upper1 = A.getUpperDiag1();
+        double[] lower1 = A.getLowerDiag1();
+        double[] upperN = A.getUpperDiagN();
+        double[] lowerN = A.getLowerDiagN();
+        double diag = mainDiag[0];
+        double offX = n > 1 ? upper1[0] : 0.0;
+        double offY = m > 1 ? upperN[0] : 0.0;
+
+        for (int idx = 0; idx < size; idx++) {
+            int i = idx % n;
+            boolean uniform = mainDiag[idx] == diag
+                    && (idx == size - 1 || upper1[idx] == (i < n - 1 ? offX : 0.0))
+                    && (idx == 0 || lower1[idx - 1] == (i > 0 ? offX : 0.0))
+                    && (idx >= size - n || upperN[idx] == offY)
+                    && (idx < n || lowerN[idx - n] == offY);
+            if (!uniform) {
+                throw new IllegalArgumentException("La matrice CDS n'est pas un stencil à 5 points à coefficients constants (ligne " + idx + ").");
+            }
+        }
+        return new StencilOperator(n, m, diag, offX, offY);
+    }
+
+    /**
+     * Construit l'équivalent CDS de cet opérateur (utile pour comparer ou réutiliser un solveur CDS).
+     */
+    public CDS toCds() {
+        int size = getSize();
+        CDS A = new CDS(size, n);
+        for (int idx = 0; idx < size; idx++) {
+            int i = idx % n;
+            A.set(idx, idx, diag);
+            if (i < n - 1) A.set(idx, idx + 1, offX);
+            if (i > 0) A.set(idx, idx - 1, offX);
+            if (idx + n < size) A.set(idx, idx + n, offY);
+            if (idx - n >= 0) A.set(idx, idx - n, offY);
+        }
+        return A;
+    }
+}
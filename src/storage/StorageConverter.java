@@ -1,4 +1,143 @@
 package storage;
 
+import java.util.Arrays;
+
+/**
+ * Conversions entre les formats de stockage : dense (double[][]), CDS et CSR ({@link SparseMatrix}).
+ * Les conversions entre CDS et CSR lisent directement les diagonales ou les lignes creuses,
+ * sans jamais passer par une matrice dense intermédiaire : la mémoire reste linéaire en non-zéros.
+ * Les coefficients nuls ne sont pas stockés en CSR.
+ */
 public class StorageConverter {
+
+    private StorageConverter() {
+    }
+
+    public static SparseMatrix denseToCsr(double[][] A) {
+        int rows = A.length;
+        int cols = rows == 0 ? 0 : A[0].length;
+        int[] rowPtr = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (double v : A[i]) {
+                if (v != 0.0) count++;
+            }
+            rowPtr[i + 1] = rowPtr[i] + count;
+        }
+        int[] colIdx = new int[rowPtr[rows]];
+        double[] values = new double[rowPtr[rows]];
+        for (int i = 0; i < rows; i++) {
+            int pos = rowPtr[i];
+            for (int j = 0; j < cols; j++) {
+                if (A[i][j] != 0.0) {
+                    colIdx[pos] = j;
+                    values[pos] = A[i][j];
+                    pos++;
+                }
+            }
+        }
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    public static double[][] csrToDense(SparseMatrix A) {
+        int[] rowPtr = A.getRowPtr();
+        int[] colIdx = A.getColIdx();
+        double[] values = A.getValues();
+        double[][] dense = new double[A.getRows()][A.getCols()];
+        for (int i = 0; i < A.getRows(); i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                dense[i][colIdx[k]] = values[k];
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * CDS vers CSR : les coefficients de la ligne i sont lus dans l'ordre des colonnes
+     * (i-n, i-1, i, i+1, i+n), les lignes CSR sont donc triées sans tri explicite.
+     */
+    public static SparseMatrix cdsToCsr(CDS A) {
+        int size = A.getSize();
+        int n = A.getN();
+        double[] diag = A.getMainDiag();
+        double[] up1 = A.getUpperDiag1();
+        double[] low1 = A.getLowerDiag1();
+        double[] upN = A.getUpperDiagN();
+        double[] lowN = A.getLowerDiagN();
+
+        int[] rowPtr = new int[size + 1];
+        int[] colIdx = new int[5 * size];
+        double[] values = new double[5 * size];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            // Pour n = 1, les diagonales ±1 et ±n coïncident : CDS.get ne lit alors que les diagonales ±1
+            if (i >= n && n > 1) pos = append(colIdx, values, pos, i - n, lowN[i - n]);
+            if (i > 0) pos = append(colIdx, values, pos, i - 1, low1[i - 1]);
+            pos = append(colIdx, values, pos, i, diag[i]);
+            if (i < size - 1) pos = append(colIdx, values, pos, i + 1, up1[i]);
+            if (i < size - n && n > 1) pos = append(colIdx, values, pos, i + n, upN[i]);
+            rowPtr[i + 1] = pos;
+        }
+        return new SparseMatrix(size, size, rowPtr, Arrays.copyOf(colIdx, pos), Arrays.copyOf(values, pos));
+    }
+
+    /**
+     * CSR vers CDS de distance n entre diagonales lointaines.
+     *
+     * @throws IllegalArgumentException si un coefficient non nul est hors des 5 diagonales.
+     */
+    public static CDS csrToCds(SparseMatrix A, int n) {
+        if (A.getRows() != A.getCols()) {
+            throw new IllegalArgumentException("Le stockage CDS nécessite une matrice carrée.");
+        }
+        int[] rowPtr = A.getRowPtr();
+        int[] colIdx = A.getColIdx();
+        double[] values = A.getValues();
+        CDS cds = new CDS(A.getRows(), n);
+        for (int i = 0; i < A.getRows(); i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                cds.set(i, colIdx[k], values[k]);
+            }
+        }
+        return cds;
+    }
+
+    /**
+     * Dense vers CDS : chaque coefficient non nul est placé sur sa diagonale.
+     *
+     * @throws IllegalArgumentException si un coefficient non nul est hors des 5 diagonales.
+     */
+    public static CDS denseToCds(double[][] A, int n) {
+        int size = A.length;
+        CDS cds = new CDS(size, n);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (A[i][j] != 0.0) {
+                    cds.set(i, j, A[i][j]);
+                }
+            }
+        }
+        return cds;
+    }
+
+    public static double[][] cdsToDense(CDS A) {
+        int size = A.getSize();
+        int n = A.getN();
+        double[][] dense = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            if (i >= n) dense[i][i - n] = A.get(i, i - n);
+            if (i > 0) dense[i][i - 1] = A.get(i, i - 1);
+            dense[i][i] = A.get(i, i);
+            if (i < size - 1) dense[i][i + 1] = A.get(i, i + 1);
+            if (i < size - n) dense[i][i + n] = A.get(i, i + n);
+        }
+        return dense;
+    }
+
+    private static int append(int[] colIdx, double[] values, int pos, int col, double value) {
+        if (value == 0.0) return pos;
+        colIdx[pos] = col;
+        values[pos] = value;
+        return pos + 1;
+    }
 }
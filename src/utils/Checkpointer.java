@@ -0,0 +1,118 @@
+package utils;
+
+import solvers.IterationListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Points de reprise d'une longue résolution, à brancher sur un solveur avec addListener : toutes les interval
+ * itérations, l'itéré x et le nombre d'itérations effectuées sont écrits dans un GridFile (remplacement
+ * atomique, données et renommage forcés sur le disque). Après un arrêt brutal (nœud préemptible, kill, coupure
+ * de courant), restore relit le dernier point :
+ *     Checkpointer checkpoints = new Checkpointer(Path.of("run.ckpt"), n, m, 500);
+ *     GridFile last = checkpoints.restore();
+ *     double[] x0 = last != null ? last.getValues() : new double[n * m];
+ *     int done = last != null ? last.getIteration() : 0;
+ *     solver.addListener(checkpoints).solve(A, B, x0, criterion.withMaxIterations(maxIter - done));
+ * Les numéros d'itération écrits reprennent à partir de celui du point restauré. Le fichier est supprimé quand la
+ * résolution converge. Seul x est sauvegardé : les méthodes de relaxation reprennent exactement où elles en
+ * étaient, le gradient conjugué redémarre sa récurrence depuis x. Les résolutions par lot (BatchSolver) et la
+ * décomposition de domaine, dont l'itéré n'est pas rassemblé dans un tableau, ne prennent pas de points de
+ * reprise.
+ */
+public class Checkpointer implements IterationListener {
+    private final Path file;
+    private final int n;
+    private final int m;
+    private final int interval;
+    private int iterationOffset;
+    private int lastIteration;
+    private int written;
+
+    /**
+     * @param interval Un point de reprise toutes les interval itérations.
+     */
+    public Checkpointer(Path file, int n, int m, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("La période des points de reprise doit être positive.");
+        }
+        this.file = file;
+        this.n = n;
+        this.m = m;
+        this.interval = interval;
+    }
+
+    /**
+     * Relit le dernier point de reprise, ou null s'il n'y en a pas. Les itérations de la résolution suivante
+     * sont numérotées à la suite de celles du point restauré.
+     *
+     * @throws IOException si le fichier existe mais n'est pas un point de reprise de cette grille.
+     */
+    public GridFile restore() throws IOException {
+        if (!Files.exists(file)) {
+            iterationOffset = 0;
+            return null;
+        }
+        GridFile checkpoint = GridFile.read(file);
+        if (checkpoint.getN() != n || checkpoint.getM() != m) {
+            throw new IOException("Le point de reprise " + file + " est celui d'une grille "
+                    + checkpoint.getN() + "x" + checkpoint.getM() + ".");
+        }
+        iterationOffset = checkpoint.getIteration();
+        System.out.println("Reprise depuis " + file + " (itération " + iterationOffset + ").");
+        return checkpoint;
+    }
+
+    /**
+     * Le nombre de points de reprise écrits depuis la création.
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    @Override
+    public int checkpointInterval() {
+        return interval;
+    }
+
+    @Override
+    public void onStart(String solver, int size, long bytesPerIteration) {
+        if (size != n * m) {
+            throw new IllegalArgumentException("Le solveur a " + size + " inconnues, la grille " + n + "x" + m + ".");
+        }
+        lastIteration = 0;
+    }
+
+    @Override
+    public void onIteration(int iteration, double updateNorm, double residualNorm) {
+    }
+
+    @Override
+    public void onCheckpoint(int iteration, double[] x) {
+        // Appelé à la période du plus fréquent des écouteurs du solveur
+        if (iteration - lastIteration < interval) {
+            return;
+        }
+        lastIteration = iteration;
+        try {
+            GridFile.write(file, x, n, m, iterationOffset + iteration, true);
+            written++;
+        } catch (IOException e) {
+            // Un point de reprise manqué n'interrompt pas la résolution
+            System.err.println("Erreur lors de l'écriture du point de reprise : " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(int iterations, boolean converged) {
+        if (converged) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la suppression du point de reprise : " + e.getMessage());
+            }
+        }
+    }
+}
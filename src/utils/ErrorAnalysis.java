@@ -5,34 +5,48 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 
 public class ErrorAnalysis {
 
     /**
-     * Compute the L2 norm
+     * Compute the L-infinity norm of the error, grid rows evaluated in parallel
      * @param numericalSol solution vector
      * @param n width of the grid
      * @param m height of the grid
      * @param l step in x
      * @param h step in y
      * @param exactSolFunc exact solution method
-     * @return value of the L2 norm
+     * @return value of the L-infinity norm
      */
-    public static double calculateLInfinityError(double[] numericalSol, int n, int m, double l, double h, BiFunction<Double, Double, Double> exactSolFunc) {
-        double maxError = 0.0;
-        for (int j = 0; j < m; j++) {
+    public static double calculateLInfinityError(double[] numericalSol, int n, int m, double l, double h, DoubleBinaryOperator exactSolFunc) {
+        return IntStream.range(0, m).parallel().mapToDouble(j -> {
+            double maxError = 0.0;
             for (int i = 0; i < n; i++) {
                 int idx = j * n + i;
                 double x_i = (i + 1) * l;
                 double y_j = (j + 1) * h;
-                double exactValue = exactSolFunc.apply(x_i, y_j);
+                double exactValue = exactSolFunc.applyAsDouble(x_i, y_j);
                 double error = Math.abs(exactValue - numericalSol[idx]);
                 if (error > maxError) {
                     maxError = error;
                 }
             }
-        }
-        return maxError;
+            return maxError;
+        }).max().orElse(0.0);
+    }
+
+    /**
+     * Ancienne signature (valeurs encapsulées dans des Double), conservée pour compatibilité sous un autre nom :
+     * une surcharge de calculateLInfinityError rendrait ambigus les lambdas (x, y) -> ... des appelants.
+     *
+     * @deprecated Utiliser {@link #calculateLInfinityError(double[], int, int, double, double, DoubleBinaryOperator)}.
+     */
+    @Deprecated
+    public static double calculateLInfinityErrorBoxed(double[] numericalSol, int n, int m, double l, double h,
+                                                      BiFunction<Double, Double, Double> exactSolFunc) {
+        return calculateLInfinityError(numericalSol, n, m, l, h, exactSolFunc::apply);
     }
 
     private static boolean isFileEmpty(String filePath) {
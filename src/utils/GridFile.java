@@ -0,0 +1,142 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grille de solution au format binaire, lisible directement avec numpy :
+ * - en-tête de 16 octets, 4 entiers 32 bits little-endian : la signature "FV2D", n, m et un numéro
+ *   d'itération (0 pour une solution finale, le nombre d'itérations effectuées pour un point de reprise) ;
+ * - puis les n * m valeurs en float64 little-endian, ligne j après ligne j - 1 (indice j * n + i).
+ * En Python : np.fromfile(f, dtype='<f8', offset=16).reshape(m, n).
+ * 8 octets par valeur, sans formatage à l'écriture ni analyse de texte à la lecture.
+ */
+public final class GridFile {
+    public static final int MAGIC = 0x44325646; // "FV2D" lu en little-endian
+    public static final int HEADER_BYTES = 16;
+
+    // Doubles écrits par appel à FileChannel.write : 64 Ko de tampon direct
+    private static final int CHUNK_DOUBLES = 8192;
+
+    private final int n;
+    private final int m;
+    private final int iteration;
+    private final double[] values;
+
+    private GridFile(int n, int m, int iteration, double[] values) {
+        this.n = n;
+        this.m = m;
+        this.iteration = iteration;
+        this.values = values;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Écrit la grille dans file, par blocs d'un tampon direct : pas de copie intermédiaire de toute la grille.
+     * L'écriture passe par un fichier temporaire renommé à la fin (remplacement atomique) : un arrêt brutal
+     * pendant l'écriture laisse l'ancien fichier intact, jamais un fichier tronqué.
+     *
+     * @param values    La solution (taille n * m).
+     * @param iteration Le numéro d'itération de l'en-tête (0 pour une solution finale).
+     * @param durable   true pour forcer les données sur le disque avant le renommage, puis le renommage lui-même
+     *                  (points de reprise) : le fichier survit alors à une coupure de courant.
+     */
+    public static void write(Path file, double[] values, int n, int m, int iteration, boolean durable)
+            throws IOException {
+        if (values.length != n * m) {
+            throw new IllegalArgumentException("La grille doit contenir n * m valeurs.");
+        }
+        Path absolute = file.toAbsolutePath();
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_DOUBLES * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(n).putInt(m).putInt(iteration).flip();
+            writeFully(channel, buffer);
+
+            DoubleBuffer doubles = buffer.clear().asDoubleBuffer();
+            for (int start = 0; start < values.length; start += CHUNK_DOUBLES) {
+                int count = Math.min(CHUNK_DOUBLES, values.length - start);
+                doubles.clear();
+                doubles.put(values, start, count);
+                buffer.clear().limit(count * Double.BYTES);
+                writeFully(channel, buffer);
+            }
+            if (durable) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (durable) {
+            forceDirectory(absolute.getParent());
+        }
+    }
+
+    // Le renommage est une écriture du répertoire : sous POSIX, il n'est sur le disque qu'après un fsync du
+    // répertoire lui-même. Windows ne permet pas d'ouvrir un répertoire ; NTFS y journalise le renommage.
+    private static void forceDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Lit une grille écrite par write, en projetant le fichier en mémoire.
+     *
+     * @throws IOException si le fichier n'a pas la signature ou la taille attendues.
+     */
+    public static GridFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Fichier de grille trop court : " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt() != MAGIC) {
+                throw new IOException("Signature FV2D absente : " + file);
+            }
+            int n = mapped.getInt();
+            int m = mapped.getInt();
+            int iteration = mapped.getInt();
+            if (n < 0 || m < 0 || length != HEADER_BYTES + (long) n * m * Double.BYTES) {
+                throw new IOException("Taille de " + file + " incohérente avec la grille " + n + "x" + m + ".");
+            }
+            double[] values = new double[n * m];
+            mapped.asDoubleBuffer().get(values);
+            return new GridFile(n, m, iteration, values);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+public class GridInterpolation {
+
+    /**
+     * Interpole bilinéairement une solution d'une grille vers une autre grille du même domaine, de taille
+     * quelconque (par exemple 10x10 vers 20x20 : les nœuds ne coïncident pas). Le nœud (i, j) d'une grille
+     * n x m de pas l, h est au point ((i + 1) l, (j + 1) h) ; le domaine est [0, (n + 1) l] x [0, (m + 1) h].
+     * Entre les nœuds du bord et la frontière, les valeurs de Dirichlet g complètent la grille source.
+     * Les lignes de la grille cible sont calculées en parallèle.
+     *
+     * @param source La solution sur la grille source (taille sourceN * sourceM).
+     * @param g      La condition de Dirichlet u = g sur la frontière.
+     * @return La solution interpolée sur la grille cible (taille n * m).
+     * @throws IllegalArgumentException si les deux grilles ne couvrent pas le même domaine.
+     */
+    public static double[] bilinear(double[] source, int sourceN, int sourceM, double sourceL, double sourceH,
+                                    int n, int m, double l, double h, DoubleBinaryOperator g) {
+        double width = (sourceN + 1) * sourceL;
+        double height = (sourceM + 1) * sourceH;
+        if (Math.abs(width - (n + 1) * l) > 1e-12 * width || Math.abs(height - (m + 1) * h) > 1e-12 * height) {
+            throw new IllegalArgumentException("Les deux grilles doivent couvrir le même domaine.");
+        }
+
+        double[] target = new double[n * m];
+        IntStream.range(0, m).parallel().forEach(j -> {
+            // Position dans la grille source étendue aux bords : indices -1 et sourceM sont sur la frontière
+            double sy = (j + 1) * h / sourceH - 1;
+            int j0 = Math.min(Math.max((int) Math.floor(sy), -1), sourceM - 1);
+            double ty = sy - j0;
+            for (int i = 0; i < n; i++) {
+                double sx = (i + 1) * l / sourceL - 1;
+                int i0 = Math.min(Math.max((int) Math.floor(sx), -1), sourceN - 1);
+                double tx = sx - i0;
+                double bottom = (1 - tx) * value(source, sourceN, sourceM, sourceL, sourceH, i0, j0, g)
+                        + tx * value(source, sourceN, sourceM, sourceL, sourceH, i0 + 1, j0, g);
+                double top = (1 - tx) * value(source, sourceN, sourceM, sourceL, sourceH, i0, j0 + 1, g)
+                        + tx * value(source, sourceN, sourceM, sourceL, sourceH, i0 + 1, j0 + 1, g);
+                target[j * n + i] = (1 - ty) * bottom + ty * top;
+            }
+        });
+        return target;
+    }
+
+    // Valeur au nœud (i, j) de la grille source, -1 <= i <= n et -1 <= j <= m : g sur la frontière.
+    private static double value(double[] source, int n, int m, double l, double h, int i, int j, DoubleBinaryOperator g) {
+        if (i < 0 || i >= n || j < 0 || j >= m) {
+            return g.applyAsDouble((i + 1) * l, (j + 1) * h);
+        }
+        return source[j * n + i];
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+/**
+ * Fournit la solution initiale x0 d'une résolution et reçoit en retour la solution obtenue, pour que les
+ * résolutions suivantes partent d'une meilleure estimation (voir SolutionCache).
+ */
+public interface InitialGuessProvider {
+
+    /**
+     * @param problem Le problème à résoudre.
+     * @return La solution initiale, de taille problem.getSize() (jamais null : des zéros à défaut). Le tableau
+     *         appartient à l'appelant.
+     */
+    double[] initialGuess(ProblemKey problem);
+
+    /**
+     * Enregistre la solution d'un problème (copiée si elle est conservée).
+     */
+    void record(ProblemKey problem, double[] solution);
+
+    /**
+     * Départ de zéro, sans mémoire : le comportement d'origine de Main.
+     */
+    static InitialGuessProvider zero() {
+        return new InitialGuessProvider() {
+            @Override
+            public double[] initialGuess(ProblemKey problem) {
+                return new double[problem.getSize()];
+            }
+
+            @Override
+            public void record(ProblemKey problem, double[] solution) {
+            }
+        };
+    }
+}
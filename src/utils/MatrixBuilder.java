@@ -1,8 +1,16 @@
 package utils;
 
 import storage.CDS;
+import storage.MappedCDS;
+import storage.OffHeapVector;
+import storage.SparseMatrix;
+import storage.StencilOperator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 
 public class MatrixBuilder {
 
@@ -92,9 +100,113 @@ public class MatrixBuilder {
         return A;
     }
 
+    /**
+     * Build the matrix-free 5-point operator (only the coefficients and the grid shape are stored).
+     *
+     * @param n number of interior points in width
+     * @param m number of interior points in height
+     * @param l step in x
+     * @param h step in y
+     * @return StencilOperator object
+     */
+    public static StencilOperator buildStencilA(int n, int m, double l, double h) {
+        double valX = 1.0 / (l * l);
+        double valY = 1.0 / (h * h);
+        double diagVal = 2 * (valX + valY);
+        return new StencilOperator(n, m, diagVal, -valX, -valY);
+    }
+
+    /**
+     * Build A matrix with CSR storage, assembled from (row, column, value) triplets.
+     * Same operator as buildCdsA; the builder also accepts variable coefficients or irregular couplings.
+     *
+     * @param n number of interior points in width
+     * @param m number of interior points in height
+     * @param l step in x
+     * @param h step in y
+     * @return SparseMatrix object
+     */
+    public static SparseMatrix buildCsrA(int n, int m, double l, double h) {
+        int size = n * m;
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(size, size, 5 * size);
+
+        double valX = 1.0 / (l * l);
+        double valY = 1.0 / (h * h);
+        double diagVal = 2 * (valX + valY);
+
+        for (int j = 0; j < m; j++) {
+            for (int i = 0; i < n; i++) {
+                int idx = j * n + i;
+                if (j > 0) builder.add(idx, idx - n, -valY);
+                if (i > 0) builder.add(idx, idx - 1, -valX);
+                builder.add(idx, idx, diagVal);
+                if (i < n - 1) builder.add(idx, idx + 1, -valX);
+                if (j < m - 1) builder.add(idx, idx + n, -valY);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build A matrix with off-heap CDS storage, same coefficients as buildCdsA.
+     *
+     * @param n    number of interior points in width
+     * @param m    number of interior points in height
+     * @param l    step in x
+     * @param h    step in y
+     * @param file file backing the diagonals (memory-mapped), or null for direct off-heap memory
+     * @return MappedCDS object
+     */
+    public static MappedCDS buildMappedCdsA(int n, int m, double l, double h, Path file) throws IOException {
+        long size = (long) n * m;
+        MappedCDS A = file == null ? new MappedCDS(size, n) : new MappedCDS(size, n, file);
+
+        double valX = 1.0 / (l * l);
+        double valY = 1.0 / (h * h);
+        double diagVal = 2 * (valX + valY);
+
+        for (long i = 0; i < size; i++) {
+            A.set(i, i, diagVal);
+            // Les couplages ±1 sont écrits explicitement à 0 aux bords des lignes (le fichier peut être réutilisé)
+            if (i + 1 < size) {
+                A.set(i, i + 1, (i + 1) % n != 0 ? -valX : 0.0);
+            }
+            if (i - 1 >= 0) {
+                A.set(i, i - 1, i % n != 0 ? -valX : 0.0);
+            }
+            if (i + n < size) {
+                A.set(i, i + n, -valY);
+            }
+            if (i - n >= 0) {
+                A.set(i, i - n, -valY);
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Construit le vecteur B hors tas (même contenu que buildVectorB), sans jamais le matérialiser sur le tas.
+     *
+     * @param file Le fichier projeté en mémoire, ou null pour la mémoire directe.
+     */
+    public static OffHeapVector buildMappedVectorB(int n, int m, double l, double h,
+                                                   DoubleBinaryOperator f, DoubleBinaryOperator g,
+                                                   Path file) throws IOException {
+        long size = (long) n * m;
+        OffHeapVector B = file == null ? OffHeapVector.allocateDirect(size) : OffHeapVector.map(file, size);
+        IntStream.range(0, m).parallel().forEach(j -> {
+            for (int i = 0; i < n; i++) {
+                B.set((long) j * n + i, rhsValue(i, j, n, m, l, h, f, g));
+            }
+        });
+        return B;
+    }
+
     /**
      * Construit le vecteur B (second membre) en appliquant une fonction f(x,y)
      * et en incorporant les conditions aux limites de Dirichlet g(x,y).
+     * Les lignes de la grille sont évaluées en parallèle (chacune écrit une portion disjointe de B),
+     * et f, g sont des fonctions primitives : aucun Double n'est alloué par point.
      *
      * @param n Nombre de points intérieurs en x.
      * @param m Nombre de points intérieurs en y.
@@ -105,45 +217,61 @@ public class MatrixBuilder {
      * @return Le vecteur B complet.
      */
     public static double[] buildVectorB(int n, int m, double l, double h,
-                                        BiFunction<Double, Double, Double> f,
-                                        BiFunction<Double, Double, Double> g) {
+                                        DoubleBinaryOperator f, DoubleBinaryOperator g) {
         int size = n * m;
         double[] B = new double[size];
-        double l2_inv = 1.0 / (l * l);
-        double h2_inv = 1.0 / (h * h);
+        IntStream.range(0, m).parallel().forEach(j -> { // Lignes de la grille (y), 0-indexed
+            for (int i = 0; i < n; i++) { // Colonnes de la grille (x), 0-indexed
+                B[j * n + i] = rhsValue(i, j, n, m, l, h, f, g);
+            }
+        });
+        return B;
+    }
 
-        for (int j = 0; j < m; j++) { // Itération sur les lignes de la grille (y), 0-indexed
-            for (int i = 0; i < n; i++) { // Itération sur les colonnes de la grille (x), 0-indexed
-                int idx = j * n + i;
+    /**
+     * Ancienne signature (valeurs encapsulées dans des Double), conservée pour compatibilité sous un autre nom :
+     * une surcharge de buildVectorB rendrait ambigus les lambdas (x, y) -> ... des appelants.
+     *
+     * @deprecated Utiliser {@link #buildVectorB(int, int, double, double, DoubleBinaryOperator, DoubleBinaryOperator)}.
+     */
+    @Deprecated
+    public static double[] buildVectorBBoxed(int n, int m, double l, double h,
+                                             BiFunction<Double, Double, Double> f,
+                                             BiFunction<Double, Double, Double> g) {
+        return buildVectorB(n, m, l, h, f::apply, g::apply);
+    }
 
-                // Coordonnées réelles du point intérieur (i,j)
-                double x_i = (i + 1) * l;
-                double y_j = (j + 1) * h;
+    // Valeur de B au point intérieur (i, j) : source f plus les contributions des frontières de Dirichlet.
+    private static double rhsValue(int i, int j, int n, int m, double l, double h,
+                                   DoubleBinaryOperator f, DoubleBinaryOperator g) {
+        double l2_inv = 1.0 / (l * l);
+        double h2_inv = 1.0 / (h * h);
 
-                // 1. On commence avec la valeur de la fonction source f(x,y)
-                double b_value = f.apply(x_i, y_j);
+        // Coordonnées réelles du point intérieur (i,j)
+        double x_i = (i + 1) * l;
+        double y_j = (j + 1) * h;
 
-                // 2. On ajoute les contributions des frontières connues
-                // Si le point est sur le bord GAUCHE de la grille interne (i=0)
-                if (i == 0) {
-                    b_value += l2_inv * g.apply(0.0, y_j);
-                }
-                // Si le point est sur le bord DROIT de la grille interne (i=n-1)
-                if (i == n - 1) {
-                    b_value += l2_inv * g.apply((n + 1) * l, y_j); // (n+1)*l = 1.0
-                }
-                // Si le point est sur le bord BAS de la grille interne (j=0)
-                if (j == 0) {
-                    b_value += h2_inv * g.apply(x_i, 0.0);
-                }
-                // Si le point est sur le bord HAUT de la grille interne (j=m-1)
-                if (j == m - 1) {
-                    b_value += h2_inv * g.apply(x_i, (m + 1) * h); // (m+1)*h = 1.0
-                }
+        // 1. On commence avec la valeur de la fonction source f(x,y)
+        double b_value = f.applyAsDouble(x_i, y_j);
 
-                B[idx] = b_value;
-            }
+        // 2. On ajoute les contributions des frontières connues
+        // Si le point est sur le bord GAUCHE de la grille interne (i=0)
+        if (i == 0) {
+            b_value += l2_inv * g.applyAsDouble(0.0, y_j);
         }
-        return B;
+        // Si le point est sur le bord DROIT de la grille interne (i=n-1)
+        if (i == n - 1) {
+            b_value += l2_inv * g.applyAsDouble((n + 1) * l, y_j); // (n+1)*l = 1.0
+        }
+        // Si le point est sur le bord BAS de la grille interne (j=0)
+        if (j == 0) {
+            b_value += h2_inv * g.applyAsDouble(x_i, 0.0);
+        }
+        // Si le point est sur le bord HAUT de la grille interne (j=m-1)
+        if (j == m - 1) {
+            b_value += h2_inv * g.applyAsDouble(x_i, (m + 1) * h); // (m+1)*h = 1.0
+        }
+
+        return b_value;
     }
-}
\ No newline at end of file
+}
@@ -31,4 +31,27 @@ public class PerformanceAnalyser {
         long bytes = numElements * 8;
         return bytes / (1024.0 * 1024.0);
     }
+
+    public static double estimateCsrMatrixMemoryMb(int n, int m) {
+        long size = (long) n * m;
+        // Non-zéros du stencil à 5 points : diagonale + 2 couplages par ligne et par colonne de la grille
+        long nonZeros = size + 2L * (n - 1) * m + 2L * n * (m - 1);
+        // values (double) + colIdx (int) par non-zéro, rowPtr (int) par ligne
+        long bytes = nonZeros * (8 + 4) + (size + 1) * 4;
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    public static double estimateBandedFactorMemoryMb(int n, int m) {
+        long size = (long) n * m;
+        // Facteur de Cholesky bande : n+1 valeurs par ligne (demi-largeur de bande n)
+        long numElements = size * (n + 1);
+        long bytes = numElements * 8;
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    public static double estimateStencilOperatorMemoryMb() {
+        // 3 coefficients (double) + dimensions de la grille (2 int), indépendant de la taille
+        long bytes = 3 * 8 + 2 * 4;
+        return bytes / (1024.0 * 1024.0);
+    }
 }
\ No newline at end of file
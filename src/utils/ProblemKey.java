@@ -0,0 +1,92 @@
+package utils;
+
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Identifie un problème -Δu = f, u = g sur le bord, pour le cache de solutions : une famille de sources
+ * (par exemple "gaussienne centrée"), la valeur de son paramètre (intensité, fréquence...) et la grille.
+ * La condition aux limites g est celle de la famille ; elle sert à l'interpolation entre grilles mais
+ * n'entre pas dans l'égalité des clés.
+ */
+public final class ProblemKey {
+    private final String family;
+    private final double parameter;
+    private final int n;
+    private final int m;
+    private final double l;
+    private final double h;
+    private final DoubleBinaryOperator boundary;
+
+    /**
+     * @param family    Le nom de la famille de sources f (et de sa condition aux limites g).
+     * @param parameter Le paramètre de la source dans la famille (0 s'il n'y en a pas).
+     * @param boundary  La condition de Dirichlet g.
+     */
+    public ProblemKey(String family, double parameter, int n, int m, double l, double h, DoubleBinaryOperator boundary) {
+        this.family = family;
+        this.parameter = parameter;
+        this.n = n;
+        this.m = m;
+        this.l = l;
+        this.h = h;
+        this.boundary = boundary;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public double getParameter() {
+        return parameter;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public double getL() {
+        return l;
+    }
+
+    public double getH() {
+        return h;
+    }
+
+    public DoubleBinaryOperator getBoundary() {
+        return boundary;
+    }
+
+    public int getSize() {
+        return n * m;
+    }
+
+    /**
+     * Même famille et même grille (le paramètre peut différer).
+     */
+    public boolean sameGrid(ProblemKey other) {
+        return family.equals(other.family) && n == other.n && m == other.m && l == other.l && h == other.h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProblemKey)) return false;
+        ProblemKey other = (ProblemKey) o;
+        return sameGrid(other) && Double.compare(parameter, other.parameter) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(family, parameter, n, m, l, h);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (paramètre %g, grille %dx%d)", family, parameter, n, m);
+    }
+}
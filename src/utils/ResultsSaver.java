@@ -3,6 +3,7 @@ package utils;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 
 public class ResultsSaver {
 
@@ -11,7 +12,7 @@ public class ResultsSaver {
      * @param filename path to the output file
      * @param solution solution vector
      * @param n width of the grid
-     * @param m height od the grid.
+     * @param m height of the grid.
      */
     public static void saveGridToFile(String filename, double[] solution, int n, int m) {
         try (PrintWriter pw = new PrintWriter(new FileWriter(filename))) {
@@ -30,4 +31,20 @@ public class ResultsSaver {
             System.err.println("Erreur lors de la sauvegarde de la grille : " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * save the solution vector in a binary grid file (see GridFile), readable with numpy.fromfile
+     * @param filename path to the output file
+     * @param solution solution vector
+     * @param n width of the grid
+     * @param m height of the grid.
+     */
+    public static void saveGridToBinaryFile(String filename, double[] solution, int n, int m) {
+        try {
+            GridFile.write(Path.of(filename), solution, n, m, 0, false);
+            System.out.println("Grille de solution sauvegardée dans : " + filename);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la sauvegarde de la grille : " + e.getMessage());
+        }
+    }
+}
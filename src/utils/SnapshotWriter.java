@@ -0,0 +1,58 @@
+package utils;
+
+import solvers.TimeStepListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Instantanés d'une évolution en temps, à brancher sur HeatEquationSolver avec addListener : tous les every pas
+ * (et pour la condition initiale), la solution est écrite dans directory/prefix_000050.bin, un GridFile dont le
+ * champ iteration porte le numéro du pas. Les fichiers sont écrits pendant le calcul, sans attendre la fin, et
+ * sans forcer les données sur le disque : un instantané n'est pas un point de reprise (voir Checkpointer).
+ */
+public class SnapshotWriter implements TimeStepListener {
+    private final Path directory;
+    private final String prefix;
+    private final int n;
+    private final int m;
+    private final int every;
+    private int written;
+
+    /**
+     * @param every Un instantané tous les every pas.
+     */
+    public SnapshotWriter(Path directory, String prefix, int n, int m, int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("La période des instantanés doit être positive.");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.n = n;
+        this.m = m;
+        this.every = every;
+    }
+
+    /**
+     * Le nombre d'instantanés écrits depuis la création.
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    @Override
+    public void onStep(int step, double time, double[] u) {
+        if (step % every != 0) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            GridFile.write(directory.resolve(String.format("%s_%06d.bin", prefix, step)), u, n, m, step, false);
+            written++;
+        } catch (IOException e) {
+            // Un instantané manqué n'interrompt pas le calcul
+            System.err.println("Erreur lors de l'écriture de l'instantané du pas " + step + " : " + e.getMessage());
+        }
+    }
+}
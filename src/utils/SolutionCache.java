@@ -0,0 +1,125 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache borné (LRU) des dernières solutions, qui sert de solution initiale aux résolutions suivantes :
+ * - même problème déjà résolu : sa solution (la résolution s'arrête dès le premier test) ;
+ * - même famille et même grille, autre paramètre : interpolation (ou extrapolation) linéaire entre les deux
+ *   paramètres les plus proches, ou la solution la plus proche s'il n'y en a qu'une. Quand f varie peu (ou
+ *   linéairement avec le paramètre), l'estimation est déjà très proche de la solution ;
+ * - même famille sur une autre grille : interpolation bilinéaire de la solution (itération emboîtée :
+ *   la solution 10x10 initialise la grille 20x20, et ainsi de suite), au même paramètre de préférence ;
+ * - sinon : des zéros.
+ * Les solutions sont copiées à l'entrée comme à la sortie. Utilisable depuis plusieurs threads.
+ */
+public class SolutionCache implements InitialGuessProvider {
+    private final Map<ProblemKey, double[]> solutions;
+    private int hits;
+    private int parameterGuesses;
+    private int gridGuesses;
+    private int misses;
+
+    /**
+     * @param capacity Le nombre de solutions conservées ; la moins récemment utilisée est évincée au-delà.
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacité du cache doit être positive.");
+        }
+        this.solutions = new LinkedHashMap<ProblemKey, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProblemKey, double[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized double[] initialGuess(ProblemKey problem) {
+        double[] exact = solutions.get(problem);
+        if (exact != null) {
+            hits++;
+            return exact.clone();
+        }
+
+        // Même grille : les deux paramètres les plus proches
+        ProblemKey nearest = null;
+        ProblemKey second = null;
+        for (ProblemKey key : solutions.keySet()) {
+            if (!key.sameGrid(problem)) continue;
+            if (nearest == null || distance(key, problem) < distance(nearest, problem)) {
+                second = nearest;
+                nearest = key;
+            } else if (second == null || distance(key, problem) < distance(second, problem)) {
+                second = key;
+            }
+        }
+        if (nearest != null) {
+            parameterGuesses++;
+            double[] x1 = solutions.get(nearest);
+            if (second == null) {
+                return x1.clone();
+            }
+            double[] x2 = solutions.get(second);
+            double t = (problem.getParameter() - nearest.getParameter()) / (second.getParameter() - nearest.getParameter());
+            double[] guess = new double[x1.length];
+            for (int i = 0; i < guess.length; i++) {
+                guess[i] = x1[i] + t * (x2[i] - x1[i]);
+            }
+            return guess;
+        }
+
+        // Autre grille : le paramètre le plus proche, puis la grille la plus fine
+        ProblemKey coarse = null;
+        for (ProblemKey key : solutions.keySet()) {
+            if (!key.getFamily().equals(problem.getFamily())) continue;
+            if (coarse == null || distance(key, problem) < distance(coarse, problem)
+                    || (distance(key, problem) == distance(coarse, problem) && key.getSize() > coarse.getSize())) {
+                coarse = key;
+            }
+        }
+        if (coarse != null) {
+            try {
+                double[] guess = GridInterpolation.bilinear(solutions.get(coarse), coarse.getN(), coarse.getM(),
+                        coarse.getL(), coarse.getH(), problem.getN(), problem.getM(), problem.getL(), problem.getH(),
+                        problem.getBoundary());
+                gridGuesses++;
+                return guess;
+            } catch (IllegalArgumentException e) {
+                // domaines différents : pas d'interpolation possible, départ de zéro
+            }
+        }
+
+        misses++;
+        return new double[problem.getSize()];
+    }
+
+    @Override
+    public synchronized void record(ProblemKey problem, double[] solution) {
+        if (solution.length != problem.getSize()) {
+            throw new IllegalArgumentException("La solution n'a pas la taille de la grille du problème.");
+        }
+        solutions.put(problem, solution.clone());
+    }
+
+    /**
+     * Les problèmes en cache, du moins au plus récemment utilisé.
+     */
+    public synchronized List<ProblemKey> keys() {
+        return new ArrayList<>(solutions.keySet());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d solutions en cache ; %d exactes, %d par paramètre, %d par grille, %d départs de zéro",
+                solutions.size(), hits, parameterGuesses, gridGuesses, misses);
+    }
+
+    private static double distance(ProblemKey a, ProblemKey b) {
+        return Math.abs(a.getParameter() - b.getParameter());
+    }
+}
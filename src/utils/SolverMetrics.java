@@ -0,0 +1,252 @@
+package utils;
+
+import solvers.IterationListener;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mesures d'une résolution, à brancher sur un solveur avec addListener :
+ * - historique des normes de mise à jour et de résidu, itération par itération ;
+ * - débit (itérations par seconde) et bande passante atteinte (octets touchés par itération / durée) ;
+ * - mémoire réellement allouée sur le tas par tous les threads (ThreadMXBean) et temps passé
+ *   dans le ramasse-miettes (GarbageCollectorMXBean), au lieu d'une estimation par formule.
+ * Une instance mesure une seule résolution. Les solveurs directs ne notifient pas leurs écouteurs : sans appel
+ * à onStart, les colonnes du CSV restent vides au lieu d'afficher 0 itération et une non-convergence.
+ */
+public class SolverMetrics implements IterationListener {
+    private final int residualInterval;
+
+    private boolean started;
+    private String solverName = "";
+    private int size;
+    private long bytesPerIteration;
+    private int iterations;
+    private boolean converged;
+    private double[] updateHistory = new double[64];
+    private double[] residualHistory = new double[64];
+
+    private long startNanos;
+    private long endNanos;
+    private Map<Long, Long> startAllocations;
+    private long allocatedBytes = -1;
+    private long gcCountStart;
+    private long gcTimeStartMs;
+    private long gcCount;
+    private long gcTimeMs;
+
+    public SolverMetrics() {
+        this(0);
+    }
+
+    /**
+     * @param residualInterval Calcule le résidu toutes les residualInterval itérations (0 : jamais).
+     */
+    public SolverMetrics(int residualInterval) {
+        this.residualInterval = residualInterval;
+    }
+
+    @Override
+    public int residualInterval() {
+        return residualInterval;
+    }
+
+    @Override
+    public void onStart(String solver, int size, long bytesPerIteration) {
+        this.started = true;
+        this.solverName = solver;
+        this.size = size;
+        this.bytesPerIteration = bytesPerIteration;
+        this.iterations = 0;
+        this.converged = false;
+        this.startAllocations = threadAllocations();
+        this.gcCountStart = totalGcCount();
+        this.gcTimeStartMs = totalGcTimeMs();
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onIteration(int iteration, double updateNorm, double residualNorm) {
+        if (iterations == updateHistory.length) {
+            updateHistory = Arrays.copyOf(updateHistory, 2 * iterations);
+            residualHistory = Arrays.copyOf(residualHistory, 2 * iterations);
+        }
+        updateHistory[iterations] = updateNorm;
+        residualHistory[iterations] = residualNorm;
+        iterations++;
+    }
+
+    @Override
+    public void onFinish(int iterations, boolean converged) {
+        this.endNanos = System.nanoTime();
+        this.converged = converged;
+        Map<Long, Long> endAllocations = threadAllocations();
+        if (startAllocations != null && endAllocations != null) {
+            long total = 0;
+            for (Map.Entry<Long, Long> entry : endAllocations.entrySet()) {
+                total += entry.getValue() - startAllocations.getOrDefault(entry.getKey(), 0L);
+            }
+            allocatedBytes = total;
+        }
+        gcCount = totalGcCount() - gcCountStart;
+        gcTimeMs = totalGcTimeMs() - gcTimeStartMs;
+    }
+
+    /**
+     * true si un solveur itératif a notifié cette instance (false après une résolution directe).
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    public String getSolverName() {
+        return solverName;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public double[] getUpdateHistory() {
+        return Arrays.copyOf(updateHistory, iterations);
+    }
+
+    /**
+     * Normes du résidu par itération (NaN aux itérations où il n'a pas été calculé).
+     */
+    public double[] getResidualHistory() {
+        return Arrays.copyOf(residualHistory, iterations);
+    }
+
+    public double getElapsedSeconds() {
+        return (endNanos - startNanos) / 1e9;
+    }
+
+    public double getIterationsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? iterations / seconds : 0.0;
+    }
+
+    /**
+     * Bande passante mémoire atteinte en Go/s, d'après l'estimation d'octets par itération du solveur.
+     */
+    public double getBandwidthGbPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? (double) bytesPerIteration * iterations / seconds / 1e9 : 0.0;
+    }
+
+    /**
+     * Octets alloués sur le tas pendant la résolution, tous threads confondus (-1 si non supporté par la JVM).
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMs() {
+        return gcTimeMs;
+    }
+
+    /**
+     * Taux de convergence moyen sur les window dernières itérations : (u_k / u_{k-window})^(1/window).
+     * Proche de 1, la convergence stagne.
+     */
+    public double getConvergenceRate(int window) {
+        if (iterations < 2) {
+            return Double.NaN;
+        }
+        int w = Math.min(window, iterations - 1);
+        double last = updateHistory[iterations - 1];
+        double first = updateHistory[iterations - 1 - w];
+        return Math.pow(last / first, 1.0 / w);
+    }
+
+    /**
+     * En-tête des colonnes ajoutées au CSV du banc d'essai (voir toCsvFields).
+     */
+    public static String csvHeader() {
+        return "iterations,converged,iterations_per_s,bandwidth_gb_s,allocated_mb,gc_count,gc_time_ms";
+    }
+
+    /**
+     * Valeurs des colonnes de csvHeader, toutes vides si aucune résolution itérative n'a été mesurée.
+     */
+    public String toCsvFields() {
+        if (!started) {
+            return ",,,,,,";
+        }
+        return String.format(Locale.ROOT, "%d,%b,%.2f,%.3f,%.4f,%d,%d", iterations, converged,
+                getIterationsPerSecond(), getBandwidthGbPerSecond(),
+                allocatedBytes < 0 ? Double.NaN : allocatedBytes / (1024.0 * 1024.0), gcCount, gcTimeMs);
+    }
+
+    /**
+     * Écrit l'historique de convergence (iteration, update_norm, residual_norm) dans un fichier CSV.
+     */
+    public void saveHistory(String filename) {
+        try (PrintWriter pw = new PrintWriter(new FileWriter(filename))) {
+            pw.println("iteration,update_norm,residual_norm");
+            for (int k = 0; k < iterations; k++) {
+                pw.printf(Locale.ROOT, "%d,%.10e,%.10e%n", k + 1, updateHistory[k], residualHistory[k]);
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture de l'historique de convergence : " + e.getMessage());
+        }
+    }
+
+    // Octets alloués par chaque thread vivant, ou null si la JVM ne fournit pas la mesure.
+    private static Map<Long, Long> threadAllocations() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> result = new HashMap<>();
+        for (int k = 0; k < ids.length; k++) {
+            if (bytes[k] >= 0) {
+                result.put(ids[k], bytes[k]);
+            }
+        }
+        return result;
+    }
+
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long totalGcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}